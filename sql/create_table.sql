@@ -18,7 +18,11 @@ create table if not exists user
     userRole     varchar(256) default 'user'            not null comment '用户角色：user/admin/ban',
     createTime   datetime     default CURRENT_TIMESTAMP not null comment '创建时间',
     updateTime   datetime     default CURRENT_TIMESTAMP not null on update CURRENT_TIMESTAMP comment '更新时间',
-    isDelete     tinyint      default 0                 not null comment '是否删除'
+    isDelete     tinyint      default 0                 not null comment '是否删除',
+    -- 逻辑删除的账号仍占用唯一索引（已注销的账号不能重新注册）
+    unique key uk_userAccount (userAccount),
+    index idx_createTime (createTime),
+    index idx_userRole_createTime (userRole, createTime)
 ) comment '用户' collate = utf8mb4_unicode_ci;
 
 -- 应用表
@@ -38,7 +42,10 @@ create table if not exists app
     createTime      datetime default CURRENT_TIMESTAMP not null comment '创建时间',
     updateTime      datetime default CURRENT_TIMESTAMP not null on update CURRENT_TIMESTAMP comment '更新时间',
     isDelete        tinyint  default 0                 not null comment '是否删除',
-    index idx_appName (appName)
+    index idx_appName (appName),
+    index idx_createTime (createTime),
+    index idx_reviewStatus_createTime (reviewStatus, createTime),
+    index idx_userId_createTime (userId, createTime)
 ) comment '应用' collate = utf8mb4_unicode_ci;
 
 -- 题目表
@@ -51,7 +58,7 @@ create table if not exists question
     createTime      datetime default CURRENT_TIMESTAMP not null comment '创建时间',
     updateTime      datetime default CURRENT_TIMESTAMP not null on update CURRENT_TIMESTAMP comment '更新时间',
     isDelete        tinyint  default 0                 not null comment '是否删除',
-    index idx_appId (appId)
+    index idx_appId_createTime (appId, createTime)
 ) comment '题目' collate = utf8mb4_unicode_ci;
 
 -- 评分结果表
@@ -68,7 +75,8 @@ create table if not exists scoring_result
     createTime       datetime default CURRENT_TIMESTAMP not null comment '创建时间',
     updateTime       datetime default CURRENT_TIMESTAMP not null on update CURRENT_TIMESTAMP comment '更新时间',
     isDelete         tinyint  default 0                 not null comment '是否删除',
-    index idx_appId (appId)
+    index idx_appId_createTime (appId, createTime),
+    index idx_appId_resultScoreRange (appId, resultScoreRange)
 ) comment '评分结果' collate = utf8mb4_unicode_ci;
 
 -- 用户答题记录表
@@ -78,7 +86,8 @@ create table if not exists user_answer
     appId           bigint                             not null comment '应用 id',
     appType         tinyint  default 0                 not null comment '应用类型（0-得分类，1-角色测评类）',
     scoringStrategy tinyint  default 0                 not null comment '评分策略（0-自定义，1-AI）',
-    choices         text                               null comment '用户答案（JSON 数组）',
+    choices         text                               null comment '用户答案（JSON 数组，仅在无法紧凑编码时写入）',
+    packedChoices   varbinary(512)                     null comment '用户答案（紧凑编码）',
     resultId        bigint                             null comment '评分结果 id',
     resultName      varchar(128)                       null comment '结果名称，如物流师',
     resultDesc      text                               null comment '结果描述',
@@ -88,6 +97,27 @@ create table if not exists user_answer
     createTime      datetime default CURRENT_TIMESTAMP not null comment '创建时间',
     updateTime      datetime default CURRENT_TIMESTAMP not null on update CURRENT_TIMESTAMP comment '更新时间',
     isDelete        tinyint  default 0                 not null comment '是否删除',
-    index idx_appId (appId),
-    index idx_userId (userId)
+    index idx_createTime_id (createTime, id),
+    index idx_appId_createTime_id (appId, createTime, id),
+    index idx_userId_createTime_id (userId, createTime, id)
 ) comment '用户答题记录' collate = utf8mb4_unicode_ci;
+
+-- 应用统计表（由 Redis 计数器定时刷入）
+create table if not exists app_statistic
+(
+    appId       bigint                             not null comment '应用 id' primary key,
+    answerCount bigint   default 0                 not null comment '答题数',
+    resultCount text                               null comment '结果分布（json格式）',
+    createTime  datetime default CURRENT_TIMESTAMP not null comment '创建时间',
+    updateTime  datetime default CURRENT_TIMESTAMP not null on update CURRENT_TIMESTAMP comment '更新时间'
+) comment '应用统计' collate = utf8mb4_unicode_ci;
+
+-- 号段表（分段分配 id，每个业务一行，业务标识为表名）
+create table if not exists id_segment
+(
+    bizTag     varchar(128)                       not null comment '业务标识' primary key,
+    maxId      bigint   default 0                 not null comment '已分配的最大 id',
+    step       int      default 1000              not null comment '号段长度',
+    createTime datetime default CURRENT_TIMESTAMP not null comment '创建时间',
+    updateTime datetime default CURRENT_TIMESTAMP not null on update CURRENT_TIMESTAMP comment '更新时间'
+) comment '号段' collate = utf8mb4_unicode_ci;
@@ -0,0 +1,48 @@
+# 已有数据库的升级脚本（新建数据库直接执行 create_table.sql 即可）
+
+use aidada;
+
+-- 用户表：账号唯一索引
+-- 逻辑删除的账号同样占用唯一索引，已注销的账号不能重新注册
+-- 添加前先检查是否有重复账号（包含已删除的），有则需先处理：
+-- select userAccount, count(*) from user group by userAccount having count(*) > 1;
+alter table user
+    add unique key uk_userAccount (userAccount);
+
+-- 用户答题记录表：紧凑编码字段
+-- 新记录能紧凑编码时只写 packedChoices，已有记录的 choices 保持不变，读取时 packedChoices 为空则解析 choices
+alter table user_answer
+    modify column choices text null comment '用户答案（JSON 数组，仅在无法紧凑编码时写入）',
+    add column packedChoices varbinary(512) null comment '用户答案（紧凑编码）' after choices;
+
+-- 用户答题记录表：游标分页索引（覆盖原有的单列索引），不按用户、应用过滤时使用 idx_createTime_id
+alter table user_answer
+    drop index idx_appId,
+    drop index idx_userId,
+    add index idx_createTime_id (createTime, id),
+    add index idx_appId_createTime_id (appId, createTime, id),
+    add index idx_userId_createTime_id (userId, createTime, id);
+
+-- 用户表：排序字段索引
+alter table user
+    add index idx_createTime (createTime),
+    add index idx_userRole_createTime (userRole, createTime);
+
+-- 应用表：排序字段索引
+alter table app
+    add index idx_createTime (createTime),
+    add index idx_reviewStatus_createTime (reviewStatus, createTime),
+    add index idx_userId_createTime (userId, createTime);
+
+-- 题目表：按应用查询并按创建时间排序
+alter table question
+    drop index idx_appId,
+    add index idx_appId_createTime (appId, createTime);
+
+-- 评分结果表：按应用查询并按创建时间、得分范围排序
+alter table scoring_result
+    drop index idx_appId,
+    add index idx_appId_createTime (appId, createTime),
+    add index idx_appId_resultScoreRange (appId, resultScoreRange);
+
+-- 新增的 app_statistic、id_segment 表使用 create_table.sql 中的建表语句创建
@@ -0,0 +1,33 @@
+package com.tong.aidada.common;
+
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 游标分页结果（不查询总数）
+ *
+ * @param <T>
+ */
+@Data
+public class CursorPage<T> implements Serializable {
+
+    /**
+     * 当前页数据
+     */
+    private List<T> records = new ArrayList<>();
+
+    /**
+     * 下一页游标，请求下一页时原样传回
+     */
+    private String nextCursor;
+
+    /**
+     * 是否还有下一页
+     */
+    private boolean hasMore;
+
+    private static final long serialVersionUID = 1L;
+}
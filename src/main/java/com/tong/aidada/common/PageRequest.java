@@ -28,4 +28,9 @@ public class PageRequest {
      * 排序顺序（默认升序）
      */
     private String sortOrder = CommonConstant.SORT_ORDER_DESC;
+
+    /**
+     * 是否查询总数（为 false 时不查询总数，total 为已知的下限，只用于判断是否还有下一页）
+     */
+    private boolean searchCount = true;
 }
@@ -0,0 +1,48 @@
+package com.tong.aidada.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 登录认证配置
+ */
+@Configuration
+@ConfigurationProperties(prefix = "auth")
+@Data
+public class AuthConfig {
+
+    /**
+     * 会话模式：分布式 session
+     */
+    public static final String MODE_SESSION = "session";
+
+    /**
+     * 令牌模式：无状态签名令牌，校验时无需访问 Redis
+     */
+    public static final String MODE_TOKEN = "token";
+
+    /**
+     * 认证模式：session/token
+     */
+    private String mode = MODE_SESSION;
+
+    /**
+     * 令牌签名密钥
+     */
+    private String tokenSecret;
+
+    /**
+     * 令牌有效期（秒）
+     */
+    private long tokenExpireSeconds = 7200L;
+
+    /**
+     * 是否为令牌模式
+     *
+     * @return
+     */
+    public boolean isTokenMode() {
+        return MODE_TOKEN.equals(mode);
+    }
+}
@@ -0,0 +1,73 @@
+package com.tong.aidada.config;
+
+import com.tong.aidada.manager.PageQueryManager;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 增删改后使对应表的分页总数缓存失效（逻辑删除也是更新语句）
+ * <p>
+ * 语句执行后才失效，在事务中时等到提交后再失效，避免失效后、提交前被其他请求重新缓存旧的总数。
+ * 同一事务内的多次写入（如批量插入）只在提交时对每个表失效一次
+ */
+@Intercepts(@Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class}))
+public class CountCacheInvalidateInterceptor implements Interceptor {
+
+    private final PageQueryManager pageQueryManager;
+
+    public CountCacheInvalidateInterceptor(PageQueryManager pageQueryManager) {
+        this.pageQueryManager = pageQueryManager;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        Object result = invocation.proceed();
+        // 语句 id 形如 com.tong.aidada.mapper.AppMapper.insert
+        String id = ((MappedStatement) invocation.getArgs()[0]).getId();
+        String namespace = id.substring(0, id.lastIndexOf('.'));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            getNamespaceSet().add(namespace);
+        } else {
+            pageQueryManager.invalidate(namespace);
+        }
+        return result;
+    }
+
+    /**
+     * 当前事务中写入过的命名空间，首次写入时注册提交后的失效回调
+     *
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    private Set<String> getNamespaceSet() {
+        Set<String> namespaceSet = (Set<String>) TransactionSynchronizationManager.getResource(this);
+        if (namespaceSet != null) {
+            return namespaceSet;
+        }
+        Set<String> newNamespaceSet = new HashSet<>();
+        TransactionSynchronizationManager.bindResource(this, newNamespaceSet);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                for (String namespace : newNamespaceSet) {
+                    pageQueryManager.invalidate(namespace);
+                }
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(CountCacheInvalidateInterceptor.this);
+            }
+        });
+        return newNamespaceSet;
+    }
+}
@@ -0,0 +1,27 @@
+package com.tong.aidada.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * HTTP 缓存配置（条件请求）
+ */
+@Configuration
+@ConfigurationProperties(prefix = "http-cache")
+@Data
+public class HttpCacheConfig {
+
+    /**
+     * 默认的 Cache-Control，每次使用前都需要向服务端校验
+     */
+    private String defaultCacheControl = "no-cache";
+
+    /**
+     * 各接口的 Cache-Control，key 为接口路径，如 /app/get/vo
+     */
+    private Map<String, String> cacheControl = new HashMap<>();
+}
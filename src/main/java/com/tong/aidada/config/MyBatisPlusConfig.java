@@ -3,6 +3,8 @@ package com.tong.aidada.config;
 import com.baomidou.mybatisplus.annotation.DbType;
 import com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor;
 import com.baomidou.mybatisplus.extension.plugins.inner.PaginationInnerInterceptor;
+import com.tong.aidada.manager.PageQueryManager;
+import com.tong.aidada.manager.UserCacheManager;
 import org.mybatis.spring.annotation.MapperScan;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -26,4 +28,26 @@ public class MyBatisPlusConfig {
         interceptor.addInnerInterceptor(new PaginationInnerInterceptor(DbType.MYSQL));
         return interceptor;
     }
+
+    /**
+     * 增删改后使分页总数缓存失效
+     *
+     * @param pageQueryManager
+     * @return
+     */
+    @Bean
+    public CountCacheInvalidateInterceptor countCacheInvalidateInterceptor(PageQueryManager pageQueryManager) {
+        return new CountCacheInvalidateInterceptor(pageQueryManager);
+    }
+
+    /**
+     * user 表更新、删除后使用户缓存失效
+     *
+     * @param userCacheManager
+     * @return
+     */
+    @Bean
+    public UserCacheInvalidateInterceptor userCacheInvalidateInterceptor(UserCacheManager userCacheManager) {
+        return new UserCacheInvalidateInterceptor(userCacheManager);
+    }
 }
\ No newline at end of file
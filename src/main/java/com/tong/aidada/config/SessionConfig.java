@@ -0,0 +1,20 @@
+package com.tong.aidada.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+/**
+ * 分布式 session 配置
+ */
+@Configuration
+public class SessionConfig {
+
+    /**
+     * 替换 spring-session 默认的 JDK 序列化（bean 名称固定）
+     */
+    @Bean("springSessionDefaultRedisSerializer")
+    public RedisSerializer<Object> springSessionDefaultRedisSerializer() {
+        return new SessionRedisSerializer();
+    }
+}
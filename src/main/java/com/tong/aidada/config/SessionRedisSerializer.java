@@ -0,0 +1,99 @@
+package com.tong.aidada.config;
+
+import com.tong.aidada.model.dto.user.SessionUser;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * 分布式 session 属性序列化器
+ * <p>
+ * 常用类型（登录用户、时间戳、字符串）使用紧凑的二进制格式：[类型 1 字节][数据]，
+ * 其他类型及旧会话（以 JDK 序列化魔数 0xACED 开头）仍使用 JDK 序列化，保证已登录用户无需重新登录
+ */
+public class SessionRedisSerializer implements RedisSerializer<Object> {
+
+    private static final byte TYPE_SESSION_USER = 'U';
+
+    private static final byte TYPE_LONG = 'L';
+
+    private static final byte TYPE_INTEGER = 'I';
+
+    private static final byte TYPE_STRING = 'S';
+
+    // JDK 序列化的魔数首字节
+    private static final byte JDK_MAGIC = (byte) 0xAC;
+
+    private final JdkSerializationRedisSerializer jdkSerializer = new JdkSerializationRedisSerializer();
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+        try {
+            ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream(32);
+            DataOutputStream out = new DataOutputStream(byteArrayOutputStream);
+            if (value instanceof SessionUser) {
+                SessionUser sessionUser = (SessionUser) value;
+                out.writeByte(TYPE_SESSION_USER);
+                out.writeByte(sessionUser.getVersion() == null ? SessionUser.CURRENT_VERSION : sessionUser.getVersion());
+                out.writeLong(sessionUser.getId());
+                out.writeUTF(sessionUser.getUserRole() == null ? "" : sessionUser.getUserRole());
+            } else if (value instanceof Long) {
+                out.writeByte(TYPE_LONG);
+                out.writeLong((Long) value);
+            } else if (value instanceof Integer) {
+                out.writeByte(TYPE_INTEGER);
+                out.writeInt((Integer) value);
+            } else if (value instanceof String) {
+                out.writeByte(TYPE_STRING);
+                out.writeUTF((String) value);
+            } else {
+                return jdkSerializer.serialize(value);
+            }
+            out.flush();
+            return byteArrayOutputStream.toByteArray();
+        } catch (IOException e) {
+            throw new SerializationException("Cannot serialize session attribute", e);
+        }
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        // 旧会话及其他类型
+        if (bytes[0] == JDK_MAGIC) {
+            return jdkSerializer.deserialize(bytes);
+        }
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes, 1, bytes.length - 1));
+            switch (bytes[0]) {
+                case TYPE_SESSION_USER:
+                    SessionUser sessionUser = new SessionUser();
+                    sessionUser.setVersion((int) in.readByte());
+                    sessionUser.setId(in.readLong());
+                    sessionUser.setUserRole(in.readUTF());
+                    return sessionUser;
+                case TYPE_LONG:
+                    return in.readLong();
+                case TYPE_INTEGER:
+                    return in.readInt();
+                case TYPE_STRING:
+                    return in.readUTF();
+                default:
+                    throw new SerializationException("Unknown session attribute type: " + bytes[0]);
+            }
+        } catch (IOException e) {
+            throw new SerializationException("Cannot deserialize session attribute", e);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.tong.aidada.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 答题记录异步写入（写缓冲）配置
+ */
+@Configuration
+@ConfigurationProperties(prefix = "user-answer.write-behind")
+@Data
+public class UserAnswerWriteBehindConfig {
+
+    /**
+     * 是否开启：开启后答题记录先写入 Redis Stream，再由后台批量写入数据库
+     */
+    private boolean enabled = false;
+
+    /**
+     * 每批写入数据库的最大条数
+     */
+    private int batchSize = 500;
+
+    /**
+     * 刷盘间隔（毫秒）
+     */
+    private long flushIntervalMillis = 200L;
+
+    /**
+     * 积压告警阈值（毫秒）：最早一条未写入记录的等待时间超过该值时输出告警日志
+     */
+    private long lagWarnMillis = 5000L;
+}
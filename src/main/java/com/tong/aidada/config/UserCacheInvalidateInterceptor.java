@@ -0,0 +1,90 @@
+package com.tong.aidada.config;
+
+import com.baomidou.mybatisplus.core.toolkit.Constants;
+import com.tong.aidada.manager.UserCacheManager;
+import com.tong.aidada.mapper.UserMapper;
+import com.tong.aidada.model.entity.User;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+
+/**
+ * user 表更新、删除后使用户缓存失效（逻辑删除也是更新语句）
+ * <p>
+ * 在 Mapper 层拦截，updateById、lambdaUpdate、update(wrapper) 等所有写法都会触发：
+ * 能从参数中取到用户 id 时只失效该用户，否则（按条件批量更新）全部失效。
+ * 语句执行后才失效，在事务中时等到提交后再失效，避免失效后、提交前被其他请求重新缓存旧数据
+ */
+@Intercepts(@Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class}))
+public class UserCacheInvalidateInterceptor implements Interceptor {
+
+    // UserMapper 语句 id 的前缀
+    private static final String USER_MAPPER_PREFIX = UserMapper.class.getName() + ".";
+
+    private final UserCacheManager userCacheManager;
+
+    public UserCacheInvalidateInterceptor(UserCacheManager userCacheManager) {
+        this.userCacheManager = userCacheManager;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        Object result = invocation.proceed();
+        MappedStatement ms = (MappedStatement) invocation.getArgs()[0];
+        if (ms.getSqlCommandType() == SqlCommandType.INSERT || !ms.getId().startsWith(USER_MAPPER_PREFIX)) {
+            return result;
+        }
+        Long userId = getUserId(invocation.getArgs()[1]);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(userId);
+                }
+            });
+        } else {
+            invalidate(userId);
+        }
+        return result;
+    }
+
+    private void invalidate(Long userId) {
+        if (userId == null) {
+            userCacheManager.invalidateAll();
+        } else {
+            userCacheManager.invalidate(userId);
+        }
+    }
+
+    /**
+     * 从语句参数中取用户 id（updateById 的实体、deleteById 的主键或实体）
+     *
+     * @param parameter
+     * @return 按条件更新等无法确定用户时返回 null
+     */
+    private Long getUserId(Object parameter) {
+        if (parameter instanceof Map) {
+            Map<?, ?> paramMap = (Map<?, ?>) parameter;
+            // 带条件构造器的更新即使传了实体，影响的行也由条件决定
+            if (paramMap.containsKey(Constants.WRAPPER) && paramMap.get(Constants.WRAPPER) != null) {
+                return null;
+            }
+            parameter = paramMap.containsKey(Constants.ENTITY) ? paramMap.get(Constants.ENTITY) : null;
+        }
+        if (parameter instanceof User) {
+            return ((User) parameter).getId();
+        }
+        if (parameter instanceof Number) {
+            return ((Number) parameter).longValue();
+        }
+        return null;
+    }
+}
@@ -10,6 +10,21 @@ public interface UserConstant {
      */
     String USER_LOGIN_STATE = "user_login";
 
+    /**
+     * 当前请求已查询到的登录用户（请求属性键）
+     */
+    String LOGIN_USER_ATTRIBUTE = "login_user";
+
+    /**
+     * 令牌模式下已校验的登录用户（请求属性键）
+     */
+    String TOKEN_USER_ATTRIBUTE = "token_user";
+
+    /**
+     * 令牌模式下已校验的令牌 id（请求属性键）
+     */
+    String TOKEN_ID_ATTRIBUTE = "token_id";
+
     //  region 权限
 
     /**
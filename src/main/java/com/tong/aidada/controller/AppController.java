@@ -7,6 +7,12 @@ import com.tong.aidada.constant.CommonConstant;
 import com.tong.aidada.constant.UserConstant;
 import com.tong.aidada.exception.BusinessException;
 import com.tong.aidada.exception.ThrowUtils;
+import com.tong.aidada.manager.AppFeedManager;
+import com.tong.aidada.manager.AppHotRankManager;
+import com.tong.aidada.manager.AppSuggestManager;
+import com.tong.aidada.manager.HttpCacheManager;
+import com.tong.aidada.manager.PageQueryManager;
+import com.tong.aidada.model.convert.AppConvert;
 import com.tong.aidada.model.dto.app.AppAddRequest;
 import com.tong.aidada.model.dto.app.AppEditRequest;
 import com.tong.aidada.model.dto.app.AppQueryRequest;
@@ -16,16 +22,21 @@ import com.tong.aidada.model.entity.User;
 import com.tong.aidada.model.enums.AppScoringStrategyEnum;
 import com.tong.aidada.model.enums.AppTypeEnum;
 import com.tong.aidada.model.enums.ReviewStatusEnum;
+import com.tong.aidada.model.vo.AppStatisticVO;
+import com.tong.aidada.model.vo.AppSuggestVO;
 import com.tong.aidada.model.vo.AppVO;
 import com.tong.aidada.service.AppService;
+import com.tong.aidada.service.AppStatisticService;
 import com.tong.aidada.service.UserService;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.BeanUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.web.bind.annotation.*;
 
 import javax.annotation.Resource;
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import java.util.Date;
+import java.util.List;
 
 /**
  * 应用接口
@@ -38,9 +49,27 @@ public class AppController {
     @Resource
     private AppService appService;
 
+    @Resource
+    private PageQueryManager pageQueryManager;
+
+    @Resource
+    private AppSuggestManager appSuggestManager;
+
+    @Resource
+    private AppFeedManager appFeedManager;
+
+    @Resource
+    private AppStatisticService appStatisticService;
+
+    @Resource
+    private AppHotRankManager appHotRankManager;
+
     @Resource
     private UserService userService;
 
+    @Resource
+    private HttpCacheManager httpCacheManager;
+
     // region 增删改查
 
     /**
@@ -60,7 +89,7 @@ public class AppController {
         }
         // 在此处将实体类和 DTO 进行转换
         App app = new App();
-        BeanUtils.copyProperties(appAddRequest, app);
+        AppConvert.copyProperties(appAddRequest, app);
         // 数据校验
         appService.validApp(app, true);
         // 填充默认值
@@ -116,7 +145,7 @@ public class AppController {
         }
         // 在此处将实体类和 DTO 进行转换
         App app = new App();
-        BeanUtils.copyProperties(appUpdateRequest, app);
+        AppConvert.copyProperties(appUpdateRequest, app);
         // 数据校验
         appService.validApp(app, false);
         // 判断是否存在
@@ -136,13 +165,19 @@ public class AppController {
      * @return
      */
     @GetMapping("/get/vo")
-    public BaseResponse<AppVO> getAppVOById(long id, HttpServletRequest request) {
+    public BaseResponse<AppVO> getAppVOById(long id, HttpServletRequest request, HttpServletResponse response) {
         ThrowUtils.throwIf(id <= 0, ErrorCode.PARAMS_ERROR);
         // 查询数据库
         App app = appService.getById(id);
         ThrowUtils.throwIf(app == null, ErrorCode.NOT_FOUND_ERROR);
         // 获取封装类
-        return ResultUtils.success(appService.getAppVO(app, request));
+        AppVO appVO = appService.getAppVO(app, request);
+        // 内容未变化，直接返回 304
+        String etag = httpCacheManager.buildEtag(appVO);
+        if (httpCacheManager.checkNotModified(request, response, etag, app.getUpdateTime())) {
+            return null;
+        }
+        return ResultUtils.success(appVO);
     }
 
     /**
@@ -154,10 +189,8 @@ public class AppController {
     @PostMapping("/list/page")
     @AuthCheck(mustRole = UserConstant.ADMIN_ROLE)
     public BaseResponse<Page<App>> listAppByPage(@RequestBody AppQueryRequest appQueryRequest) {
-        long current = appQueryRequest.getCurrent();
-        long size = appQueryRequest.getPageSize();
         // 查询数据库
-        Page<App> appPage = appService.page(new Page<>(current, size),
+        Page<App> appPage = pageQueryManager.page(appService, appQueryRequest,
                 appService.getQueryWrapper(appQueryRequest));
         return ResultUtils.success(appPage);
     }
@@ -171,18 +204,39 @@ public class AppController {
      */
     @PostMapping("/list/page/vo")
     public BaseResponse<Page<AppVO>> listAppVOByPage(@RequestBody AppQueryRequest appQueryRequest,
-                                                     HttpServletRequest request) {
-        long current = appQueryRequest.getCurrent();
+                                                     HttpServletRequest request, HttpServletResponse response) {
         long size = appQueryRequest.getPageSize();
         // 限制爬虫
         ThrowUtils.throwIf(size > 20, ErrorCode.PARAMS_ERROR);
         // 只能看到已过审的
         appQueryRequest.setReviewStatus(ReviewStatusEnum.PASS.getValue());
-        // 查询数据库
-        Page<App> appPage = appService.page(new Page<>(current, size),
-                appService.getQueryWrapper(appQueryRequest));
+        // 没有其他筛选条件时直接读取首页物化视图
+        if (appFeedManager.supports(appQueryRequest)) {
+            Page<AppVO> appVOPage = appFeedManager.listFeed(appQueryRequest);
+            if (appVOPage != null) {
+                String etag = httpCacheManager.buildPageEtag(appVOPage);
+                if (httpCacheManager.checkNotModified(request, response, etag, null)) {
+                    return null;
+                }
+                return ResultUtils.success(appVOPage);
+            }
+        }
+        // 有搜索词时使用搜索索引，否则查询数据库
+        Page<App> appPage;
+        if (StringUtils.isNotBlank(appQueryRequest.getSearchText())) {
+            appPage = appService.searchApp(appQueryRequest);
+        } else {
+            appPage = pageQueryManager.page(appService, appQueryRequest,
+                    appService.getQueryWrapper(appQueryRequest));
+        }
         // 获取封装类
-        return ResultUtils.success(appService.getAppVOPage(appPage, request));
+        Page<AppVO> appVOPage = appService.getAppVOPage(appPage, request);
+        // 分页结果未变化，直接返回 304
+        String etag = httpCacheManager.buildPageEtag(appVOPage);
+        if (httpCacheManager.checkNotModified(request, response, etag, null)) {
+            return null;
+        }
+        return ResultUtils.success(appVOPage);
     }
 
     /**
@@ -199,17 +253,56 @@ public class AppController {
         // 补充查询条件，只查询当前登录用户的数据
         User loginUser = userService.getLoginUser(request);
         appQueryRequest.setUserId(loginUser.getId());
-        long current = appQueryRequest.getCurrent();
         long size = appQueryRequest.getPageSize();
         // 限制爬虫
         ThrowUtils.throwIf(size > 20, ErrorCode.PARAMS_ERROR);
         // 查询数据库
-        Page<App> appPage = appService.page(new Page<>(current, size),
+        Page<App> appPage = pageQueryManager.page(appService, appQueryRequest,
                 appService.getQueryWrapper(appQueryRequest));
         // 获取封装类
         return ResultUtils.success(appService.getAppVOPage(appPage, request));
     }
 
+    /**
+     * 应用名称联想（只包含已过审的应用，不查询数据库）
+     *
+     * @param prefix 输入的前缀
+     * @param size   条数，最多 10 条
+     * @return
+     */
+    @GetMapping("/suggest")
+    public BaseResponse<List<AppSuggestVO>> suggestApp(String prefix, @RequestParam(defaultValue = "10") int size) {
+        ThrowUtils.throwIf(size <= 0, ErrorCode.PARAMS_ERROR);
+        return ResultUtils.success(appSuggestManager.suggest(prefix, size));
+    }
+
+    /**
+     * 热门应用（近 1 小时 / 1 天答题数最多的已过审应用，每 5 秒刷新）
+     *
+     * @param window hour 或 day
+     * @param size   条数，最多 50 条
+     * @return
+     */
+    @GetMapping("/hot")
+    public BaseResponse<List<AppVO>> listHotApp(@RequestParam(defaultValue = AppHotRankManager.WINDOW_HOUR) String window,
+                                                @RequestParam(defaultValue = "10") int size) {
+        ThrowUtils.throwIf(!appHotRankManager.isValidWindow(window), ErrorCode.PARAMS_ERROR, "不支持的时间窗口");
+        ThrowUtils.throwIf(size <= 0 || size > AppHotRankManager.MAX_HOT_SIZE, ErrorCode.PARAMS_ERROR);
+        return ResultUtils.success(appHotRankManager.listHotApp(window, size));
+    }
+
+    /**
+     * 获取应用答题统计（答题数、结果分布，不查询答题记录表）
+     *
+     * @param appId
+     * @return
+     */
+    @GetMapping("/statistic")
+    public BaseResponse<AppStatisticVO> getAppStatistic(long appId) {
+        ThrowUtils.throwIf(appId <= 0, ErrorCode.PARAMS_ERROR);
+        return ResultUtils.success(appStatisticService.getAppStatisticVO(appId));
+    }
+
     /**
      * 编辑应用（给用户使用）
      *
@@ -229,7 +322,7 @@ public class AppController {
         }
         // 在此处将实体类和 DTO 进行转换
         App app = new App();
-        BeanUtils.copyProperties(appEditRequest, app);
+        AppConvert.copyProperties(appEditRequest, app);
         // 数据校验
         appService.validApp(app, false);
         User loginUser = userService.getLoginUser(request);
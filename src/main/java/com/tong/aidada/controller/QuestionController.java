@@ -1,5 +1,6 @@
 package com.tong.aidada.controller;
 
+import cn.hutool.core.io.FileUtil;
 import cn.hutool.core.util.StrUtil;
 import cn.hutool.json.JSONException;
 import cn.hutool.json.JSONUtil;
@@ -13,12 +14,16 @@ import com.tong.aidada.constant.UserConstant;
 import com.tong.aidada.exception.BusinessException;
 import com.tong.aidada.exception.ThrowUtils;
 import com.tong.aidada.manager.AiManager;
+import com.tong.aidada.manager.HttpCacheManager;
+import com.tong.aidada.manager.PageQueryManager;
+import com.tong.aidada.model.convert.QuestionConvert;
 import com.tong.aidada.model.dto.question.*;
 import com.tong.aidada.model.entity.App;
 import com.tong.aidada.model.entity.Question;
 import com.tong.aidada.model.entity.User;
 import com.tong.aidada.model.enums.AppTypeEnum;
 import com.tong.aidada.model.enums.UserRoleEnum;
+import com.tong.aidada.model.vo.ExcelImportVO;
 import com.tong.aidada.model.vo.QuestionVO;
 import com.tong.aidada.service.AppService;
 import com.tong.aidada.service.QuestionService;
@@ -28,12 +33,15 @@ import io.reactivex.Flowable;
 import io.reactivex.Scheduler;
 import io.reactivex.schedulers.Schedulers;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.BeanUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import javax.annotation.Resource;
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -49,9 +57,18 @@ public class QuestionController {
     @Resource
     private QuestionService questionService;
 
+    @Resource
+    private PageQueryManager pageQueryManager;
+
     @Resource
     private UserService userService;
 
+    // 导入文件大小上限
+    private static final long MAX_IMPORT_FILE_SIZE = 10 * 1024 * 1024L;
+
+    @Resource
+    private HttpCacheManager httpCacheManager;
+
     @Resource
     private AppService appService;
 
@@ -75,7 +92,7 @@ public class QuestionController {
         ThrowUtils.throwIf(questionAddRequest == null, ErrorCode.PARAMS_ERROR);
         // 在此处将实体类和 DTO 进行转换
         Question question = new Question();
-        BeanUtils.copyProperties(questionAddRequest, question);
+        QuestionConvert.copyProperties(questionAddRequest, question);
         List<QuestionContentDTO> questionContent = questionAddRequest.getQuestionContent();
         question.setQuestionContent(JSONUtil.toJsonStr(questionContent));
         // 数据校验
@@ -132,7 +149,7 @@ public class QuestionController {
         }
         // 在此处将实体类和 DTO 进行转换
         Question question = new Question();
-        BeanUtils.copyProperties(questionUpdateRequest, question);
+        QuestionConvert.copyProperties(questionUpdateRequest, question);
         List<QuestionContentDTO> questionContent = questionUpdateRequest.getQuestionContent();
         question.setQuestionContent(JSONUtil.toJsonStr(questionContent));
         // 数据校验
@@ -154,13 +171,19 @@ public class QuestionController {
      * @return
      */
     @GetMapping("/get/vo")
-    public BaseResponse<QuestionVO> getQuestionVOById(long id, HttpServletRequest request) {
+    public BaseResponse<QuestionVO> getQuestionVOById(long id, HttpServletRequest request, HttpServletResponse response) {
         ThrowUtils.throwIf(id <= 0, ErrorCode.PARAMS_ERROR);
         // 查询数据库
         Question question = questionService.getById(id);
         ThrowUtils.throwIf(question == null, ErrorCode.NOT_FOUND_ERROR);
         // 获取封装类
-        return ResultUtils.success(questionService.getQuestionVO(question, request));
+        QuestionVO questionVO = questionService.getQuestionVO(question, request);
+        // 内容未变化，直接返回 304
+        String etag = httpCacheManager.buildEtag(questionVO);
+        if (httpCacheManager.checkNotModified(request, response, etag, question.getUpdateTime())) {
+            return null;
+        }
+        return ResultUtils.success(questionVO);
     }
 
     /**
@@ -172,10 +195,8 @@ public class QuestionController {
     @PostMapping("/list/page")
     @AuthCheck(mustRole = UserConstant.ADMIN_ROLE)
     public BaseResponse<Page<Question>> listQuestionByPage(@RequestBody QuestionQueryRequest questionQueryRequest) {
-        long current = questionQueryRequest.getCurrent();
-        long size = questionQueryRequest.getPageSize();
         // 查询数据库
-        Page<Question> questionPage = questionService.page(new Page<>(current, size),
+        Page<Question> questionPage = pageQueryManager.page(questionService, questionQueryRequest,
                 questionService.getQueryWrapper(questionQueryRequest));
         return ResultUtils.success(questionPage);
     }
@@ -189,16 +210,21 @@ public class QuestionController {
      */
     @PostMapping("/list/page/vo")
     public BaseResponse<Page<QuestionVO>> listQuestionVOByPage(@RequestBody QuestionQueryRequest questionQueryRequest,
-                                                               HttpServletRequest request) {
-        long current = questionQueryRequest.getCurrent();
+                                                               HttpServletRequest request, HttpServletResponse response) {
         long size = questionQueryRequest.getPageSize();
         // 限制爬虫
         ThrowUtils.throwIf(size > 20, ErrorCode.PARAMS_ERROR);
         // 查询数据库
-        Page<Question> questionPage = questionService.page(new Page<>(current, size),
+        Page<Question> questionPage = pageQueryManager.page(questionService, questionQueryRequest,
                 questionService.getQueryWrapper(questionQueryRequest));
         // 获取封装类
-        return ResultUtils.success(questionService.getQuestionVOPage(questionPage, request));
+        Page<QuestionVO> questionVOPage = questionService.getQuestionVOPage(questionPage, request);
+        // 分页结果未变化，直接返回 304
+        String etag = httpCacheManager.buildPageEtag(questionVOPage);
+        if (httpCacheManager.checkNotModified(request, response, etag, null)) {
+            return null;
+        }
+        return ResultUtils.success(questionVOPage);
     }
 
     /**
@@ -215,12 +241,11 @@ public class QuestionController {
         // 补充查询条件，只查询当前登录用户的数据
         User loginUser = userService.getLoginUser(request);
         questionQueryRequest.setUserId(loginUser.getId());
-        long current = questionQueryRequest.getCurrent();
         long size = questionQueryRequest.getPageSize();
         // 限制爬虫
         ThrowUtils.throwIf(size > 20, ErrorCode.PARAMS_ERROR);
         // 查询数据库
-        Page<Question> questionPage = questionService.page(new Page<>(current, size),
+        Page<Question> questionPage = pageQueryManager.page(questionService, questionQueryRequest,
                 questionService.getQueryWrapper(questionQueryRequest));
         // 获取封装类
         return ResultUtils.success(questionService.getQuestionVOPage(questionPage, request));
@@ -240,7 +265,7 @@ public class QuestionController {
         }
         // 在此处将实体类和 DTO 进行转换
         Question question = new Question();
-        BeanUtils.copyProperties(questionEditRequest, question);
+        QuestionConvert.copyProperties(questionEditRequest, question);
         List<QuestionContentDTO> questionContent = questionEditRequest.getQuestionContent();
         question.setQuestionContent(JSONUtil.toJsonStr(questionContent));
         // 数据校验
@@ -260,6 +285,35 @@ public class QuestionController {
         return ResultUtils.success(true);
     }
 
+    /**
+     * 从 Excel 导入题目和评分结果，覆盖应用原有的题目和评分结果（仅应用创建人或管理员可用）
+     *
+     * @param multipartFile 包含「题目」「评分结果」工作表的 xlsx 文件
+     * @param appId
+     * @param request
+     * @return
+     */
+    @PostMapping("/import")
+    public BaseResponse<ExcelImportVO> importQuestion(@RequestPart("file") MultipartFile multipartFile,
+                                                      Long appId, HttpServletRequest request) {
+        ThrowUtils.throwIf(appId == null || appId <= 0, ErrorCode.PARAMS_ERROR);
+        String fileSuffix = FileUtil.getSuffix(multipartFile.getOriginalFilename());
+        ThrowUtils.throwIf(!"xlsx".equalsIgnoreCase(fileSuffix), ErrorCode.PARAMS_ERROR, "文件类型错误");
+        ThrowUtils.throwIf(multipartFile.getSize() > MAX_IMPORT_FILE_SIZE, ErrorCode.PARAMS_ERROR, "文件大小不能超过 10M");
+        App app = appService.getById(appId);
+        ThrowUtils.throwIf(app == null, ErrorCode.NOT_FOUND_ERROR, "应用不存在");
+        User loginUser = userService.getLoginUser(request);
+        if (!app.getUserId().equals(loginUser.getId()) && !userService.isAdmin(loginUser)) {
+            throw new BusinessException(ErrorCode.NO_AUTH_ERROR);
+        }
+        try (InputStream inputStream = multipartFile.getInputStream()) {
+            return ResultUtils.success(questionService.importFromExcel(app, inputStream, loginUser));
+        } catch (IOException e) {
+            log.error("import question error, appId = {}", appId, e);
+            throw new BusinessException(ErrorCode.SYSTEM_ERROR, "读取文件失败");
+        }
+    }
+
     // endregion
 
     // region AI生成题目功能
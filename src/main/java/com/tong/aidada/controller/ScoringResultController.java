@@ -10,6 +10,8 @@ import com.tong.aidada.common.ResultUtils;
 import com.tong.aidada.constant.UserConstant;
 import com.tong.aidada.exception.BusinessException;
 import com.tong.aidada.exception.ThrowUtils;
+import com.tong.aidada.manager.PageQueryManager;
+import com.tong.aidada.model.convert.ScoringResultConvert;
 import com.tong.aidada.model.dto.scoringresult.ScoringResultAddRequest;
 import com.tong.aidada.model.dto.scoringresult.ScoringResultEditRequest;
 import com.tong.aidada.model.dto.scoringresult.ScoringResultQueryRequest;
@@ -20,7 +22,6 @@ import com.tong.aidada.model.vo.ScoringResultVO;
 import com.tong.aidada.service.ScoringResultService;
 import com.tong.aidada.service.UserService;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.BeanUtils;
 import org.springframework.web.bind.annotation.*;
 
 import javax.annotation.Resource;
@@ -38,6 +39,9 @@ public class ScoringResultController {
     @Resource
     private ScoringResultService scoringResultService;
 
+    @Resource
+    private PageQueryManager pageQueryManager;
+
     @Resource
     private UserService userService;
 
@@ -55,7 +59,7 @@ public class ScoringResultController {
         ThrowUtils.throwIf(scoringResultAddRequest == null, ErrorCode.PARAMS_ERROR);
         // 在此处将实体类和 DTO 进行转换
         ScoringResult scoringResult = new ScoringResult();
-        BeanUtils.copyProperties(scoringResultAddRequest, scoringResult);
+        ScoringResultConvert.copyProperties(scoringResultAddRequest, scoringResult);
         List<String> resultProp = scoringResultAddRequest.getResultProp();
         scoringResult.setResultProp(JSONUtil.toJsonStr(resultProp));
         // 数据校验
@@ -112,7 +116,7 @@ public class ScoringResultController {
         }
         // 在此处将实体类和 DTO 进行转换
         ScoringResult scoringResult = new ScoringResult();
-        BeanUtils.copyProperties(scoringResultUpdateRequest, scoringResult);
+        ScoringResultConvert.copyProperties(scoringResultUpdateRequest, scoringResult);
         List<String> resultProp = scoringResultUpdateRequest.getResultProp();
         scoringResult.setResultProp(JSONUtil.toJsonStr(resultProp));
         // 数据校验
@@ -152,10 +156,8 @@ public class ScoringResultController {
     @PostMapping("/list/page")
     @AuthCheck(mustRole = UserConstant.ADMIN_ROLE)
     public BaseResponse<Page<ScoringResult>> listScoringResultByPage(@RequestBody ScoringResultQueryRequest scoringResultQueryRequest) {
-        long current = scoringResultQueryRequest.getCurrent();
-        long size = scoringResultQueryRequest.getPageSize();
         // 查询数据库
-        Page<ScoringResult> scoringResultPage = scoringResultService.page(new Page<>(current, size),
+        Page<ScoringResult> scoringResultPage = pageQueryManager.page(scoringResultService, scoringResultQueryRequest,
                 scoringResultService.getQueryWrapper(scoringResultQueryRequest));
         return ResultUtils.success(scoringResultPage);
     }
@@ -170,12 +172,11 @@ public class ScoringResultController {
     @PostMapping("/list/page/vo")
     public BaseResponse<Page<ScoringResultVO>> listScoringResultVOByPage(@RequestBody ScoringResultQueryRequest scoringResultQueryRequest,
                                                                          HttpServletRequest request) {
-        long current = scoringResultQueryRequest.getCurrent();
         long size = scoringResultQueryRequest.getPageSize();
         // 限制爬虫
         ThrowUtils.throwIf(size > 20, ErrorCode.PARAMS_ERROR);
         // 查询数据库
-        Page<ScoringResult> scoringResultPage = scoringResultService.page(new Page<>(current, size),
+        Page<ScoringResult> scoringResultPage = pageQueryManager.page(scoringResultService, scoringResultQueryRequest,
                 scoringResultService.getQueryWrapper(scoringResultQueryRequest));
         // 获取封装类
         return ResultUtils.success(scoringResultService.getScoringResultVOPage(scoringResultPage, request));
@@ -195,12 +196,11 @@ public class ScoringResultController {
         // 补充查询条件，只查询当前登录用户的数据
         User loginUser = userService.getLoginUser(request);
         scoringResultQueryRequest.setUserId(loginUser.getId());
-        long current = scoringResultQueryRequest.getCurrent();
         long size = scoringResultQueryRequest.getPageSize();
         // 限制爬虫
         ThrowUtils.throwIf(size > 20, ErrorCode.PARAMS_ERROR);
         // 查询数据库
-        Page<ScoringResult> scoringResultPage = scoringResultService.page(new Page<>(current, size),
+        Page<ScoringResult> scoringResultPage = pageQueryManager.page(scoringResultService, scoringResultQueryRequest,
                 scoringResultService.getQueryWrapper(scoringResultQueryRequest));
         // 获取封装类
         return ResultUtils.success(scoringResultService.getScoringResultVOPage(scoringResultPage, request));
@@ -220,7 +220,7 @@ public class ScoringResultController {
         }
         // 在此处将实体类和 DTO 进行转换
         ScoringResult scoringResult = new ScoringResult();
-        BeanUtils.copyProperties(scoringResultEditRequest, scoringResult);
+        ScoringResultConvert.copyProperties(scoringResultEditRequest, scoringResult);
         List<String> resultProp = scoringResultEditRequest.getResultProp();
         scoringResult.setResultProp(JSONUtil.toJsonStr(resultProp));
         // 数据校验
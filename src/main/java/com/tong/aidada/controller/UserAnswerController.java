@@ -1,16 +1,22 @@
 package com.tong.aidada.controller;
 
-import cn.hutool.core.util.IdUtil;
-import cn.hutool.json.JSONUtil;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.tong.aidada.annotation.AuthCheck;
 import com.tong.aidada.common.BaseResponse;
+import com.tong.aidada.common.CursorPage;
 import com.tong.aidada.common.DeleteRequest;
 import com.tong.aidada.common.ErrorCode;
 import com.tong.aidada.common.ResultUtils;
 import com.tong.aidada.constant.UserConstant;
+import com.tong.aidada.event.UserAnswerSubmittedEvent;
 import com.tong.aidada.exception.BusinessException;
 import com.tong.aidada.exception.ThrowUtils;
+import com.tong.aidada.manager.AppScoreRankManager;
+import com.tong.aidada.manager.IdSegmentManager;
+import com.tong.aidada.manager.PageQueryManager;
+import com.tong.aidada.manager.UserAnswerIdempotentManager;
+import com.tong.aidada.manager.UserAnswerWriteBehindManager;
+import com.tong.aidada.model.convert.UserAnswerConvert;
 import com.tong.aidada.model.dto.useranswer.UserAnswerAddRequest;
 import com.tong.aidada.model.dto.useranswer.UserAnswerEditRequest;
 import com.tong.aidada.model.dto.useranswer.UserAnswerQueryRequest;
@@ -19,18 +25,24 @@ import com.tong.aidada.model.entity.App;
 import com.tong.aidada.model.entity.User;
 import com.tong.aidada.model.entity.UserAnswer;
 import com.tong.aidada.model.enums.ReviewStatusEnum;
+import com.tong.aidada.model.vo.ScoreRankVO;
 import com.tong.aidada.model.vo.UserAnswerVO;
 import com.tong.aidada.scoring.ScoringStrategyExecutor;
 import com.tong.aidada.service.AppService;
 import com.tong.aidada.service.UserAnswerService;
 import com.tong.aidada.service.UserService;
+import com.tong.aidada.utils.ChoicesUtils;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.BeanUtils;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DuplicateKeyException;
 import org.springframework.web.bind.annotation.*;
 
 import javax.annotation.Resource;
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 /**
@@ -44,6 +56,9 @@ public class UserAnswerController {
     @Resource
     private UserAnswerService userAnswerService;
 
+    @Resource
+    private PageQueryManager pageQueryManager;
+
     @Resource
     private UserService userService;
 
@@ -53,6 +68,21 @@ public class UserAnswerController {
     @Resource
     private AppService appService;
 
+    @Resource
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Resource
+    private AppScoreRankManager appScoreRankManager;
+
+    @Resource
+    private UserAnswerWriteBehindManager userAnswerWriteBehindManager;
+
+    @Resource
+    private UserAnswerIdempotentManager userAnswerIdempotentManager;
+
+    @Resource
+    private IdSegmentManager idSegmentManager;
+
     // region 增删改查
 
     /**
@@ -67,9 +97,9 @@ public class UserAnswerController {
         ThrowUtils.throwIf(userAnswerAddRequest == null, ErrorCode.PARAMS_ERROR);
         // 在此处将实体类和 DTO 进行转换
         UserAnswer userAnswer = new UserAnswer();
-        BeanUtils.copyProperties(userAnswerAddRequest, userAnswer);
+        UserAnswerConvert.copyProperties(userAnswerAddRequest, userAnswer);
         List<String> choices = userAnswerAddRequest.getChoices();
-        userAnswer.setChoices(JSONUtil.toJsonStr(choices));
+        ChoicesUtils.fill(userAnswer, choices);
         // 数据校验
         userAnswerService.validUserAnswer(userAnswer, true);
         // 判断app是否存在
@@ -83,26 +113,91 @@ public class UserAnswerController {
         // 填充默认值
         User loginUser = userService.getLoginUser(request);
         userAnswer.setUserId(loginUser.getId());
+        // 幂等校验：只接受 /generate/id 签发给当前用户的 id，同一 id 只评分、写入一次，重复提交直接返回
+        Long userAnswerId = userAnswer.getId();
+        if (userAnswerId != null) {
+            UserAnswerIdempotentManager.State state = userAnswerIdempotentManager.acquire(userAnswerId, loginUser.getId());
+            ThrowUtils.throwIf(state == UserAnswerIdempotentManager.State.INVALID, ErrorCode.PARAMS_ERROR, "答题记录 id 无效");
+            ThrowUtils.throwIf(state == UserAnswerIdempotentManager.State.PROCESSING, ErrorCode.OPERATION_ERROR, "答案正在提交，请勿重复提交");
+            if (state == UserAnswerIdempotentManager.State.COMPLETED) {
+                return ResultUtils.success(userAnswerId);
+            }
+        }
+        long newUserAnswerId;
+        try {
+            newUserAnswerId = scoreAndSave(userAnswer, choices, app);
+        } catch (RuntimeException e) {
+            // 提交失败，允许使用同一 id 重试
+            if (userAnswerId != null) {
+                userAnswerIdempotentManager.release(userAnswerId, loginUser.getId());
+            }
+            throw e;
+        }
+        if (userAnswerId != null) {
+            userAnswerIdempotentManager.complete(userAnswerId, loginUser.getId());
+        }
+        return ResultUtils.success(newUserAnswerId);
+    }
+
+    /**
+     * 评分并写入答题记录
+     *
+     * @param userAnswer
+     * @param choices
+     * @param app
+     * @return 答题记录 id
+     */
+    private long scoreAndSave(UserAnswer userAnswer, List<String> choices, App app) {
+        // 调用评分模块（先评分再写入，只写一次数据库，不会出现没有结果的半条记录）
+        UserAnswer userAnswerWithResult;
+        try {
+            userAnswerWithResult = scoringStrategyExecutor.doScore(choices, userAnswer.getPackedChoices(), app);
+        } catch (Exception e) {
+            e.printStackTrace();
+            throw new BusinessException(ErrorCode.OPERATION_ERROR, "评分错误");
+        }
+        ThrowUtils.throwIf(userAnswerWithResult == null, ErrorCode.OPERATION_ERROR, "评分错误");
+        fillScoringResult(userAnswer, userAnswerWithResult);
+        // 开启写缓冲时先写入缓冲，由后台批量写入数据库
+        if (userAnswerWriteBehindManager.isEnabled()) {
+            if (!userAnswerWriteBehindManager.enqueue(userAnswer)) {
+                // 重复提交，记录仍在缓冲中，直接返回
+                log.info("多次提交同一 id");
+                return userAnswer.getId();
+            }
+            applicationEventPublisher.publishEvent(new UserAnswerSubmittedEvent(userAnswer));
+            return userAnswer.getId();
+        }
         // 写入数据库
         try {
             boolean result = userAnswerService.save(userAnswer);
             ThrowUtils.throwIf(!result, ErrorCode.OPERATION_ERROR);
         } catch (DuplicateKeyException e) {
-            // ignore error
+            // 幂等记录过期后的重复提交，已写入过评分结果，直接返回
             log.info("多次插入同一 id");
+            return userAnswer.getId();
         }
         // 返回新写入的数据 id
         long newUserAnswerId = userAnswer.getId();
-        // 调用评分模块
-        try {
-            UserAnswer userAnswerWithResult = scoringStrategyExecutor.doScore(choices, app);
-            userAnswerWithResult.setId(newUserAnswerId);
-            userAnswerService.updateById(userAnswerWithResult);
-        } catch (Exception e) {
-            e.printStackTrace();
-            throw new BusinessException(ErrorCode.OPERATION_ERROR, "评分错误");
-        }
-        return ResultUtils.success(newUserAnswerId);
+        // 通知统计、排行等监听方
+        applicationEventPublisher.publishEvent(new UserAnswerSubmittedEvent(userAnswer));
+        return newUserAnswerId;
+    }
+
+    /**
+     * 将评分结果填充到答题记录
+     *
+     * @param userAnswer
+     * @param userAnswerWithResult
+     */
+    private void fillScoringResult(UserAnswer userAnswer, UserAnswer userAnswerWithResult) {
+        userAnswer.setAppType(userAnswerWithResult.getAppType());
+        userAnswer.setScoringStrategy(userAnswerWithResult.getScoringStrategy());
+        userAnswer.setResultId(userAnswerWithResult.getResultId());
+        userAnswer.setResultName(userAnswerWithResult.getResultName());
+        userAnswer.setResultDesc(userAnswerWithResult.getResultDesc());
+        userAnswer.setResultPicture(userAnswerWithResult.getResultPicture());
+        userAnswer.setResultScore(userAnswerWithResult.getResultScore());
     }
 
     /**
@@ -146,9 +241,12 @@ public class UserAnswerController {
         }
         // 在此处将实体类和 DTO 进行转换
         UserAnswer userAnswer = new UserAnswer();
-        BeanUtils.copyProperties(userAnswerUpdateRequest, userAnswer);
+        UserAnswerConvert.copyProperties(userAnswerUpdateRequest, userAnswer);
+        // 未传答案时保留原答案
         List<String> choices = userAnswerUpdateRequest.getChoices();
-        userAnswer.setChoices(JSONUtil.toJsonStr(choices));
+        if (choices != null) {
+            ChoicesUtils.fill(userAnswer, choices);
+        }
         // 数据校验
         userAnswerService.validUserAnswer(userAnswer, false);
         // 判断是否存在
@@ -156,7 +254,7 @@ public class UserAnswerController {
         UserAnswer oldUserAnswer = userAnswerService.getById(id);
         ThrowUtils.throwIf(oldUserAnswer == null, ErrorCode.NOT_FOUND_ERROR);
         // 操作数据库
-        boolean result = userAnswerService.updateById(userAnswer);
+        boolean result = userAnswerService.update(userAnswer, ChoicesUtils.buildUpdateWrapper(userAnswer));
         ThrowUtils.throwIf(!result, ErrorCode.OPERATION_ERROR);
         return ResultUtils.success(true);
     }
@@ -172,6 +270,13 @@ public class UserAnswerController {
         ThrowUtils.throwIf(id <= 0, ErrorCode.PARAMS_ERROR);
         // 查询数据库
         UserAnswer userAnswer = userAnswerService.getById(id);
+        if (userAnswer == null && userAnswerWriteBehindManager.isEnabled()) {
+            // 刚提交的记录可能仍在写缓冲中；缓冲中也没有时再查一次数据库（期间可能刚好写入）
+            userAnswer = userAnswerWriteBehindManager.getBuffered(id);
+            if (userAnswer == null) {
+                userAnswer = userAnswerService.getById(id);
+            }
+        }
         ThrowUtils.throwIf(userAnswer == null, ErrorCode.NOT_FOUND_ERROR);
         // 获取封装类
         return ResultUtils.success(userAnswerService.getUserAnswerVO(userAnswer, request));
@@ -186,10 +291,8 @@ public class UserAnswerController {
     @PostMapping("/list/page")
     @AuthCheck(mustRole = UserConstant.ADMIN_ROLE)
     public BaseResponse<Page<UserAnswer>> listUserAnswerByPage(@RequestBody UserAnswerQueryRequest userAnswerQueryRequest) {
-        long current = userAnswerQueryRequest.getCurrent();
-        long size = userAnswerQueryRequest.getPageSize();
         // 查询数据库
-        Page<UserAnswer> userAnswerPage = userAnswerService.page(new Page<>(current, size),
+        Page<UserAnswer> userAnswerPage = pageQueryManager.page(userAnswerService, userAnswerQueryRequest,
                 userAnswerService.getQueryWrapper(userAnswerQueryRequest));
         return ResultUtils.success(userAnswerPage);
     }
@@ -204,12 +307,11 @@ public class UserAnswerController {
     @PostMapping("/list/page/vo")
     public BaseResponse<Page<UserAnswerVO>> listUserAnswerVOByPage(@RequestBody UserAnswerQueryRequest userAnswerQueryRequest,
                                                                    HttpServletRequest request) {
-        long current = userAnswerQueryRequest.getCurrent();
         long size = userAnswerQueryRequest.getPageSize();
         // 限制爬虫
         ThrowUtils.throwIf(size > 20, ErrorCode.PARAMS_ERROR);
         // 查询数据库
-        Page<UserAnswer> userAnswerPage = userAnswerService.page(new Page<>(current, size),
+        Page<UserAnswer> userAnswerPage = pageQueryManager.page(userAnswerService, userAnswerQueryRequest,
                 userAnswerService.getQueryWrapper(userAnswerQueryRequest));
         // 获取封装类
         return ResultUtils.success(userAnswerService.getUserAnswerVOPage(userAnswerPage, request));
@@ -229,17 +331,86 @@ public class UserAnswerController {
         // 补充查询条件，只查询当前登录用户的数据
         User loginUser = userService.getLoginUser(request);
         userAnswerQueryRequest.setUserId(loginUser.getId());
-        long current = userAnswerQueryRequest.getCurrent();
         long size = userAnswerQueryRequest.getPageSize();
         // 限制爬虫
         ThrowUtils.throwIf(size > 20, ErrorCode.PARAMS_ERROR);
         // 查询数据库
-        Page<UserAnswer> userAnswerPage = userAnswerService.page(new Page<>(current, size),
+        Page<UserAnswer> userAnswerPage = pageQueryManager.page(userAnswerService, userAnswerQueryRequest,
                 userAnswerService.getQueryWrapper(userAnswerQueryRequest));
         // 获取封装类
         return ResultUtils.success(userAnswerService.getUserAnswerVOPage(userAnswerPage, request));
     }
 
+    /**
+     * 游标分页获取用户答案列表（封装类，不查询总数）
+     *
+     * @param userAnswerQueryRequest
+     * @param request
+     * @return
+     */
+    @PostMapping("/list/cursor/vo")
+    public BaseResponse<CursorPage<UserAnswerVO>> listUserAnswerVOByCursor(@RequestBody UserAnswerQueryRequest userAnswerQueryRequest,
+                                                                           HttpServletRequest request) {
+        ThrowUtils.throwIf(userAnswerQueryRequest == null, ErrorCode.PARAMS_ERROR);
+        long size = userAnswerQueryRequest.getPageSize();
+        // 限制爬虫
+        ThrowUtils.throwIf(size <= 0 || size > 20, ErrorCode.PARAMS_ERROR);
+        return ResultUtils.success(userAnswerService.listUserAnswerVOByCursor(userAnswerQueryRequest, request));
+    }
+
+    /**
+     * 游标分页获取当前登录用户创建的用户答案列表（不查询总数）
+     *
+     * @param userAnswerQueryRequest
+     * @param request
+     * @return
+     */
+    @PostMapping("/my/list/cursor/vo")
+    public BaseResponse<CursorPage<UserAnswerVO>> listMyUserAnswerVOByCursor(@RequestBody UserAnswerQueryRequest userAnswerQueryRequest,
+                                                                             HttpServletRequest request) {
+        ThrowUtils.throwIf(userAnswerQueryRequest == null, ErrorCode.PARAMS_ERROR);
+        // 补充查询条件，只查询当前登录用户的数据
+        User loginUser = userService.getLoginUser(request);
+        userAnswerQueryRequest.setUserId(loginUser.getId());
+        long size = userAnswerQueryRequest.getPageSize();
+        // 限制爬虫
+        ThrowUtils.throwIf(size <= 0 || size > 20, ErrorCode.PARAMS_ERROR);
+        return ResultUtils.success(userAnswerService.listUserAnswerVOByCursor(userAnswerQueryRequest, request));
+    }
+
+    /**
+     * 导出应用的答题记录为 Excel（仅管理员可用，流式写出）
+     *
+     * @param appId
+     * @param response
+     */
+    @GetMapping("/export")
+    @AuthCheck(mustRole = UserConstant.ADMIN_ROLE)
+    public void exportUserAnswer(long appId, HttpServletResponse response) throws IOException {
+        ThrowUtils.throwIf(appId <= 0, ErrorCode.PARAMS_ERROR);
+        App app = appService.getById(appId);
+        ThrowUtils.throwIf(app == null, ErrorCode.NOT_FOUND_ERROR, "应用不存在");
+        String fileName = URLEncoder.encode(app.getAppName() + "_用户答案", StandardCharsets.UTF_8.name())
+                .replace("+", "%20");
+        response.setContentType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader("Content-Disposition", "attachment;filename*=utf-8''" + fileName + ".xlsx");
+        userAnswerService.exportUserAnswer(appId, response.getOutputStream());
+    }
+
+    /**
+     * 获取得分类应用的排行榜（每个用户取最高分）
+     *
+     * @param appId
+     * @param size  条数，最多 100 条
+     * @return
+     */
+    @GetMapping("/leaderboard")
+    public BaseResponse<List<ScoreRankVO>> getLeaderboard(long appId, @RequestParam(defaultValue = "10") int size) {
+        ThrowUtils.throwIf(appId <= 0 || size <= 0, ErrorCode.PARAMS_ERROR);
+        return ResultUtils.success(appScoreRankManager.getLeaderboard(appId, size));
+    }
+
     /**
      * 编辑用户答案（给用户使用）
      *
@@ -254,9 +425,12 @@ public class UserAnswerController {
         }
         // 在此处将实体类和 DTO 进行转换
         UserAnswer userAnswer = new UserAnswer();
-        BeanUtils.copyProperties(userAnswerEditRequest, userAnswer);
+        UserAnswerConvert.copyProperties(userAnswerEditRequest, userAnswer);
+        // 未传答案时保留原答案
         List<String> choices = userAnswerEditRequest.getChoices();
-        userAnswer.setChoices(JSONUtil.toJsonStr(choices));
+        if (choices != null) {
+            ChoicesUtils.fill(userAnswer, choices);
+        }
         // 数据校验
         userAnswerService.validUserAnswer(userAnswer, false);
         User loginUser = userService.getLoginUser(request);
@@ -269,15 +443,24 @@ public class UserAnswerController {
             throw new BusinessException(ErrorCode.NO_AUTH_ERROR);
         }
         // 操作数据库
-        boolean result = userAnswerService.updateById(userAnswer);
+        boolean result = userAnswerService.update(userAnswer, ChoicesUtils.buildUpdateWrapper(userAnswer));
         ThrowUtils.throwIf(!result, ErrorCode.OPERATION_ERROR);
         return ResultUtils.success(true);
     }
 
     // endregion
 
+    /**
+     * 为当前登录用户签发答题记录 id（提交答案时携带，用于幂等）
+     *
+     * @param request
+     * @return
+     */
     @GetMapping("/generate/id")
-    public BaseResponse<Long> generateUserAnswerId() {
-        return ResultUtils.success(IdUtil.getSnowflakeNextId());
+    public BaseResponse<Long> generateUserAnswerId(HttpServletRequest request) {
+        User loginUser = userService.getLoginUser(request);
+        long id = idSegmentManager.nextId(UserAnswer.class);
+        userAnswerIdempotentManager.issue(id, loginUser.getId());
+        return ResultUtils.success(id);
     }
 }
@@ -9,6 +9,9 @@ import com.tong.aidada.common.ResultUtils;
 import com.tong.aidada.constant.UserConstant;
 import com.tong.aidada.exception.BusinessException;
 import com.tong.aidada.exception.ThrowUtils;
+import com.tong.aidada.manager.PageQueryManager;
+import com.tong.aidada.manager.UserVOLoader;
+import com.tong.aidada.model.convert.UserConvert;
 import com.tong.aidada.model.dto.user.*;
 import com.tong.aidada.model.entity.User;
 import com.tong.aidada.model.vo.LoginUserVO;
@@ -17,7 +20,7 @@ import com.tong.aidada.service.UserService;
 import com.tong.aidada.service.impl.UserServiceImpl;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
-import org.springframework.beans.BeanUtils;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.*;
 
@@ -36,6 +39,12 @@ public class UserController {
     @Resource
     private UserService userService;
 
+    @Resource
+    private PageQueryManager pageQueryManager;
+
+    @Resource
+    private UserVOLoader userVOLoader;
+
     // region 登录相关
 
     /**
@@ -125,12 +134,17 @@ public class UserController {
             throw new BusinessException(ErrorCode.PARAMS_ERROR);
         }
         User user = new User();
-        BeanUtils.copyProperties(userAddRequest, user);
+        UserConvert.copyProperties(userAddRequest, user);
         // 默认密码 12345678
         String defaultPassword = "12345678";
         String encryptPassword = DigestUtils.md5DigestAsHex((UserServiceImpl.SALT + defaultPassword).getBytes());
         user.setUserPassword(encryptPassword);
-        boolean result = userService.save(user);
+        boolean result;
+        try {
+            result = userService.save(user);
+        } catch (DuplicateKeyException e) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "账号重复");
+        }
         ThrowUtils.throwIf(!result, ErrorCode.OPERATION_ERROR);
         return ResultUtils.success(user.getId());
     }
@@ -167,7 +181,7 @@ public class UserController {
             throw new BusinessException(ErrorCode.PARAMS_ERROR);
         }
         User user = new User();
-        BeanUtils.copyProperties(userUpdateRequest, user);
+        UserConvert.copyProperties(userUpdateRequest, user);
         boolean result = userService.updateById(user);
         ThrowUtils.throwIf(!result, ErrorCode.OPERATION_ERROR);
         return ResultUtils.success(true);
@@ -200,9 +214,12 @@ public class UserController {
      */
     @GetMapping("/get/vo")
     public BaseResponse<UserVO> getUserVOById(long id, HttpServletRequest request) {
-        BaseResponse<User> response = getUserById(id, request);
-        User user = response.getData();
-        return ResultUtils.success(userService.getUserVO(user));
+        if (id <= 0) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR);
+        }
+        UserVO userVO = userVOLoader.load(id);
+        ThrowUtils.throwIf(userVO == null, ErrorCode.NOT_FOUND_ERROR);
+        return ResultUtils.success(userVO);
     }
 
     /**
@@ -216,9 +233,7 @@ public class UserController {
     @AuthCheck(mustRole = UserConstant.ADMIN_ROLE)
     public BaseResponse<Page<User>> listUserByPage(@RequestBody UserQueryRequest userQueryRequest,
                                                    HttpServletRequest request) {
-        long current = userQueryRequest.getCurrent();
-        long size = userQueryRequest.getPageSize();
-        Page<User> userPage = userService.page(new Page<>(current, size),
+        Page<User> userPage = pageQueryManager.page(userService, userQueryRequest,
                 userService.getQueryWrapper(userQueryRequest));
         return ResultUtils.success(userPage);
     }
@@ -240,7 +255,7 @@ public class UserController {
         long size = userQueryRequest.getPageSize();
         // 限制爬虫
         ThrowUtils.throwIf(size > 20, ErrorCode.PARAMS_ERROR);
-        Page<User> userPage = userService.page(new Page<>(current, size),
+        Page<User> userPage = pageQueryManager.page(userService, userQueryRequest,
                 userService.getQueryWrapper(userQueryRequest));
         Page<UserVO> userVOPage = new Page<>(current, size, userPage.getTotal());
         List<UserVO> userVO = userService.getUserVO(userPage.getRecords());
@@ -265,7 +280,7 @@ public class UserController {
         }
         User loginUser = userService.getLoginUser(request);
         User user = new User();
-        BeanUtils.copyProperties(userUpdateMyRequest, user);
+        UserConvert.copyProperties(userUpdateMyRequest, user);
         user.setId(loginUser.getId());
         boolean result = userService.updateById(user);
         ThrowUtils.throwIf(!result, ErrorCode.OPERATION_ERROR);
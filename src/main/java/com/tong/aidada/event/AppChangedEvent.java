@@ -0,0 +1,34 @@
+package com.tong.aidada.event;
+
+/**
+ * 应用变更事件（创建、修改、审核、删除后发布，监听方按 id 重新查询最新数据）
+ */
+public class AppChangedEvent {
+
+    /**
+     * 应用 id
+     */
+    private final Long appId;
+
+    /**
+     * 是否由其他实例同步而来（无需再次广播）
+     */
+    private final boolean remote;
+
+    public AppChangedEvent(Long appId) {
+        this(appId, false);
+    }
+
+    public AppChangedEvent(Long appId, boolean remote) {
+        this.appId = appId;
+        this.remote = remote;
+    }
+
+    public Long getAppId() {
+        return appId;
+    }
+
+    public boolean isRemote() {
+        return remote;
+    }
+}
@@ -0,0 +1,73 @@
+package com.tong.aidada.event;
+
+import cn.hutool.core.util.IdUtil;
+import cn.hutool.core.util.StrUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.Resource;
+
+/**
+ * 应用变更事件跨实例同步（通过 Redis 发布订阅，保证各实例的本地索引一致）
+ */
+@Component
+@Slf4j
+public class AppChangedEventRelay {
+
+    @Resource
+    private RedissonClient redissonClient;
+
+    @Resource
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    // 应用变更通知的频道
+    private static final String APP_CHANGED_TOPIC = "app_changed_topic";
+
+    /**
+     * 当前实例标识，忽略自己发出的通知
+     */
+    private final String nodeId = IdUtil.fastSimpleUUID();
+
+    private RTopic appChangedTopic;
+
+    @PostConstruct
+    public void init() {
+        appChangedTopic = redissonClient.getTopic(APP_CHANGED_TOPIC, StringCodec.INSTANCE);
+        appChangedTopic.addListener(String.class, (channel, message) -> {
+            // 消息格式：实例标识:应用 id
+            String[] parts = StrUtil.splitToArray(message, ':');
+            if (parts.length != 2 || nodeId.equals(parts[0])) {
+                return;
+            }
+            try {
+                applicationEventPublisher.publishEvent(new AppChangedEvent(Long.valueOf(parts[1]), true));
+            } catch (Exception e) {
+                log.error("handle remote app changed event error, message = {}", message, e);
+            }
+        });
+    }
+
+    /**
+     * 广播本实例发生的应用变更
+     *
+     * @param event
+     */
+    @EventListener
+    public void onAppChanged(AppChangedEvent event) {
+        if (event.isRemote() || event.getAppId() == null) {
+            return;
+        }
+        try {
+            appChangedTopic.publish(nodeId + ":" + event.getAppId());
+        } catch (Exception e) {
+            // 通知失败时其他实例依赖定时重建
+            log.error("publish app changed event error, appId = {}", event.getAppId(), e);
+        }
+    }
+}
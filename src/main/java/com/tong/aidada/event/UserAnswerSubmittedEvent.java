@@ -0,0 +1,22 @@
+package com.tong.aidada.event;
+
+import com.tong.aidada.model.entity.UserAnswer;
+
+/**
+ * 用户答题完成事件（评分结果写入后发布）
+ */
+public class UserAnswerSubmittedEvent {
+
+    /**
+     * 评分后的答题记录（包含 id、appId、userId 及评分结果）
+     */
+    private final UserAnswer userAnswer;
+
+    public UserAnswerSubmittedEvent(UserAnswer userAnswer) {
+        this.userAnswer = userAnswer;
+    }
+
+    public UserAnswer getUserAnswer() {
+        return userAnswer;
+    }
+}
@@ -0,0 +1,95 @@
+package com.tong.aidada.excel;
+
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.json.JSONUtil;
+import com.alibaba.excel.context.AnalysisContext;
+import com.alibaba.excel.exception.ExcelDataConvertException;
+import com.alibaba.excel.read.listener.ReadListener;
+import com.tong.aidada.common.ErrorCode;
+import com.tong.aidada.exception.BusinessException;
+import com.tong.aidada.exception.ThrowUtils;
+import com.tong.aidada.model.dto.question.QuestionContentDTO;
+import com.tong.aidada.model.dto.question.QuestionExcelDTO;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 题目导入监听器（逐行读取，组装为题目列表）
+ * <p>
+ * 一个应用的全部题目存在一条题目记录中，内容长度有上限，超过上限时立即停止读取
+ */
+public class QuestionImportListener implements ReadListener<QuestionExcelDTO> {
+
+    /**
+     * 题目内容（JSON）最大长度，与题目校验规则一致
+     */
+    private final int maxContentLength;
+
+    private final List<QuestionContentDTO> questionContentList = new ArrayList<>();
+
+    /**
+     * 已完成题目的 JSON 长度之和
+     */
+    private int contentLength = 2;
+
+    private QuestionContentDTO current;
+
+    public QuestionImportListener(int maxContentLength) {
+        this.maxContentLength = maxContentLength;
+    }
+
+    @Override
+    public void invoke(QuestionExcelDTO data, AnalysisContext context) {
+        int rowNum = context.readRowHolder().getRowIndex() + 1;
+        // 题目列不为空时开始新题目
+        if (StrUtil.isNotBlank(data.getTitle())) {
+            completeCurrent();
+            current = new QuestionContentDTO(data.getTitle().trim(), new ArrayList<>());
+        }
+        ThrowUtils.throwIf(current == null, ErrorCode.PARAMS_ERROR, "题目第 " + rowNum + " 行缺少题目");
+        ThrowUtils.throwIf(StrUtil.isBlank(data.getKey()), ErrorCode.PARAMS_ERROR, "题目第 " + rowNum + " 行缺少选项");
+        ThrowUtils.throwIf(StrUtil.isBlank(data.getValue()), ErrorCode.PARAMS_ERROR, "题目第 " + rowNum + " 行缺少选项内容");
+        QuestionContentDTO.Option option = new QuestionContentDTO.Option();
+        option.setKey(data.getKey().trim());
+        option.setValue(data.getValue().trim());
+        option.setScore(data.getScore() == null ? 0 : data.getScore());
+        option.setResult(StrUtil.trimToNull(data.getResult()));
+        current.getOptions().add(option);
+    }
+
+    @Override
+    public void doAfterAllAnalysed(AnalysisContext context) {
+        completeCurrent();
+    }
+
+    @Override
+    public void onException(Exception exception, AnalysisContext context) throws Exception {
+        if (exception instanceof ExcelDataConvertException) {
+            ExcelDataConvertException convertException = (ExcelDataConvertException) exception;
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "题目第 " + (convertException.getRowIndex() + 1)
+                    + " 行第 " + (convertException.getColumnIndex() + 1) + " 列格式错误");
+        }
+        throw exception;
+    }
+
+    /**
+     * 获取读取到的题目
+     *
+     * @return
+     */
+    public List<QuestionContentDTO> getQuestionContentList() {
+        return questionContentList;
+    }
+
+    private void completeCurrent() {
+        if (current == null) {
+            return;
+        }
+        // 逗号分隔
+        contentLength += JSONUtil.toJsonStr(current).length() + 1;
+        ThrowUtils.throwIf(contentLength > maxContentLength, ErrorCode.PARAMS_ERROR, "题目内容过长");
+        questionContentList.add(current);
+        current = null;
+    }
+}
@@ -0,0 +1,111 @@
+package com.tong.aidada.excel;
+
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.json.JSONUtil;
+import com.alibaba.excel.context.AnalysisContext;
+import com.alibaba.excel.exception.ExcelDataConvertException;
+import com.alibaba.excel.read.listener.ReadListener;
+import com.tong.aidada.common.ErrorCode;
+import com.tong.aidada.exception.BusinessException;
+import com.tong.aidada.exception.ThrowUtils;
+import com.tong.aidada.model.dto.scoringresult.ScoringResultExcelDTO;
+import com.tong.aidada.model.entity.ScoringResult;
+import com.tong.aidada.service.ScoringResultService;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 评分结果导入监听器（逐行校验，攒够一批后批量写入，内存中只保留一批数据）
+ * <p>
+ * 导入的评分结果整体替换应用原有的评分结果：写入第一批前删除应用已有的评分结果，
+ * 需要在调用方的事务中执行，导入失败时一并回滚；工作表不存在或没有数据时保留原有结果
+ */
+public class ScoringResultImportListener implements ReadListener<ScoringResultExcelDTO> {
+
+    /**
+     * 每批写入的行数
+     */
+    private static final int BATCH_SIZE = 500;
+
+    private final ScoringResultService scoringResultService;
+
+    private final Long appId;
+
+    private final Long userId;
+
+    private final List<ScoringResult> batchList = new ArrayList<>(BATCH_SIZE);
+
+    private int count;
+
+    public ScoringResultImportListener(ScoringResultService scoringResultService, Long appId, Long userId) {
+        this.scoringResultService = scoringResultService;
+        this.appId = appId;
+        this.userId = userId;
+    }
+
+    @Override
+    public void invoke(ScoringResultExcelDTO data, AnalysisContext context) {
+        int rowNum = context.readRowHolder().getRowIndex() + 1;
+        ThrowUtils.throwIf(StrUtil.isBlank(data.getResultName()), ErrorCode.PARAMS_ERROR,
+                "评分结果第 " + rowNum + " 行缺少结果名称");
+        ScoringResult scoringResult = new ScoringResult();
+        scoringResult.setResultName(data.getResultName().trim());
+        scoringResult.setResultDesc(data.getResultDesc());
+        scoringResult.setResultPicture(data.getResultPicture());
+        if (StrUtil.isNotBlank(data.getResultProp())) {
+            scoringResult.setResultProp(JSONUtil.toJsonStr(StrUtil.splitTrim(data.getResultProp(), ',')));
+        }
+        scoringResult.setResultScoreRange(data.getResultScoreRange());
+        // 应用已在导入前校验，逐行校验时不重复查询应用
+        try {
+            scoringResultService.validScoringResult(scoringResult, false);
+        } catch (BusinessException e) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "评分结果第 " + rowNum + " 行：" + e.getMessage());
+        }
+        scoringResult.setAppId(appId);
+        scoringResult.setUserId(userId);
+        batchList.add(scoringResult);
+        if (batchList.size() >= BATCH_SIZE) {
+            flush();
+        }
+    }
+
+    @Override
+    public void doAfterAllAnalysed(AnalysisContext context) {
+        flush();
+    }
+
+    @Override
+    public void onException(Exception exception, AnalysisContext context) throws Exception {
+        if (exception instanceof ExcelDataConvertException) {
+            ExcelDataConvertException convertException = (ExcelDataConvertException) exception;
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "评分结果第 " + (convertException.getRowIndex() + 1)
+                    + " 行第 " + (convertException.getColumnIndex() + 1) + " 列格式错误");
+        }
+        throw exception;
+    }
+
+    /**
+     * 已写入的行数
+     *
+     * @return
+     */
+    public int getCount() {
+        return count;
+    }
+
+    private void flush() {
+        if (batchList.isEmpty()) {
+            return;
+        }
+        if (count == 0) {
+            // 重复导入同一文件不会产生重复的评分结果
+            scoringResultService.lambdaUpdate().eq(ScoringResult::getAppId, appId).remove();
+        }
+        // 开启 rewriteBatchedStatements 后合并为多值 insert
+        scoringResultService.saveBatch(batchList, BATCH_SIZE);
+        count += batchList.size();
+        batchList.clear();
+    }
+}
@@ -0,0 +1,48 @@
+package com.tong.aidada.filter;
+
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.jwt.JWT;
+import com.tong.aidada.manager.TokenManager;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.annotation.Resource;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+import static com.tong.aidada.constant.UserConstant.TOKEN_ID_ATTRIBUTE;
+import static com.tong.aidada.constant.UserConstant.TOKEN_USER_ATTRIBUTE;
+
+/**
+ * 令牌认证过滤器（令牌模式下生效），在本地校验请求头中的令牌，不访问 Redis
+ */
+@Component
+@ConditionalOnProperty(prefix = "auth", name = "mode", havingValue = "token")
+public class TokenAuthFilter extends OncePerRequestFilter {
+
+    private static final String AUTHORIZATION_HEADER = "Authorization";
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    @Resource
+    private TokenManager tokenManager;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String authorization = request.getHeader(AUTHORIZATION_HEADER);
+        if (StrUtil.startWith(authorization, BEARER_PREFIX)) {
+            // 校验失败视为未登录，由具体接口决定是否拒绝
+            JWT jwt = tokenManager.verifyToken(authorization.substring(BEARER_PREFIX.length()).trim());
+            if (jwt != null) {
+                request.setAttribute(TOKEN_USER_ATTRIBUTE, tokenManager.toSessionUser(jwt));
+                request.setAttribute(TOKEN_ID_ATTRIBUTE, tokenManager.getTokenId(jwt));
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,173 @@
+package com.tong.aidada.generate;
+
+import com.tong.aidada.model.dto.app.AppAddRequest;
+import com.tong.aidada.model.dto.app.AppEditRequest;
+import com.tong.aidada.model.dto.app.AppUpdateRequest;
+import com.tong.aidada.model.dto.question.QuestionAddRequest;
+import com.tong.aidada.model.dto.question.QuestionEditRequest;
+import com.tong.aidada.model.dto.question.QuestionUpdateRequest;
+import com.tong.aidada.model.dto.scoringresult.ScoringResultAddRequest;
+import com.tong.aidada.model.dto.scoringresult.ScoringResultEditRequest;
+import com.tong.aidada.model.dto.scoringresult.ScoringResultUpdateRequest;
+import com.tong.aidada.model.dto.user.UserAddRequest;
+import com.tong.aidada.model.dto.user.UserUpdateMyRequest;
+import com.tong.aidada.model.dto.user.UserUpdateRequest;
+import com.tong.aidada.model.dto.useranswer.UserAnswerAddRequest;
+import com.tong.aidada.model.dto.useranswer.UserAnswerEditRequest;
+import com.tong.aidada.model.dto.useranswer.UserAnswerUpdateRequest;
+import com.tong.aidada.model.entity.App;
+import com.tong.aidada.model.entity.Question;
+import com.tong.aidada.model.entity.ScoringResult;
+import com.tong.aidada.model.entity.User;
+import com.tong.aidada.model.entity.UserAnswer;
+import com.tong.aidada.model.vo.AppVO;
+import com.tong.aidada.model.vo.LoginUserVO;
+import com.tong.aidada.model.vo.QuestionVO;
+import com.tong.aidada.model.vo.ScoringResultVO;
+import com.tong.aidada.model.vo.UserAnswerVO;
+import com.tong.aidada.model.vo.UserVO;
+import freemarker.template.TemplateException;
+
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * 对象转换代码生成器（生成无反射的属性复制方法，替代 BeanUtils.copyProperties）
+ * <p>
+ * 用法：实体类、DTO、VO 字段变更后重新运行即可，生成的文件直接覆盖 model/convert 下的对应类
+ */
+public class ConvertGenerator {
+
+    public static void main(String[] args) throws TemplateException, IOException, IntrospectionException {
+        String packageName = "com.tong.aidada";
+        String projectPath = System.getProperty("user.dir");
+        String inputPath = projectPath + File.separator + "src/main/resources/templates/model/TemplateConvert.java.ftl";
+
+        generate(inputPath, projectPath, packageName, "应用", "App", Arrays.asList(
+                pair(AppAddRequest.class, App.class),
+                pair(AppEditRequest.class, App.class),
+                pair(AppUpdateRequest.class, App.class),
+                pair(App.class, AppVO.class),
+                pair(AppVO.class, App.class)));
+        generate(inputPath, projectPath, packageName, "题目", "Question", Arrays.asList(
+                pair(QuestionAddRequest.class, Question.class),
+                pair(QuestionEditRequest.class, Question.class),
+                pair(QuestionUpdateRequest.class, Question.class),
+                pair(Question.class, QuestionVO.class),
+                pair(QuestionVO.class, Question.class)));
+        generate(inputPath, projectPath, packageName, "评分结果", "ScoringResult", Arrays.asList(
+                pair(ScoringResultAddRequest.class, ScoringResult.class),
+                pair(ScoringResultEditRequest.class, ScoringResult.class),
+                pair(ScoringResultUpdateRequest.class, ScoringResult.class),
+                pair(ScoringResult.class, ScoringResultVO.class),
+                pair(ScoringResultVO.class, ScoringResult.class)));
+        generate(inputPath, projectPath, packageName, "用户", "User", Arrays.asList(
+                pair(UserAddRequest.class, User.class),
+                pair(UserUpdateRequest.class, User.class),
+                pair(UserUpdateMyRequest.class, User.class),
+                pair(User.class, UserVO.class),
+                pair(User.class, LoginUserVO.class)));
+        generate(inputPath, projectPath, packageName, "用户答案", "UserAnswer", Arrays.asList(
+                pair(UserAnswerAddRequest.class, UserAnswer.class),
+                pair(UserAnswerEditRequest.class, UserAnswer.class),
+                pair(UserAnswerUpdateRequest.class, UserAnswer.class),
+                pair(UserAnswer.class, UserAnswerVO.class),
+                pair(UserAnswerVO.class, UserAnswer.class)));
+    }
+
+    /**
+     * 生成一个转换类
+     *
+     * @param inputPath    模板文件路径
+     * @param projectPath  项目路径
+     * @param packageName  包名
+     * @param dataName     数据名称
+     * @param upperDataKey 数据 key（首字母大写）
+     * @param pairList     源类型 => 目标类型
+     */
+    private static void generate(String inputPath, String projectPath, String packageName, String dataName,
+                                 String upperDataKey, List<Class<?>[]> pairList)
+            throws IOException, TemplateException, IntrospectionException {
+        TreeSet<String> importSet = new TreeSet<>();
+        List<Map<String, Object>> mappingList = new ArrayList<>();
+        for (Class<?>[] pair : pairList) {
+            importSet.add(pair[0].getName());
+            importSet.add(pair[1].getName());
+            mappingList.add(buildMapping(pair[0], pair[1]));
+        }
+        Map<String, Object> dataModel = new HashMap<>();
+        dataModel.put("packageName", packageName);
+        dataModel.put("dataName", dataName);
+        dataModel.put("upperDataKey", upperDataKey);
+        dataModel.put("imports", new ArrayList<>(importSet));
+        dataModel.put("mappings", mappingList);
+        String outputPath = String.format("%s/src/main/java/%s/model/convert/%sConvert.java",
+                projectPath, packageName.replace('.', '/'), upperDataKey);
+        CodeGenerator.doGenerate(inputPath, outputPath, dataModel);
+        System.out.println("生成 " + upperDataKey + "Convert 成功，文件路径：" + outputPath);
+    }
+
+    /**
+     * 计算需要复制的属性（与 BeanUtils.copyProperties 一致：同名且类型相同）
+     *
+     * @param sourceClass
+     * @param targetClass
+     * @return
+     */
+    private static Map<String, Object> buildMapping(Class<?> sourceClass, Class<?> targetClass) throws IntrospectionException {
+        Map<String, PropertyDescriptor> sourcePropertyMap = getPropertyMap(sourceClass);
+        Map<String, PropertyDescriptor> targetPropertyMap = getPropertyMap(targetClass);
+        List<Map<String, String>> propertyList = new ArrayList<>();
+        // 按目标类字段的声明顺序
+        for (Field field : targetClass.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers())) {
+                continue;
+            }
+            PropertyDescriptor targetProperty = targetPropertyMap.get(field.getName());
+            PropertyDescriptor sourceProperty = sourcePropertyMap.get(field.getName());
+            if (targetProperty == null || targetProperty.getWriteMethod() == null
+                    || sourceProperty == null || sourceProperty.getReadMethod() == null) {
+                continue;
+            }
+            // 类型（含泛型）不同的属性需要手动转换，如 JSON 字符串和列表
+            Type sourceType = sourceProperty.getReadMethod().getGenericReturnType();
+            Type targetType = targetProperty.getWriteMethod().getGenericParameterTypes()[0];
+            if (!sourceType.equals(targetType)) {
+                continue;
+            }
+            Map<String, String> property = new HashMap<>();
+            property.put("getter", sourceProperty.getReadMethod().getName());
+            property.put("setter", targetProperty.getWriteMethod().getName());
+            propertyList.add(property);
+        }
+        Map<String, Object> mapping = new HashMap<>();
+        mapping.put("sourceType", sourceClass.getSimpleName());
+        mapping.put("targetType", targetClass.getSimpleName());
+        mapping.put("properties", propertyList);
+        return mapping;
+    }
+
+    private static Map<String, PropertyDescriptor> getPropertyMap(Class<?> clazz) throws IntrospectionException {
+        Map<String, PropertyDescriptor> propertyMap = new HashMap<>();
+        for (PropertyDescriptor propertyDescriptor : Introspector.getBeanInfo(clazz, Object.class).getPropertyDescriptors()) {
+            propertyMap.put(propertyDescriptor.getName(), propertyDescriptor);
+        }
+        return propertyMap;
+    }
+
+    private static Class<?>[] pair(Class<?> sourceClass, Class<?> targetClass) {
+        return new Class<?>[]{sourceClass, targetClass};
+    }
+}
@@ -0,0 +1,48 @@
+package com.tong.aidada.handler;
+
+import com.tong.aidada.model.dto.useranswer.PackedChoices;
+import org.apache.ibatis.type.BaseTypeHandler;
+import org.apache.ibatis.type.JdbcType;
+import org.apache.ibatis.type.MappedJdbcTypes;
+import org.apache.ibatis.type.MappedTypes;
+
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * 用户答案紧凑编码与 VARBINARY 字段的转换
+ */
+@MappedTypes(PackedChoices.class)
+@MappedJdbcTypes(JdbcType.VARBINARY)
+public class PackedChoicesTypeHandler extends BaseTypeHandler<PackedChoices> {
+
+    @Override
+    public void setNonNullParameter(PreparedStatement ps, int i, PackedChoices parameter, JdbcType jdbcType) throws SQLException {
+        ps.setBytes(i, parameter.getBytes());
+    }
+
+    @Override
+    public PackedChoices getNullableResult(ResultSet rs, String columnName) throws SQLException {
+        return toPackedChoices(rs.getBytes(columnName));
+    }
+
+    @Override
+    public PackedChoices getNullableResult(ResultSet rs, int columnIndex) throws SQLException {
+        return toPackedChoices(rs.getBytes(columnIndex));
+    }
+
+    @Override
+    public PackedChoices getNullableResult(CallableStatement cs, int columnIndex) throws SQLException {
+        return toPackedChoices(cs.getBytes(columnIndex));
+    }
+
+    private PackedChoices toPackedChoices(byte[] bytes) {
+        // 空值或未知版本的编码，交由 JSON 字段兜底
+        if (bytes == null || bytes.length < 3 || bytes[0] != PackedChoices.VERSION) {
+            return null;
+        }
+        return PackedChoices.of(bytes);
+    }
+}
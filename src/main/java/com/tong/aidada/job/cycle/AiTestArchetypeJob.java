@@ -0,0 +1,210 @@
+package com.tong.aidada.job.cycle;
+
+import cn.hutool.core.collection.CollUtil;
+import cn.hutool.json.JSONUtil;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.tong.aidada.manager.AiTestArchetypeManager;
+import com.tong.aidada.manager.QuestionContentCacheManager;
+import com.tong.aidada.model.dto.question.QuestionContentDTO;
+import com.tong.aidada.model.entity.App;
+import com.tong.aidada.model.entity.Question;
+import com.tong.aidada.model.entity.UserAnswer;
+import com.tong.aidada.model.enums.AppScoringStrategyEnum;
+import com.tong.aidada.model.enums.AppTypeEnum;
+import com.tong.aidada.model.enums.ReviewStatusEnum;
+import com.tong.aidada.scoring.AiTestScoringStrategy;
+import com.tong.aidada.service.AppService;
+import com.tong.aidada.service.QuestionService;
+import com.tong.aidada.service.UserAnswerService;
+import com.tong.aidada.utils.ChoicesUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import javax.annotation.Resource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * 定时为已过审的 AI 测评类应用预生成高频答题原型的 AI 评价
+ */
+@Component
+@Slf4j
+public class AiTestArchetypeJob {
+
+    @Resource
+    private AppService appService;
+
+    @Resource
+    private QuestionService questionService;
+
+    @Resource
+    private UserAnswerService userAnswerService;
+
+    @Resource
+    private AiTestScoringStrategy aiTestScoringStrategy;
+
+    @Resource
+    private AiTestArchetypeManager aiTestArchetypeManager;
+
+    @Resource
+    private QuestionContentCacheManager questionContentCacheManager;
+
+    @Resource
+    private RedissonClient redissonClient;
+
+    // 分布式锁的 key，保证多实例下同一时间只有一个实例在预生成
+    private static final String AI_ARCHETYPE_JOB_LOCK = "ai_archetype_job_lock";
+
+    // 每个应用统计最近多少条答题记录
+    private static final int SAMPLE_SIZE = 2000;
+
+    // 每个应用预生成的原型个数
+    private static final int TOP_K = 20;
+
+    // 画像至少出现多少次才值得预生成
+    private static final int MIN_SUPPORT = 3;
+
+    // 每次执行最多调用 AI 的次数，未生成的原型留到下次执行
+    private static final int MAX_AI_CALLS_PER_RUN = 50;
+
+    // 预生成线程（AI 调用耗时长，不占用定时任务线程，避免阻塞其他定时任务）
+    private final ExecutorService archetypeExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "ai-archetype");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // 上一次预生成是否仍在执行
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    /**
+     * 每 10 分钟提交一次预生成，上一次未结束时跳过
+     */
+    @Scheduled(fixedDelay = 10 * 60 * 1000L, initialDelay = 60 * 1000L)
+    public void run() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            archetypeExecutor.execute(() -> {
+                try {
+                    doRun();
+                } finally {
+                    running.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            running.set(false);
+        }
+    }
+
+    @PreDestroy
+    public void destroy() {
+        archetypeExecutor.shutdownNow();
+    }
+
+    private void doRun() {
+        RLock lock = redissonClient.getLock(AI_ARCHETYPE_JOB_LOCK);
+        if (!lock.tryLock()) {
+            return;
+        }
+        try {
+            List<App> appList = appService.lambdaQuery()
+                    .eq(App::getAppType, AppTypeEnum.TEST.getValue())
+                    .eq(App::getScoringStrategy, AppScoringStrategyEnum.AI.getValue())
+                    .eq(App::getReviewStatus, ReviewStatusEnum.PASS.getValue())
+                    .list();
+            int remainingCalls = MAX_AI_CALLS_PER_RUN;
+            for (App app : appList) {
+                if (remainingCalls <= 0) {
+                    log.info("ai archetype call limit reached, remaining apps will be handled next run");
+                    break;
+                }
+                try {
+                    remainingCalls -= preGenerate(app, remainingCalls);
+                } catch (Exception e) {
+                    log.error("ai archetype pre-generate error, appId = {}", app.getId(), e);
+                }
+            }
+        } finally {
+            if (lock.isHeldByCurrentThread()) {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 为单个应用预生成原型
+     *
+     * @param app
+     * @param maxCalls 最多调用 AI 的次数
+     * @return 实际调用 AI 的次数
+     */
+    private int preGenerate(App app, int maxCalls) {
+        Long appId = app.getId();
+        Question question = questionService.lambdaQuery().eq(Question::getAppId, appId).one();
+        if (question == null) {
+            return 0;
+        }
+        List<QuestionContentDTO> questionContent = questionContentCacheManager.getQuestionContent(question);
+        if (CollUtil.isEmpty(questionContent)) {
+            return 0;
+        }
+        // 1. 统计最近答题记录的画像分布，并记录每种画像的一份代表答题卡
+        List<UserAnswer> userAnswerList = userAnswerService.lambdaQuery()
+                .select(UserAnswer::getChoices, UserAnswer::getPackedChoices)
+                .eq(UserAnswer::getAppId, appId)
+                .orderByDesc(UserAnswer::getCreateTime)
+                .page(new Page<>(1, SAMPLE_SIZE, false))
+                .getRecords();
+        Map<String, Integer> profileCount = new HashMap<>();
+        Map<String, List<String>> profileChoices = new HashMap<>();
+        for (UserAnswer userAnswer : userAnswerList) {
+            List<String> choices = ChoicesUtils.toList(userAnswer);
+            String profileKey = aiTestArchetypeManager.buildProfileKey(questionContent, choices,
+                    userAnswer.getPackedChoices());
+            if (profileKey == null) {
+                continue;
+            }
+            profileCount.merge(profileKey, 1, Integer::sum);
+            profileChoices.putIfAbsent(profileKey, choices);
+        }
+        // 2. 取出现次数最多的 K 种画像
+        List<String> topProfileKeyList = profileCount.entrySet().stream()
+                .filter(entry -> entry.getValue() >= MIN_SUPPORT)
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .limit(TOP_K)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+        // 3. 为尚未生成的画像调用 AI 生成评价
+        int generated = 0;
+        for (String profileKey : topProfileKeyList) {
+            if (generated >= maxCalls) {
+                break;
+            }
+            if (aiTestArchetypeManager.containsArchetype(appId, question.getUpdateTime(), profileKey)) {
+                continue;
+            }
+            // 先计数，AI 调用失败也占用本次的调用次数
+            generated++;
+            String archetypeJson = aiTestScoringStrategy.doAiScore(app, questionContent, profileChoices.get(profileKey));
+            // 校验 AI 返回的格式
+            JSONUtil.toBean(archetypeJson, UserAnswer.class);
+            aiTestArchetypeManager.saveArchetype(appId, question.getUpdateTime(), profileKey, archetypeJson);
+        }
+        if (generated > 0) {
+            log.info("ai archetype pre-generated, appId = {}, count = {}", appId, generated);
+        }
+        return generated;
+    }
+}
@@ -0,0 +1,85 @@
+package com.tong.aidada.job.cycle;
+
+import cn.hutool.core.collection.CollUtil;
+import com.tong.aidada.manager.AppStatisticManager;
+import com.tong.aidada.mapper.AppStatisticMapper;
+import com.tong.aidada.model.entity.AppStatistic;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.Resource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 定时将 Redis 中的应用统计计数器刷入数据库
+ */
+@Component
+@Slf4j
+public class AppStatisticFlushJob {
+
+    @Resource
+    private AppStatisticManager appStatisticManager;
+
+    @Resource
+    private AppStatisticMapper appStatisticMapper;
+
+    @Resource
+    private RedissonClient redissonClient;
+
+    // 分布式锁的 key，保证多实例下同一时间只有一个实例在刷盘
+    private static final String APP_STATISTIC_FLUSH_LOCK = "app_statistic_flush_lock";
+
+    // 每批刷盘的应用数
+    private static final int BATCH_SIZE = 500;
+
+    /**
+     * 每分钟执行一次
+     */
+    @Scheduled(fixedDelay = 60 * 1000L, initialDelay = 60 * 1000L)
+    public void run() {
+        RLock lock = redissonClient.getLock(APP_STATISTIC_FLUSH_LOCK);
+        if (!lock.tryLock()) {
+            return;
+        }
+        try {
+            int flushed = 0;
+            while (true) {
+                Set<Long> appIdSet = appStatisticManager.pollDirty(BATCH_SIZE);
+                if (CollUtil.isEmpty(appIdSet)) {
+                    break;
+                }
+                try {
+                    // 计数器中是累计值，重复写入不影响结果
+                    List<AppStatistic> appStatisticList = new ArrayList<>(appIdSet.size());
+                    for (Long appId : appIdSet) {
+                        AppStatistic appStatistic = appStatisticManager.buildAppStatistic(appId);
+                        if (appStatistic != null) {
+                            appStatisticList.add(appStatistic);
+                        }
+                    }
+                    if (!appStatisticList.isEmpty()) {
+                        appStatisticMapper.upsertBatch(appStatisticList);
+                    }
+                    flushed += appStatisticList.size();
+                } catch (Exception e) {
+                    // 放回待刷盘集合，下次重试
+                    appStatisticManager.markDirty(appIdSet);
+                    log.error("flush app statistic error", e);
+                    break;
+                }
+            }
+            if (flushed > 0) {
+                log.info("app statistic flushed, count = {}", flushed);
+            }
+        } finally {
+            if (lock.isHeldByCurrentThread()) {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.tong.aidada.job.cycle;
+
+import com.tong.aidada.config.UserAnswerWriteBehindConfig;
+import com.tong.aidada.manager.UserAnswerWriteBehindManager;
+import com.tong.aidada.mapper.UserAnswerMapper;
+import com.tong.aidada.model.entity.UserAnswer;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.StreamMessageId;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.Resource;
+import java.util.ArrayList;
+import java.util.Map;
+
+/**
+ * 将写缓冲中的答题记录批量写入数据库（开启写缓冲时生效）
+ * <p>
+ * 各实例作为同一消费者组的消费者并行消费，按 id 去重写入（insert ignore），重复消费不影响结果
+ */
+@Component
+@Slf4j
+public class UserAnswerWriteBehindJob {
+
+    @Resource
+    private UserAnswerWriteBehindManager userAnswerWriteBehindManager;
+
+    @Resource
+    private UserAnswerWriteBehindConfig userAnswerWriteBehindConfig;
+
+    @Resource
+    private UserAnswerMapper userAnswerMapper;
+
+    // 已分配但超过该时间未确认的记录由其他消费者重新认领（毫秒）
+    private static final long CLAIM_MIN_IDLE_MILLIS = 60 * 1000L;
+
+    /**
+     * 按配置的间隔刷盘，每批最多 batchSize 条，积压时连续刷盘直到取空
+     */
+    @Scheduled(fixedDelayString = "${user-answer.write-behind.flush-interval-millis:200}")
+    public void flush() {
+        if (!userAnswerWriteBehindManager.isEnabled()) {
+            return;
+        }
+        int batchSize = userAnswerWriteBehindConfig.getBatchSize();
+        try {
+            while (true) {
+                Map<StreamMessageId, UserAnswer> messageMap = userAnswerWriteBehindManager.poll(batchSize);
+                if (messageMap.isEmpty() || !write(messageMap)) {
+                    break;
+                }
+                if (messageMap.size() < batchSize) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            log.error("flush user answer error", e);
+        }
+    }
+
+    /**
+     * 每 30 秒重新写入长时间未确认的记录，并输出积压情况
+     */
+    @Scheduled(fixedDelay = 30 * 1000L, initialDelay = 30 * 1000L)
+    public void recover() {
+        if (!userAnswerWriteBehindManager.isEnabled()) {
+            return;
+        }
+        try {
+            Map<StreamMessageId, UserAnswer> messageMap = userAnswerWriteBehindManager.claimStale(
+                    CLAIM_MIN_IDLE_MILLIS, userAnswerWriteBehindConfig.getBatchSize());
+            if (!messageMap.isEmpty() && write(messageMap)) {
+                log.warn("user answer reclaimed, count = {}", messageMap.size());
+            }
+            long backlogSize = userAnswerWriteBehindManager.getBacklogSize();
+            long lagMillis = userAnswerWriteBehindManager.getPendingLagMillis();
+            if (lagMillis > userAnswerWriteBehindConfig.getLagWarnMillis()) {
+                log.warn("user answer write behind lagging, backlog = {}, lag = {} ms", backlogSize, lagMillis);
+            } else {
+                log.info("user answer write behind backlog = {}, lag = {} ms", backlogSize, lagMillis);
+            }
+        } catch (Exception e) {
+            log.error("recover user answer error", e);
+        }
+    }
+
+    /**
+     * 写入数据库并确认
+     *
+     * @param messageMap
+     * @return 是否写入成功，失败的记录保持未确认，稍后被重新认领
+     */
+    private boolean write(Map<StreamMessageId, UserAnswer> messageMap) {
+        try {
+            userAnswerMapper.insertIgnoreBatch(new ArrayList<>(messageMap.values()));
+        } catch (Exception e) {
+            log.error("write user answer error, count = {}", messageMap.size(), e);
+            return false;
+        }
+        userAnswerWriteBehindManager.ack(messageMap);
+        return true;
+    }
+}
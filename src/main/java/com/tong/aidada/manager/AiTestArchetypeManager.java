@@ -0,0 +1,147 @@
+package com.tong.aidada.manager;
+
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.json.JSONUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tong.aidada.model.dto.question.QuestionContentDTO;
+import com.tong.aidada.model.dto.useranswer.PackedChoices;
+import com.tong.aidada.model.entity.UserAnswer;
+import org.redisson.api.RMap;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.Resource;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AI 测评类应用答题原型（结果属性画像 => 预生成的 AI 评价）
+ */
+@Component
+public class AiTestArchetypeManager {
+
+    @Resource
+    private RedissonClient redissonClient;
+
+    // 原型存储的 key 前缀
+    private static final String AI_ARCHETYPE_KEY = "ai_archetype";
+
+    // 原型在 Redis 中的保留时间（天）
+    private static final long ARCHETYPE_EXPIRE_DAYS = 7L;
+
+    // 本地缓存中表示“没有该原型”的占位值
+    private static final String MISSING = "";
+
+    /**
+     * 原型本地缓存，命中时无需访问 Redis
+     */
+    private final Cache<String, String> archetypeCacheMap =
+            Caffeine.newBuilder().initialCapacity(1024)
+                    .maximumSize(100_000L)
+                    // 1分钟后重新读取，及时感知新预生成的原型
+                    .expireAfterWrite(1L, TimeUnit.MINUTES)
+                    .build();
+
+    /**
+     * 计算答题卡的结果属性画像，如 E:3,I:1,N:2,S:2
+     *
+     * @param questionContentDTOList 题目列表
+     * @param choices                用户答案列表
+     * @param packedChoices          用户答案紧凑编码，无法编码时为 null
+     * @return 画像 key，没有任何属性时返回 null
+     */
+    public String buildProfileKey(List<QuestionContentDTO> questionContentDTOList, List<String> choices,
+                                  PackedChoices packedChoices) {
+        if (questionContentDTOList == null || choices == null) {
+            return null;
+        }
+        // 按属性名排序，保证相同画像得到相同 key
+        Map<String, Integer> resultCount = new TreeMap<>();
+        int num = Math.min(questionContentDTOList.size(), choices.size());
+        for (int i = 0; i < num; i++) {
+            QuestionContentDTO questionContentDTO = questionContentDTOList.get(i);
+            QuestionContentDTO.Option option = packedChoices == null
+                    ? questionContentDTO.findOption(choices.get(i))
+                    : questionContentDTO.getOptionAt(packedChoices.indexAt(i));
+            if (option != null && StrUtil.isNotBlank(option.getResult())) {
+                resultCount.merge(option.getResult(), 1, Integer::sum);
+            }
+        }
+        if (resultCount.isEmpty()) {
+            return null;
+        }
+        StringBuilder profileKey = new StringBuilder();
+        resultCount.forEach((result, count) -> {
+            if (profileKey.length() > 0) {
+                profileKey.append(',');
+            }
+            profileKey.append(result).append(':').append(count);
+        });
+        return profileKey.toString();
+    }
+
+    /**
+     * 获取预生成的原型评价
+     *
+     * @param appId
+     * @param questionUpdateTime 题目更新时间，题目变更后旧原型自动失效
+     * @param profileKey
+     * @return 原型评价（仅包含 resultName、resultDesc），不存在则返回 null
+     */
+    public UserAnswer getArchetype(Long appId, Date questionUpdateTime, String profileKey) {
+        if (appId == null || StrUtil.isBlank(profileKey)) {
+            return null;
+        }
+        String mapKey = buildMapKey(appId, questionUpdateTime);
+        String archetypeJson = archetypeCacheMap.get(mapKey + ":" + profileKey, key -> {
+            String json = getArchetypeMap(mapKey).get(profileKey);
+            return json == null ? MISSING : json;
+        });
+        if (StrUtil.isBlank(archetypeJson)) {
+            return null;
+        }
+        return JSONUtil.toBean(archetypeJson, UserAnswer.class);
+    }
+
+    /**
+     * 原型是否已生成
+     *
+     * @param appId
+     * @param questionUpdateTime
+     * @param profileKey
+     * @return
+     */
+    public boolean containsArchetype(Long appId, Date questionUpdateTime, String profileKey) {
+        return getArchetypeMap(buildMapKey(appId, questionUpdateTime)).containsKey(profileKey);
+    }
+
+    /**
+     * 保存原型评价
+     *
+     * @param appId
+     * @param questionUpdateTime
+     * @param profileKey
+     * @param archetypeJson AI 返回的评价 JSON，如 {"resultName": "", "resultDesc": ""}
+     */
+    public void saveArchetype(Long appId, Date questionUpdateTime, String profileKey, String archetypeJson) {
+        String mapKey = buildMapKey(appId, questionUpdateTime);
+        RMap<String, String> archetypeMap = getArchetypeMap(mapKey);
+        archetypeMap.put(profileKey, archetypeJson);
+        archetypeMap.expire(ARCHETYPE_EXPIRE_DAYS, TimeUnit.DAYS);
+        archetypeCacheMap.put(mapKey + ":" + profileKey, archetypeJson);
+    }
+
+    private RMap<String, String> getArchetypeMap(String mapKey) {
+        return redissonClient.getMap(mapKey, StringCodec.INSTANCE);
+    }
+
+    private String buildMapKey(Long appId, Date questionUpdateTime) {
+        long version = questionUpdateTime == null ? 0L : questionUpdateTime.getTime();
+        return AI_ARCHETYPE_KEY + ":" + appId + ":" + version;
+    }
+}
@@ -0,0 +1,335 @@
+package com.tong.aidada.manager;
+
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.json.JSONUtil;
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.tong.aidada.constant.CommonConstant;
+import com.tong.aidada.event.AppChangedEvent;
+import com.tong.aidada.event.UserAnswerSubmittedEvent;
+import com.tong.aidada.mapper.AppMapper;
+import com.tong.aidada.model.dto.app.AppQueryRequest;
+import com.tong.aidada.model.entity.App;
+import com.tong.aidada.model.enums.ReviewStatusEnum;
+import com.tong.aidada.model.vo.AppVO;
+import com.tong.aidada.model.vo.UserVO;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.ObjectUtils;
+import org.redisson.api.RBatch;
+import org.redisson.api.RBucket;
+import org.redisson.api.RLock;
+import org.redisson.api.RMap;
+import org.redisson.api.RObject;
+import org.redisson.api.RScoredSortedSet;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.Resource;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 已过审应用列表（首页）物化视图
+ * <p>
+ * Redis 中按创建时间、热度（答题数）各维护一个有序集合，应用封装类 JSON 存在哈希中，
+ * 列表页按排名区间读取，不查询数据库；创建人信息读取时由 {@link UserVOLoader} 补充
+ */
+@Component
+@Slf4j
+public class AppFeedManager {
+
+    @Resource
+    private RedissonClient redissonClient;
+
+    @Resource
+    private AppMapper appMapper;
+
+    @Resource
+    private AppStatisticManager appStatisticManager;
+
+    @Resource
+    private UserVOLoader userVOLoader;
+
+    /**
+     * 按热度排序时使用的排序字段
+     */
+    public static final String SORT_FIELD_ANSWER_COUNT = "answerCount";
+
+    // 按创建时间排序的有序集合
+    private static final String FEED_TIME_KEY = "app_feed:time";
+
+    // 按热度排序的有序集合
+    private static final String FEED_HOT_KEY = "app_feed:hot";
+
+    // 应用 id => 应用封装类 JSON（不含创建人信息）
+    private static final String FEED_VO_KEY = "app_feed:vo";
+
+    // 物化视图已构建的标记，未构建时列表页回退到数据库查询
+    private static final String FEED_READY_KEY = "app_feed:ready";
+
+    // 重建时使用的临时 key 前缀，构建完成后整体替换
+    private static final String FEED_TMP_PREFIX = "app_feed:tmp:";
+
+    // 重建的分布式锁，保证多实例下同一时间只有一个实例在重建
+    private static final String FEED_REBUILD_LOCK = "app_feed_rebuild_lock";
+
+    // 重建时每批加载的应用数
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    /**
+     * 启动时如果尚未构建则构建
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        if (!getReadyBucket().isExists()) {
+            rebuild();
+        }
+    }
+
+    /**
+     * 每小时全量重建一次，修正增量更新可能遗漏的变更
+     */
+    @Scheduled(fixedDelay = 60 * 60 * 1000L, initialDelay = 60 * 60 * 1000L)
+    public void rebuild() {
+        RLock lock = redissonClient.getLock(FEED_REBUILD_LOCK);
+        if (!lock.tryLock()) {
+            return;
+        }
+        try {
+            Map<Long, Long> answerCountMap = appStatisticManager.getAnswerCountMap();
+            RScoredSortedSet<String> timeSet = getSortedSet(FEED_TMP_PREFIX + FEED_TIME_KEY);
+            RScoredSortedSet<String> hotSet = getSortedSet(FEED_TMP_PREFIX + FEED_HOT_KEY);
+            RMap<String, String> voMap = getVOMap(FEED_TMP_PREFIX + FEED_VO_KEY);
+            redissonClient.getKeys().delete(timeSet.getName(), hotSet.getName(), voMap.getName());
+            long lastId = 0L;
+            int count = 0;
+            while (true) {
+                QueryWrapper<App> queryWrapper = new QueryWrapper<>();
+                queryWrapper.eq("reviewStatus", ReviewStatusEnum.PASS.getValue())
+                        .gt("id", lastId)
+                        .orderByAsc("id")
+                        .last("limit " + LOAD_BATCH_SIZE);
+                List<App> appList = appMapper.selectList(queryWrapper);
+                if (appList.isEmpty()) {
+                    break;
+                }
+                RBatch batch = redissonClient.createBatch();
+                for (App app : appList) {
+                    String member = String.valueOf(app.getId());
+                    batch.getScoredSortedSet(timeSet.getName(), StringCodec.INSTANCE)
+                            .addAsync(app.getCreateTime().getTime(), member);
+                    batch.getScoredSortedSet(hotSet.getName(), StringCodec.INSTANCE)
+                            .addAsync(answerCountMap.getOrDefault(app.getId(), 0L), member);
+                    batch.getMap(voMap.getName(), StringCodec.INSTANCE)
+                            .fastPutAsync(member, toJson(app));
+                }
+                batch.execute();
+                count += appList.size();
+                lastId = appList.get(appList.size() - 1).getId();
+            }
+            // 整体替换（期间的增量更新写入旧 key 后被覆盖，由下次重建修正）
+            renameOrDelete(timeSet, FEED_TIME_KEY);
+            renameOrDelete(hotSet, FEED_HOT_KEY);
+            renameOrDelete(voMap, FEED_VO_KEY);
+            getReadyBucket().set("1");
+            log.info("app feed rebuilt, count = {}", count);
+        } catch (Exception e) {
+            log.error("rebuild app feed error", e);
+        } finally {
+            if (lock.isHeldByCurrentThread()) {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 应用变更时增量更新
+     * <p>
+     * 物化视图在 Redis 中各实例共享，只处理本实例发生的变更
+     *
+     * @param event
+     */
+    @EventListener
+    public void onAppChanged(AppChangedEvent event) {
+        Long appId = event.getAppId();
+        if (event.isRemote() || appId == null || !getReadyBucket().isExists()) {
+            return;
+        }
+        try {
+            String member = String.valueOf(appId);
+            App app = appMapper.selectById(appId);
+            if (app == null || !ReviewStatusEnum.PASS.equals(ReviewStatusEnum.getEnumByValue(app.getReviewStatus()))) {
+                RBatch batch = redissonClient.createBatch();
+                batch.getScoredSortedSet(FEED_TIME_KEY, StringCodec.INSTANCE).removeAsync(member);
+                batch.getScoredSortedSet(FEED_HOT_KEY, StringCodec.INSTANCE).removeAsync(member);
+                batch.getMap(FEED_VO_KEY, StringCodec.INSTANCE).fastRemoveAsync(member);
+                batch.execute();
+                return;
+            }
+            RBatch batch = redissonClient.createBatch();
+            batch.getMap(FEED_VO_KEY, StringCodec.INSTANCE).fastPutAsync(member, toJson(app));
+            batch.getScoredSortedSet(FEED_TIME_KEY, StringCodec.INSTANCE)
+                    .addAsync(app.getCreateTime().getTime(), member);
+            // 已有热度时保留
+            batch.getScoredSortedSet(FEED_HOT_KEY, StringCodec.INSTANCE).tryAddAsync(0, member);
+            batch.execute();
+        } catch (Exception e) {
+            // 更新失败时依赖定时重建
+            log.error("update app feed error, appId = {}", appId, e);
+        }
+    }
+
+    /**
+     * 答题后增加应用热度
+     *
+     * @param event
+     */
+    @EventListener
+    public void onUserAnswerSubmitted(UserAnswerSubmittedEvent event) {
+        Long appId = event.getUserAnswer().getAppId();
+        if (appId == null) {
+            return;
+        }
+        try {
+            String member = String.valueOf(appId);
+            RScoredSortedSet<String> hotSet = getSortedSet(FEED_HOT_KEY);
+            // 只累加已在列表中的应用，避免把已下架的应用加回来
+            if (hotSet.contains(member)) {
+                hotSet.addScore(member, 1);
+            }
+        } catch (Exception e) {
+            log.error("increase app feed popularity error, appId = {}", appId, e);
+        }
+    }
+
+    /**
+     * 是否可以直接从物化视图读取（没有其他筛选条件，且按创建时间或热度排序）
+     *
+     * @param appQueryRequest
+     * @return
+     */
+    public boolean supports(AppQueryRequest appQueryRequest) {
+        if (appQueryRequest == null || appQueryRequest.getCurrent() <= 0 || appQueryRequest.getPageSize() <= 0) {
+            return false;
+        }
+        String sortField = appQueryRequest.getSortField();
+        if (!"createTime".equals(sortField) && !SORT_FIELD_ANSWER_COUNT.equals(sortField)) {
+            return false;
+        }
+        return ReviewStatusEnum.PASS.equals(ReviewStatusEnum.getEnumByValue(appQueryRequest.getReviewStatus()))
+                && ObjectUtils.allNull(appQueryRequest.getId(), appQueryRequest.getAppType(),
+                appQueryRequest.getScoringStrategy(), appQueryRequest.getReviewerId(),
+                appQueryRequest.getUserId(), appQueryRequest.getNotId())
+                && StrUtil.isAllBlank(appQueryRequest.getAppName(), appQueryRequest.getAppDesc(),
+                appQueryRequest.getAppIcon(), appQueryRequest.getReviewMessage(), appQueryRequest.getSearchText());
+    }
+
+    /**
+     * 分页读取已过审的应用
+     *
+     * @param appQueryRequest
+     * @return 物化视图尚未构建时返回 null
+     */
+    public Page<AppVO> listFeed(AppQueryRequest appQueryRequest) {
+        if (!getReadyBucket().isExists()) {
+            return null;
+        }
+        long current = appQueryRequest.getCurrent();
+        long size = appQueryRequest.getPageSize();
+        RScoredSortedSet<String> sortedSet = SORT_FIELD_ANSWER_COUNT.equals(appQueryRequest.getSortField())
+                ? getSortedSet(FEED_HOT_KEY) : getSortedSet(FEED_TIME_KEY);
+        int startIndex = (int) ((current - 1) * size);
+        int endIndex = (int) (startIndex + size - 1);
+        Collection<String> memberList = CommonConstant.SORT_ORDER_ASC.equals(appQueryRequest.getSortOrder())
+                ? sortedSet.valueRange(startIndex, endIndex)
+                : sortedSet.valueRangeReversed(startIndex, endIndex);
+        Page<AppVO> appVOPage = new Page<>(current, size, sortedSet.size());
+        if (memberList.isEmpty()) {
+            return appVOPage;
+        }
+        appVOPage.setRecords(listAppVO(memberList));
+        return appVOPage;
+    }
+
+    /**
+     * 按 id 顺序读取已过审的应用（未过审或不存在的应用会被跳过）
+     *
+     * @param appIdList
+     * @return
+     */
+    public List<AppVO> listAppVOByIds(List<Long> appIdList) {
+        if (appIdList.isEmpty()) {
+            return new ArrayList<>();
+        }
+        if (getReadyBucket().isExists()) {
+            return listAppVO(appIdList.stream().map(String::valueOf).collect(Collectors.toList()));
+        }
+        // 物化视图尚未构建时查询数据库
+        Map<Long, App> appMap = appMapper.selectBatchIds(appIdList).stream()
+                .filter(app -> ReviewStatusEnum.PASS.equals(ReviewStatusEnum.getEnumByValue(app.getReviewStatus())))
+                .collect(Collectors.toMap(App::getId, app -> app));
+        List<AppVO> appVOList = appIdList.stream().map(appMap::get).filter(Objects::nonNull)
+                .map(AppVO::objToVo).collect(Collectors.toList());
+        fillUser(appVOList);
+        return appVOList;
+    }
+
+    /**
+     * 从哈希中读取应用封装类，并补充创建人信息
+     *
+     * @param memberList
+     * @return
+     */
+    private List<AppVO> listAppVO(Collection<String> memberList) {
+        Map<String, String> jsonMap = getVOMap(FEED_VO_KEY).getAll(new HashSet<>(memberList));
+        List<AppVO> appVOList = new ArrayList<>(memberList.size());
+        for (String member : memberList) {
+            String json = jsonMap.get(member);
+            if (json != null) {
+                appVOList.add(JSONUtil.toBean(json, AppVO.class));
+            }
+        }
+        fillUser(appVOList);
+        return appVOList;
+    }
+
+    private void fillUser(List<AppVO> appVOList) {
+        Set<Long> userIdSet = appVOList.stream().map(AppVO::getUserId).collect(Collectors.toSet());
+        Map<Long, UserVO> userIdUserVOMap = userVOLoader.loadMany(userIdSet);
+        appVOList.forEach(appVO -> appVO.setUser(userIdUserVOMap.get(appVO.getUserId())));
+    }
+
+    private String toJson(App app) {
+        return JSONUtil.toJsonStr(AppVO.objToVo(app));
+    }
+
+    private void renameOrDelete(RObject tmpObject, String key) {
+        if (tmpObject.isExists()) {
+            tmpObject.rename(key);
+        } else {
+            redissonClient.getKeys().delete(key);
+        }
+    }
+
+    private RScoredSortedSet<String> getSortedSet(String key) {
+        return redissonClient.getScoredSortedSet(key, StringCodec.INSTANCE);
+    }
+
+    private RMap<String, String> getVOMap(String key) {
+        return redissonClient.getMap(key, StringCodec.INSTANCE);
+    }
+
+    private RBucket<String> getReadyBucket() {
+        return redissonClient.getBucket(FEED_READY_KEY, StringCodec.INSTANCE);
+    }
+}
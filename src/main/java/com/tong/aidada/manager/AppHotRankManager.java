@@ -0,0 +1,167 @@
+package com.tong.aidada.manager;
+
+import com.tong.aidada.event.UserAnswerSubmittedEvent;
+import com.tong.aidada.model.vo.AppVO;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RBatch;
+import org.redisson.api.RScoredSortedSet;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.Resource;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 热门应用排行（滑动时间窗口内的答题数）
+ * <p>
+ * 答题时按分钟、小时两种粒度分桶计数（Redis 有序集合，各实例共享），
+ * 每隔几秒合并最近 60 个分钟桶 / 24 个小时桶得到近 1 小时 / 1 天的排行，结果缓存在本地
+ */
+@Component
+@Slf4j
+public class AppHotRankManager {
+
+    @Resource
+    private RedissonClient redissonClient;
+
+    @Resource
+    private AppFeedManager appFeedManager;
+
+    /**
+     * 近 1 小时
+     */
+    public static final String WINDOW_HOUR = "hour";
+
+    /**
+     * 近 1 天
+     */
+    public static final String WINDOW_DAY = "day";
+
+    // 每个窗口缓存的热门应用数
+    public static final int MAX_HOT_SIZE = 50;
+
+    // 分钟桶 key 前缀
+    private static final String APP_HOT_MINUTE_KEY = "app_hot:minute";
+
+    // 小时桶 key 前缀
+    private static final String APP_HOT_HOUR_KEY = "app_hot:hour";
+
+    // 合并结果 key 前缀
+    private static final String APP_HOT_WINDOW_KEY = "app_hot:window";
+
+    // 分钟桶保留时间（分钟），多于窗口长度，保证合并时不缺桶
+    private static final long MINUTE_BUCKET_EXPIRE_MINUTES = 2 * 60L;
+
+    // 小时桶保留时间（小时）
+    private static final long HOUR_BUCKET_EXPIRE_HOURS = 26L;
+
+    /**
+     * 窗口 => 热门应用（按答题数降序）
+     */
+    private volatile Map<String, List<AppVO>> hotAppMap = Collections.emptyMap();
+
+    /**
+     * 答题后计入当前分钟桶和小时桶
+     *
+     * @param event
+     */
+    @EventListener
+    public void onUserAnswerSubmitted(UserAnswerSubmittedEvent event) {
+        Long appId = event.getUserAnswer().getAppId();
+        if (appId == null) {
+            return;
+        }
+        try {
+            long now = System.currentTimeMillis();
+            String member = String.valueOf(appId);
+            String minuteKey = APP_HOT_MINUTE_KEY + ":" + TimeUnit.MILLISECONDS.toMinutes(now);
+            String hourKey = APP_HOT_HOUR_KEY + ":" + TimeUnit.MILLISECONDS.toHours(now);
+            RBatch batch = redissonClient.createBatch();
+            batch.getScoredSortedSet(minuteKey, StringCodec.INSTANCE).addScoreAsync(member, 1);
+            batch.getScoredSortedSet(minuteKey, StringCodec.INSTANCE)
+                    .expireAsync(MINUTE_BUCKET_EXPIRE_MINUTES, TimeUnit.MINUTES);
+            batch.getScoredSortedSet(hourKey, StringCodec.INSTANCE).addScoreAsync(member, 1);
+            batch.getScoredSortedSet(hourKey, StringCodec.INSTANCE)
+                    .expireAsync(HOUR_BUCKET_EXPIRE_HOURS, TimeUnit.HOURS);
+            batch.execute();
+        } catch (Exception e) {
+            log.error("increase app hot count error, appId = {}", appId, e);
+        }
+    }
+
+    /**
+     * 每 5 秒刷新一次本地排行
+     */
+    @Scheduled(fixedDelay = 5 * 1000L, initialDelay = 5 * 1000L)
+    public void refresh() {
+        try {
+            long now = System.currentTimeMillis();
+            Map<String, List<AppVO>> newHotAppMap = new HashMap<>();
+            newHotAppMap.put(WINDOW_HOUR,
+                    loadWindow(WINDOW_HOUR, APP_HOT_MINUTE_KEY, TimeUnit.MILLISECONDS.toMinutes(now), 60));
+            newHotAppMap.put(WINDOW_DAY,
+                    loadWindow(WINDOW_DAY, APP_HOT_HOUR_KEY, TimeUnit.MILLISECONDS.toHours(now), 24));
+            hotAppMap = newHotAppMap;
+        } catch (Exception e) {
+            // 刷新失败时继续使用上一次的排行
+            log.error("refresh app hot rank error", e);
+        }
+    }
+
+    /**
+     * 获取热门应用
+     *
+     * @param window {@link #WINDOW_HOUR} 或 {@link #WINDOW_DAY}
+     * @param size
+     * @return
+     */
+    public List<AppVO> listHotApp(String window, int size) {
+        List<AppVO> appVOList = hotAppMap.getOrDefault(window, Collections.emptyList());
+        return new ArrayList<>(appVOList.subList(0, Math.min(size, appVOList.size())));
+    }
+
+    /**
+     * 是否为支持的窗口
+     *
+     * @param window
+     * @return
+     */
+    public boolean isValidWindow(String window) {
+        return WINDOW_HOUR.equals(window) || WINDOW_DAY.equals(window);
+    }
+
+    /**
+     * 合并最近若干个桶，取答题数最多的应用
+     *
+     * @param window
+     * @param bucketKeyPrefix
+     * @param currentBucket   当前桶序号
+     * @param bucketCount     合并的桶数（包含当前桶）
+     * @return
+     */
+    private List<AppVO> loadWindow(String window, String bucketKeyPrefix, long currentBucket, int bucketCount) {
+        String[] bucketKeys = new String[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            bucketKeys[i] = bucketKeyPrefix + ":" + (currentBucket - i);
+        }
+        RScoredSortedSet<String> windowSet = redissonClient.getScoredSortedSet(
+                APP_HOT_WINDOW_KEY + ":" + window, StringCodec.INSTANCE);
+        // 各实例合并结果相同，相互覆盖不影响
+        windowSet.union(bucketKeys);
+        windowSet.expire(1L, TimeUnit.MINUTES);
+        Collection<String> memberList = windowSet.valueRangeReversed(0, MAX_HOT_SIZE - 1);
+        List<Long> appIdList = memberList.stream().map(Long::valueOf).collect(Collectors.toList());
+        // 只返回已过审的应用
+        return appFeedManager.listAppVOByIds(appIdList);
+    }
+}
@@ -0,0 +1,176 @@
+package com.tong.aidada.manager;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.tong.aidada.event.UserAnswerSubmittedEvent;
+import com.tong.aidada.mapper.UserAnswerMapper;
+import com.tong.aidada.model.entity.UserAnswer;
+import com.tong.aidada.model.vo.ScoreRankVO;
+import com.tong.aidada.model.vo.UserVO;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RBatch;
+import org.redisson.api.RBucket;
+import org.redisson.api.RLock;
+import org.redisson.api.RScoredSortedSet;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.client.protocol.ScoredEntry;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.Resource;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 得分类应用的分数排名
+ * <p>
+ * 每个应用一个有序集合，成员为用户 id，分数为该用户的最高得分，
+ * 击败百分比和排行榜都只需 O(log n) 的有序集合操作，不执行 SQL 排名查询
+ */
+@Component
+@Slf4j
+public class AppScoreRankManager {
+
+    @Resource
+    private RedissonClient redissonClient;
+
+    @Resource
+    private UserAnswerMapper userAnswerMapper;
+
+    @Resource
+    private UserVOLoader userVOLoader;
+
+    // 排行榜最多返回的条数
+    public static final int MAX_LEADERBOARD_SIZE = 100;
+
+    // 每个应用的分数有序集合 key 前缀
+    private static final String APP_SCORE_RANK_KEY = "app_score_rank";
+
+    // 已根据历史答题记录初始化的标记
+    private static final String APP_SCORE_RANK_SEEDED_KEY = "app_score_rank:seeded";
+
+    // 初始化的分布式锁
+    private static final String APP_SCORE_RANK_SEED_LOCK = "app_score_rank_seed_lock";
+
+    /**
+     * 首次上线时根据历史答题记录初始化（只执行一次）
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        RBucket<String> seededBucket = redissonClient.getBucket(APP_SCORE_RANK_SEEDED_KEY, StringCodec.INSTANCE);
+        if (seededBucket.isExists()) {
+            return;
+        }
+        RLock lock = redissonClient.getLock(APP_SCORE_RANK_SEED_LOCK);
+        if (!lock.tryLock()) {
+            return;
+        }
+        try {
+            if (seededBucket.isExists()) {
+                return;
+            }
+            QueryWrapper<UserAnswer> queryWrapper = new QueryWrapper<>();
+            queryWrapper.select("appId", "userId", "max(resultScore) as resultScore")
+                    .isNotNull("resultScore")
+                    .groupBy("appId", "userId");
+            List<Map<String, Object>> rowList = userAnswerMapper.selectMaps(queryWrapper);
+            RBatch batch = redissonClient.createBatch();
+            for (Map<String, Object> row : rowList) {
+                Long appId = ((Number) row.get("appId")).longValue();
+                Long userId = ((Number) row.get("userId")).longValue();
+                int resultScore = ((Number) row.get("resultScore")).intValue();
+                batch.getScoredSortedSet(buildKey(appId), StringCodec.INSTANCE)
+                        .addIfGreaterAsync(resultScore, String.valueOf(userId));
+            }
+            batch.execute();
+            seededBucket.set("1");
+            log.info("app score rank seeded, rows = {}", rowList.size());
+        } catch (Exception e) {
+            log.error("seed app score rank error", e);
+        } finally {
+            if (lock.isHeldByCurrentThread()) {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 答题后记录得分（只保留用户的最高分）
+     *
+     * @param event
+     */
+    @EventListener
+    public void onUserAnswerSubmitted(UserAnswerSubmittedEvent event) {
+        UserAnswer userAnswer = event.getUserAnswer();
+        if (userAnswer.getAppId() == null || userAnswer.getUserId() == null || userAnswer.getResultScore() == null) {
+            return;
+        }
+        try {
+            getRankSet(userAnswer.getAppId())
+                    .addIfGreater(userAnswer.getResultScore(), String.valueOf(userAnswer.getUserId()));
+        } catch (Exception e) {
+            log.error("record app score error, appId = {}", userAnswer.getAppId(), e);
+        }
+    }
+
+    /**
+     * 计算得分击败了百分之多少的参与者
+     *
+     * @param appId
+     * @param resultScore
+     * @return 0-100，没有参与者时返回 null
+     */
+    public Integer getBeatPercent(Long appId, Integer resultScore) {
+        if (appId == null || resultScore == null) {
+            return null;
+        }
+        RScoredSortedSet<String> rankSet = getRankSet(appId);
+        int total = rankSet.size();
+        if (total == 0) {
+            return null;
+        }
+        // 严格低于该得分的人数
+        int lowerCount = rankSet.count(Double.NEGATIVE_INFINITY, true, resultScore, false);
+        return (int) (lowerCount * 100L / total);
+    }
+
+    /**
+     * 获取排行榜
+     *
+     * @param appId
+     * @param size
+     * @return 按最高分降序
+     */
+    public List<ScoreRankVO> getLeaderboard(Long appId, int size) {
+        int limit = Math.min(size, MAX_LEADERBOARD_SIZE);
+        Collection<ScoredEntry<String>> entryList = getRankSet(appId).entryRangeReversed(0, limit - 1);
+        List<ScoreRankVO> scoreRankVOList = new ArrayList<>(entryList.size());
+        Set<Long> userIdSet = new HashSet<>();
+        int rank = 0;
+        for (ScoredEntry<String> entry : entryList) {
+            ScoreRankVO scoreRankVO = new ScoreRankVO();
+            scoreRankVO.setRank(++rank);
+            scoreRankVO.setResultScore(entry.getScore().intValue());
+            scoreRankVO.setUserId(Long.valueOf(entry.getValue()));
+            scoreRankVOList.add(scoreRankVO);
+            userIdSet.add(scoreRankVO.getUserId());
+        }
+        // 补充用户信息
+        Map<Long, UserVO> userIdUserVOMap = userVOLoader.loadMany(userIdSet);
+        scoreRankVOList.forEach(scoreRankVO -> scoreRankVO.setUser(userIdUserVOMap.get(scoreRankVO.getUserId())));
+        return scoreRankVOList;
+    }
+
+    private String buildKey(Long appId) {
+        return APP_SCORE_RANK_KEY + ":" + appId;
+    }
+
+    private RScoredSortedSet<String> getRankSet(Long appId) {
+        return redissonClient.getScoredSortedSet(buildKey(appId), StringCodec.INSTANCE);
+    }
+}
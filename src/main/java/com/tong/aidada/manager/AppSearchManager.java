@@ -0,0 +1,330 @@
+package com.tong.aidada.manager;
+
+import cn.hutool.core.util.StrUtil;
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.tong.aidada.event.AppChangedEvent;
+import com.tong.aidada.mapper.AppMapper;
+import com.tong.aidada.model.entity.App;
+import com.tong.aidada.model.enums.ReviewStatusEnum;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.Resource;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * 应用搜索（进程内倒排索引，只收录已过审的应用）
+ * <p>
+ * 分词：连续汉字切分为二元组（索引时同时保留单字，便于单字查询），字母数字按整词；
+ * 检索：所有查询词都命中才返回，按 tf-idf 相关度排序，应用名称的权重高于描述
+ */
+@Component
+@Slf4j
+public class AppSearchManager {
+
+    @Resource
+    private AppMapper appMapper;
+
+    // 应用名称的权重
+    private static final float NAME_BOOST = 3f;
+
+    // 应用描述的权重
+    private static final float DESC_BOOST = 1f;
+
+    // 构建索引时每批加载的应用数
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    /**
+     * 倒排表：词项 => (应用 id => 加权词频)
+     */
+    private final Map<String, Map<Long, Float>> postingMap = new HashMap<>();
+
+    /**
+     * 正排表：应用 id => (词项 => 加权词频)，用于更新和删除
+     */
+    private final Map<Long, Map<String, Float>> documentMap = new HashMap<>();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * 构建期间变更的应用 id（未在构建时为 null），由写锁保护
+     * <p>
+     * 构建时批量读取的数据可能早于变更，写入索引后会覆盖变更的结果，构建完成后需要重新应用
+     */
+    private Set<Long> changedAppIdSet;
+
+    /**
+     * 启动时加载所有已过审的应用
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void buildIndex() {
+        lock.writeLock().lock();
+        try {
+            changedAppIdSet = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Set<Long> changedAppIds;
+        long lastId = 0L;
+        int total = 0;
+        try {
+            while (true) {
+                QueryWrapper<App> queryWrapper = new QueryWrapper<>();
+                queryWrapper.select("id", "appName", "appDesc")
+                        .eq("reviewStatus", ReviewStatusEnum.PASS.getValue())
+                        .gt("id", lastId)
+                        .orderByAsc("id")
+                        .last("limit " + LOAD_BATCH_SIZE);
+                List<App> appList = appMapper.selectList(queryWrapper);
+                if (appList.isEmpty()) {
+                    break;
+                }
+                appList.forEach(this::index);
+                total += appList.size();
+                lastId = appList.get(appList.size() - 1).getId();
+            }
+        } finally {
+            lock.writeLock().lock();
+            try {
+                changedAppIds = changedAppIdSet;
+                changedAppIdSet = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        // 重新应用构建期间的变更，之后的变更直接作用于索引
+        for (Long appId : changedAppIds) {
+            apply(appId);
+        }
+        log.info("app search index built, count = {}, changed during build = {}", total, changedAppIds.size());
+    }
+
+    /**
+     * 应用变更时增量更新索引
+     *
+     * @param event
+     */
+    @EventListener
+    public void onAppChanged(AppChangedEvent event) {
+        Long appId = event.getAppId();
+        if (appId == null) {
+            return;
+        }
+        apply(appId);
+    }
+
+    /**
+     * 按数据库中的最新状态更新索引中的应用
+     *
+     * @param appId
+     */
+    private void apply(Long appId) {
+        App app = appMapper.selectById(appId);
+        lock.writeLock().lock();
+        try {
+            if (changedAppIdSet != null) {
+                changedAppIdSet.add(appId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (app == null || !ReviewStatusEnum.PASS.equals(ReviewStatusEnum.getEnumByValue(app.getReviewStatus()))) {
+            remove(appId);
+        } else {
+            index(app);
+        }
+    }
+
+    /**
+     * 收录（或更新）应用
+     *
+     * @param app
+     */
+    public void index(App app) {
+        Map<String, Float> termWeightMap = new HashMap<>();
+        for (String term : tokenize(app.getAppName(), false)) {
+            termWeightMap.merge(term, NAME_BOOST, Float::sum);
+        }
+        for (String term : tokenize(app.getAppDesc(), false)) {
+            termWeightMap.merge(term, DESC_BOOST, Float::sum);
+        }
+        lock.writeLock().lock();
+        try {
+            removeInternal(app.getId());
+            documentMap.put(app.getId(), termWeightMap);
+            termWeightMap.forEach((term, weight) ->
+                    postingMap.computeIfAbsent(term, key -> new HashMap<>()).put(app.getId(), weight));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 移除应用
+     *
+     * @param appId
+     */
+    public void remove(Long appId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(appId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 搜索
+     *
+     * @param searchText 搜索词
+     * @param limit      最多返回条数
+     * @return 按相关度从高到低排列的应用 id
+     */
+    public List<Long> search(String searchText, int limit) {
+        Set<String> queryTermSet = new LinkedHashSet<>(tokenize(searchText, true));
+        if (queryTermSet.isEmpty()) {
+            return Collections.emptyList();
+        }
+        lock.readLock().lock();
+        try {
+            List<Map<Long, Float>> postingsList = new ArrayList<>();
+            List<Float> idfList = new ArrayList<>();
+            int documentCount = documentMap.size();
+            for (String term : queryTermSet) {
+                Map<Long, Float> postings = postingMap.get(term);
+                // 有查询词未命中任何应用
+                if (postings == null) {
+                    return Collections.emptyList();
+                }
+                postingsList.add(postings);
+                idfList.add((float) Math.log(1 + (double) documentCount / postings.size()));
+            }
+            // 从文档数最少的词项开始求交集
+            Map<Long, Float> shortestPostings = postingsList.stream()
+                    .min(Comparator.comparingInt(Map::size))
+                    .orElse(Collections.emptyMap());
+            Map<Long, Float> scoreMap = new HashMap<>();
+            for (Long appId : shortestPostings.keySet()) {
+                float score = 0f;
+                boolean matchAll = true;
+                for (int i = 0; i < postingsList.size(); i++) {
+                    Float weight = postingsList.get(i).get(appId);
+                    if (weight == null) {
+                        matchAll = false;
+                        break;
+                    }
+                    score += weight * idfList.get(i);
+                }
+                if (matchAll) {
+                    scoreMap.put(appId, score);
+                }
+            }
+            // 相关度相同时新应用优先
+            return scoreMap.entrySet().stream()
+                    .sorted(Map.Entry.<Long, Float>comparingByValue().reversed()
+                            .thenComparing(Map.Entry.<Long, Float>comparingByKey().reversed()))
+                    .limit(limit)
+                    .map(Map.Entry::getKey)
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 已收录的应用数
+     *
+     * @return
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documentMap.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeInternal(Long appId) {
+        Map<String, Float> termWeightMap = documentMap.remove(appId);
+        if (termWeightMap == null) {
+            return;
+        }
+        for (String term : termWeightMap.keySet()) {
+            Map<Long, Float> postings = postingMap.get(term);
+            if (postings != null) {
+                postings.remove(appId);
+                if (postings.isEmpty()) {
+                    postingMap.remove(term);
+                }
+            }
+        }
+    }
+
+    /**
+     * 分词
+     *
+     * @param text
+     * @param query 是否为查询（查询时多字汉字只使用二元组，减少候选）
+     * @return
+     */
+    static List<String> tokenize(String text, boolean query) {
+        List<String> tokenList = new ArrayList<>();
+        if (StrUtil.isBlank(text)) {
+            return tokenList;
+        }
+        String lowerText = text.toLowerCase(Locale.ROOT);
+        int length = lowerText.length();
+        int i = 0;
+        while (i < length) {
+            char c = lowerText.charAt(i);
+            int start = i;
+            if (isHan(c)) {
+                while (i < length && isHan(lowerText.charAt(i))) {
+                    i++;
+                }
+                addHanTokens(tokenList, lowerText.substring(start, i), query);
+            } else if (Character.isLetterOrDigit(c)) {
+                while (i < length && Character.isLetterOrDigit(lowerText.charAt(i)) && !isHan(lowerText.charAt(i))) {
+                    i++;
+                }
+                tokenList.add(lowerText.substring(start, i));
+            } else {
+                i++;
+            }
+        }
+        return tokenList;
+    }
+
+    private static void addHanTokens(List<String> tokenList, String run, boolean query) {
+        if (run.length() == 1) {
+            tokenList.add(run);
+            return;
+        }
+        for (int i = 0; i + 1 < run.length(); i++) {
+            tokenList.add(run.substring(i, i + 2));
+        }
+        if (!query) {
+            for (int i = 0; i < run.length(); i++) {
+                tokenList.add(run.substring(i, i + 1));
+            }
+        }
+    }
+
+    private static boolean isHan(char c) {
+        return Character.UnicodeScript.of(c) == Character.UnicodeScript.HAN;
+    }
+}
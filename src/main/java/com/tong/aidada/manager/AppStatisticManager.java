@@ -0,0 +1,308 @@
+package com.tong.aidada.manager;
+
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.json.JSONUtil;
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.tong.aidada.event.UserAnswerSubmittedEvent;
+import com.tong.aidada.mapper.AppStatisticMapper;
+import com.tong.aidada.mapper.UserAnswerMapper;
+import com.tong.aidada.model.entity.AppStatistic;
+import com.tong.aidada.model.entity.UserAnswer;
+import com.tong.aidada.model.vo.AppStatisticVO;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RBatch;
+import org.redisson.api.RBucket;
+import org.redisson.api.RLock;
+import org.redisson.api.RMap;
+import org.redisson.api.RScript;
+import org.redisson.api.RSet;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.Resource;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 应用答题统计计数器
+ * <p>
+ * 每次答题后在 Redis 中累加答题数和结果分布，并记录待刷盘的应用，由定时任务写入 app_statistic 表
+ */
+@Component
+@Slf4j
+public class AppStatisticManager {
+
+    @Resource
+    private RedissonClient redissonClient;
+
+    @Resource
+    private UserAnswerMapper userAnswerMapper;
+
+    @Resource
+    private AppStatisticMapper appStatisticMapper;
+
+    // 每个应用的计数器哈希 key 前缀
+    private static final String APP_STATISTIC_KEY = "app_statistic";
+
+    // 计数发生变化、等待刷盘的应用 id 集合
+    private static final String APP_STATISTIC_DIRTY_KEY = "app_statistic:dirty";
+
+    // 已根据历史答题记录初始化的标记
+    private static final String APP_STATISTIC_SEEDED_KEY = "app_statistic:seeded";
+
+    // 初始化的分布式锁
+    private static final String APP_STATISTIC_SEED_LOCK = "app_statistic_seed_lock";
+
+    // 答题数字段
+    private static final String FIELD_ANSWER_COUNT = "answerCount";
+
+    // 结果分布字段前缀，格式：r:结果 id:结果名称（AI 评分没有结果 id）
+    private static final String FIELD_RESULT_PREFIX = "r:";
+
+    // 计数器存在时累加并标记待刷盘，不存在时返回 0（需先从数据库恢复，避免从 1 开始计数后覆盖历史统计）
+    private static final String INCREASE_SCRIPT =
+            "if redis.call('exists', KEYS[1]) == 0 then return 0 end " +
+            "redis.call('hincrby', KEYS[1], ARGV[2], 1) " +
+            "if ARGV[3] ~= '' then redis.call('hincrby', KEYS[1], ARGV[3], 1) end " +
+            "redis.call('sadd', KEYS[2], ARGV[1]) " +
+            "return 1";
+
+    // 计数器不存在时整体写入恢复的计数（原子操作，不会与并发的累加交错）
+    private static final String HYDRATE_SCRIPT =
+            "if redis.call('exists', KEYS[1]) == 1 then return 0 end " +
+            "for i = 1, #ARGV, 2 do redis.call('hset', KEYS[1], ARGV[i], ARGV[i + 1]) end " +
+            "return 1";
+
+    /**
+     * 首次上线时根据历史答题记录初始化计数器（只执行一次）
+     * <p>
+     * 初始化期间新增的答题可能被漏计，仅影响上线瞬间的少量数据
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        RBucket<String> seededBucket = redissonClient.getBucket(APP_STATISTIC_SEEDED_KEY, StringCodec.INSTANCE);
+        if (seededBucket.isExists()) {
+            return;
+        }
+        RLock lock = redissonClient.getLock(APP_STATISTIC_SEED_LOCK);
+        if (!lock.tryLock()) {
+            return;
+        }
+        try {
+            if (seededBucket.isExists()) {
+                return;
+            }
+            QueryWrapper<UserAnswer> queryWrapper = new QueryWrapper<>();
+            queryWrapper.select("appId", "resultId", "resultName", "count(*) as answerCount")
+                    .groupBy("appId", "resultId", "resultName");
+            List<Map<String, Object>> rowList = userAnswerMapper.selectMaps(queryWrapper);
+            // 先汇总为每个应用的完整计数，再整体覆盖写入，重复初始化（如 Redis 数据丢失后）不会重复累加
+            Map<Long, Map<String, Long>> appIdFieldMap = new HashMap<>();
+            for (Map<String, Object> row : rowList) {
+                Long appId = ((Number) row.get("appId")).longValue();
+                Number resultId = (Number) row.get("resultId");
+                String resultName = (String) row.get("resultName");
+                long count = ((Number) row.get("answerCount")).longValue();
+                Map<String, Long> fieldMap = appIdFieldMap.computeIfAbsent(appId, key -> new HashMap<>());
+                fieldMap.merge(FIELD_ANSWER_COUNT, count, Long::sum);
+                if (StrUtil.isNotBlank(resultName)) {
+                    fieldMap.merge(buildResultField(resultId == null ? null : resultId.longValue(), resultName),
+                            count, Long::sum);
+                }
+            }
+            RBatch batch = redissonClient.createBatch();
+            appIdFieldMap.forEach((appId, fieldMap) -> {
+                Map<String, String> valueMap = new HashMap<>();
+                fieldMap.forEach((field, count) -> valueMap.put(field, String.valueOf(count)));
+                batch.getMap(buildKey(appId), StringCodec.INSTANCE).putAllAsync(valueMap);
+                batch.getSet(APP_STATISTIC_DIRTY_KEY, StringCodec.INSTANCE).addAsync(String.valueOf(appId));
+            });
+            batch.execute();
+            seededBucket.set("1");
+            log.info("app statistic seeded, rows = {}", rowList.size());
+        } catch (Exception e) {
+            log.error("seed app statistic error", e);
+        } finally {
+            if (lock.isHeldByCurrentThread()) {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 答题后累加计数
+     *
+     * @param event
+     */
+    @EventListener
+    public void onUserAnswerSubmitted(UserAnswerSubmittedEvent event) {
+        UserAnswer userAnswer = event.getUserAnswer();
+        Long appId = userAnswer.getAppId();
+        if (appId == null) {
+            return;
+        }
+        try {
+            String resultField = StrUtil.isBlank(userAnswer.getResultName()) ? ""
+                    : buildResultField(userAnswer.getResultId(), userAnswer.getResultName());
+            if (!increase(appId, resultField)) {
+                // 计数器不存在（首次答题或 Redis 数据丢失），先从最近一次刷盘的结果恢复再累加
+                hydrate(appId);
+                increase(appId, resultField);
+            }
+        } catch (Exception e) {
+            // 统计不影响答题，失败只记录日志
+            log.error("increase app statistic error, appId = {}", appId, e);
+        }
+    }
+
+    /**
+     * 从计数器读取应用统计
+     *
+     * @param appId
+     * @return 没有计数时返回 null
+     */
+    public AppStatisticVO getAppStatisticVO(Long appId) {
+        Map<String, String> fieldMap = getCounterMap(appId).readAllMap();
+        if (fieldMap.isEmpty()) {
+            return null;
+        }
+        AppStatisticVO appStatisticVO = new AppStatisticVO();
+        appStatisticVO.setAppId(appId);
+        appStatisticVO.setAnswerCount(Long.valueOf(fieldMap.getOrDefault(FIELD_ANSWER_COUNT, "0")));
+        List<AppStatisticVO.ResultCount> resultCountList = new ArrayList<>();
+        fieldMap.forEach((field, value) -> {
+            if (!field.startsWith(FIELD_RESULT_PREFIX)) {
+                return;
+            }
+            // 结果名称中可能包含分隔符，只按第一个分隔符拆分
+            String idAndName = field.substring(FIELD_RESULT_PREFIX.length());
+            int separatorIndex = idAndName.indexOf(':');
+            String resultId = idAndName.substring(0, separatorIndex);
+            AppStatisticVO.ResultCount resultCount = new AppStatisticVO.ResultCount();
+            resultCount.setResultId(resultId.isEmpty() ? null : Long.valueOf(resultId));
+            resultCount.setResultName(idAndName.substring(separatorIndex + 1));
+            resultCount.setCount(Long.valueOf(value));
+            resultCountList.add(resultCount);
+        });
+        resultCountList.sort(Comparator.comparing(AppStatisticVO.ResultCount::getCount).reversed());
+        appStatisticVO.setResultCountList(resultCountList);
+        return appStatisticVO;
+    }
+
+    /**
+     * 各应用的答题数（读取 app_statistic 表，每个应用一行，不扫描答题记录）
+     * <p>
+     * 供搜索建议、首页热门等需要全量热度的场景共用，数据为最近一次刷盘的结果
+     *
+     * @return 应用 id => 答题数
+     */
+    public Map<Long, Long> getAnswerCountMap() {
+        QueryWrapper<AppStatistic> queryWrapper = new QueryWrapper<>();
+        queryWrapper.select("appId", "answerCount");
+        Map<Long, Long> answerCountMap = new HashMap<>();
+        for (AppStatistic appStatistic : appStatisticMapper.selectList(queryWrapper)) {
+            answerCountMap.put(appStatistic.getAppId(),
+                    appStatistic.getAnswerCount() == null ? 0L : appStatistic.getAnswerCount());
+        }
+        return answerCountMap;
+    }
+
+    /**
+     * 构建待刷盘的统计记录
+     *
+     * @param appId
+     * @return 没有计数时返回 null
+     */
+    public AppStatistic buildAppStatistic(Long appId) {
+        AppStatisticVO appStatisticVO = getAppStatisticVO(appId);
+        if (appStatisticVO == null) {
+            return null;
+        }
+        AppStatistic appStatistic = new AppStatistic();
+        appStatistic.setAppId(appId);
+        appStatistic.setAnswerCount(appStatisticVO.getAnswerCount());
+        appStatistic.setResultCount(JSONUtil.toJsonStr(appStatisticVO.getResultCountList()));
+        return appStatistic;
+    }
+
+    /**
+     * 取出一批待刷盘的应用 id
+     *
+     * @param count
+     * @return
+     */
+    public Set<Long> pollDirty(int count) {
+        return getDirtySet().removeRandom(count).stream().map(Long::valueOf).collect(Collectors.toSet());
+    }
+
+    /**
+     * 重新标记为待刷盘（刷盘失败时调用）
+     *
+     * @param appIds
+     */
+    public void markDirty(Collection<Long> appIds) {
+        getDirtySet().addAll(appIds.stream().map(String::valueOf).collect(Collectors.toList()));
+    }
+
+    /**
+     * 计数器存在时累加
+     *
+     * @param appId
+     * @param resultField 结果分布字段，没有结果时为空字符串
+     * @return 计数器不存在时返回 false
+     */
+    private boolean increase(Long appId, String resultField) {
+        Long result = redissonClient.getScript(StringCodec.INSTANCE).eval(RScript.Mode.READ_WRITE, INCREASE_SCRIPT,
+                RScript.ReturnType.INTEGER, Arrays.<Object>asList(buildKey(appId), APP_STATISTIC_DIRTY_KEY),
+                String.valueOf(appId), FIELD_ANSWER_COUNT, resultField);
+        return result != null && result == 1L;
+    }
+
+    /**
+     * 从 app_statistic 表恢复计数器（计数器已存在时不覆盖）
+     *
+     * @param appId
+     */
+    private void hydrate(Long appId) {
+        List<Object> argList = new ArrayList<>();
+        AppStatistic appStatistic = appStatisticMapper.selectById(appId);
+        argList.add(FIELD_ANSWER_COUNT);
+        argList.add(String.valueOf(appStatistic == null ? 0L : appStatistic.getAnswerCount()));
+        if (appStatistic != null && StrUtil.isNotBlank(appStatistic.getResultCount())) {
+            for (AppStatisticVO.ResultCount resultCount :
+                    JSONUtil.toList(appStatistic.getResultCount(), AppStatisticVO.ResultCount.class)) {
+                argList.add(buildResultField(resultCount.getResultId(), resultCount.getResultName()));
+                argList.add(String.valueOf(resultCount.getCount()));
+            }
+        }
+        redissonClient.getScript(StringCodec.INSTANCE).eval(RScript.Mode.READ_WRITE, HYDRATE_SCRIPT,
+                RScript.ReturnType.INTEGER, Collections.<Object>singletonList(buildKey(appId)), argList.toArray());
+    }
+
+    private String buildResultField(Long resultId, String resultName) {
+        return FIELD_RESULT_PREFIX + (resultId == null ? "" : resultId) + ":" + resultName;
+    }
+
+    private String buildKey(Long appId) {
+        return APP_STATISTIC_KEY + ":" + appId;
+    }
+
+    private RMap<String, String> getCounterMap(Long appId) {
+        return redissonClient.getMap(buildKey(appId), StringCodec.INSTANCE);
+    }
+
+    private RSet<String> getDirtySet() {
+        return redissonClient.getSet(APP_STATISTIC_DIRTY_KEY, StringCodec.INSTANCE);
+    }
+}
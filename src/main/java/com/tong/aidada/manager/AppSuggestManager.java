@@ -0,0 +1,321 @@
+package com.tong.aidada.manager;
+
+import cn.hutool.core.util.StrUtil;
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.tong.aidada.event.AppChangedEvent;
+import com.tong.aidada.mapper.AppMapper;
+import com.tong.aidada.model.entity.App;
+import com.tong.aidada.model.enums.ReviewStatusEnum;
+import com.tong.aidada.model.vo.AppSuggestVO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.Resource;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * 应用名称联想（内存前缀树，只收录已过审的应用，按热度排序）
+ * <p>
+ * 每个节点懒计算并缓存该前缀下热度最高的应用，应用变更时只清空所在路径上的缓存
+ */
+@Component
+@Slf4j
+public class AppSuggestManager {
+
+    @Resource
+    private AppMapper appMapper;
+
+    @Resource
+    private AppStatisticManager appStatisticManager;
+
+    // 每个前缀最多缓存的联想条数
+    public static final int MAX_SUGGEST_SIZE = 10;
+
+    // 构建时每批加载的应用数
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    private volatile Trie trie = new Trie();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * 重建期间变更的应用 id（未在重建时为 null），由写锁保护
+     * <p>
+     * 重建期间的变更只作用于旧前缀树，新前缀树读取的可能是变更前的数据，替换后需要重新应用
+     */
+    private Set<Long> changedAppIdSet;
+
+    /**
+     * 启动时构建
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        rebuild();
+    }
+
+    /**
+     * 每 30 分钟全量重建一次，刷新热度
+     */
+    @Scheduled(fixedDelay = 30 * 60 * 1000L, initialDelay = 30 * 60 * 1000L)
+    public synchronized void rebuild() {
+        lock.writeLock().lock();
+        try {
+            changedAppIdSet = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Set<Long> changedAppIds = Collections.emptySet();
+        try {
+            Map<Long, Long> popularityMap = appStatisticManager.getAnswerCountMap();
+            Trie newTrie = new Trie();
+            long lastId = 0L;
+            while (true) {
+                QueryWrapper<App> queryWrapper = new QueryWrapper<>();
+                queryWrapper.select("id", "appName")
+                        .eq("reviewStatus", ReviewStatusEnum.PASS.getValue())
+                        .gt("id", lastId)
+                        .orderByAsc("id")
+                        .last("limit " + LOAD_BATCH_SIZE);
+                List<App> appList = appMapper.selectList(queryWrapper);
+                if (appList.isEmpty()) {
+                    break;
+                }
+                for (App app : appList) {
+                    newTrie.put(app.getId(), app.getAppName(), popularityMap.getOrDefault(app.getId(), 0L));
+                }
+                lastId = appList.get(appList.size() - 1).getId();
+            }
+            lock.writeLock().lock();
+            try {
+                trie = newTrie;
+                changedAppIds = changedAppIdSet;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("app suggest trie rebuilt, count = {}, changed during rebuild = {}",
+                    newTrie.size(), changedAppIds.size());
+        } catch (Exception e) {
+            log.error("rebuild app suggest trie error", e);
+        } finally {
+            lock.writeLock().lock();
+            try {
+                changedAppIdSet = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        // 重新应用重建期间的变更，之后的变更直接作用于新前缀树
+        for (Long appId : changedAppIds) {
+            apply(appId);
+        }
+    }
+
+    /**
+     * 应用变更时增量更新（包括其他实例同步来的变更）
+     *
+     * @param event
+     */
+    @EventListener
+    public void onAppChanged(AppChangedEvent event) {
+        Long appId = event.getAppId();
+        if (appId == null) {
+            return;
+        }
+        apply(appId);
+    }
+
+    /**
+     * 按数据库中的最新状态更新前缀树中的应用
+     *
+     * @param appId
+     */
+    private void apply(Long appId) {
+        App app = appMapper.selectById(appId);
+        lock.writeLock().lock();
+        try {
+            if (changedAppIdSet != null) {
+                changedAppIdSet.add(appId);
+            }
+            if (app == null || !ReviewStatusEnum.PASS.equals(ReviewStatusEnum.getEnumByValue(app.getReviewStatus()))) {
+                trie.remove(appId);
+            } else {
+                trie.put(appId, app.getAppName(), trie.getPopularity(appId));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 根据前缀联想应用名称
+     *
+     * @param prefix
+     * @param size
+     * @return
+     */
+    public List<AppSuggestVO> suggest(String prefix, int size) {
+        if (StrUtil.isBlank(prefix)) {
+            return Collections.emptyList();
+        }
+        lock.readLock().lock();
+        try {
+            return trie.suggest(prefix.trim().toLowerCase(Locale.ROOT), Math.min(size, MAX_SUGGEST_SIZE));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 前缀树
+     */
+    static class Trie {
+
+        private final TrieNode root = new TrieNode();
+
+        /**
+         * 应用 id => 应用（名称、热度）
+         */
+        private final Map<Long, Entry> entryMap = new HashMap<>();
+
+        void put(Long appId, String appName, long popularity) {
+            remove(appId);
+            if (StrUtil.isBlank(appName)) {
+                return;
+            }
+            Entry entry = new Entry(appId, appName, popularity);
+            entryMap.put(appId, entry);
+            TrieNode node = root;
+            node.topEntryList = null;
+            for (char c : entry.key.toCharArray()) {
+                node = node.children.computeIfAbsent(c, key -> new TrieNode());
+                node.topEntryList = null;
+            }
+            if (node.entrySet == null) {
+                node.entrySet = new HashSet<>(2);
+            }
+            node.entrySet.add(entry);
+        }
+
+        void remove(Long appId) {
+            Entry entry = entryMap.remove(appId);
+            if (entry == null) {
+                return;
+            }
+            // 清空路径上的缓存（节点保留，重建时回收）
+            TrieNode node = root;
+            node.topEntryList = null;
+            for (char c : entry.key.toCharArray()) {
+                node = node.children.get(c);
+                if (node == null) {
+                    return;
+                }
+                node.topEntryList = null;
+            }
+            if (node.entrySet != null) {
+                node.entrySet.remove(entry);
+            }
+        }
+
+        long getPopularity(Long appId) {
+            Entry entry = entryMap.get(appId);
+            return entry == null ? 0L : entry.popularity;
+        }
+
+        int size() {
+            return entryMap.size();
+        }
+
+        List<AppSuggestVO> suggest(String prefix, int size) {
+            TrieNode node = root;
+            for (char c : prefix.toCharArray()) {
+                node = node.children.get(c);
+                if (node == null) {
+                    return Collections.emptyList();
+                }
+            }
+            return topEntries(node).stream()
+                    .limit(size)
+                    .map(entry -> {
+                        AppSuggestVO appSuggestVO = new AppSuggestVO();
+                        appSuggestVO.setId(entry.appId);
+                        appSuggestVO.setAppName(entry.appName);
+                        return appSuggestVO;
+                    })
+                    .collect(Collectors.toList());
+        }
+
+        /**
+         * 节点下热度最高的应用（由子节点的结果合并，计算后缓存）
+         */
+        private List<Entry> topEntries(TrieNode node) {
+            List<Entry> topEntryList = node.topEntryList;
+            if (topEntryList != null) {
+                return topEntryList;
+            }
+            List<Entry> candidateList = new ArrayList<>();
+            if (node.entrySet != null) {
+                candidateList.addAll(node.entrySet);
+            }
+            for (TrieNode child : node.children.values()) {
+                candidateList.addAll(topEntries(child));
+            }
+            topEntryList = candidateList.stream()
+                    .sorted(Entry.COMPARATOR)
+                    .limit(MAX_SUGGEST_SIZE)
+                    .collect(Collectors.toList());
+            node.topEntryList = topEntryList;
+            return topEntryList;
+        }
+    }
+
+    private static class TrieNode {
+
+        private final Map<Character, TrieNode> children = new HashMap<>(4);
+
+        /**
+         * 名称恰好到该节点结束的应用
+         */
+        private Set<Entry> entrySet;
+
+        /**
+         * 缓存：该前缀下热度最高的应用
+         */
+        private volatile List<Entry> topEntryList;
+    }
+
+    private static class Entry {
+
+        // 热度高的优先，热度相同时新应用优先
+        private static final Comparator<Entry> COMPARATOR = Comparator.comparingLong((Entry entry) -> entry.popularity)
+                .reversed()
+                .thenComparing(Comparator.comparingLong((Entry entry) -> entry.appId).reversed());
+
+        private final Long appId;
+
+        private final String appName;
+
+        private final String key;
+
+        private final long popularity;
+
+        private Entry(Long appId, String appName, long popularity) {
+            this.appId = appId;
+            this.appName = appName;
+            this.key = appName.trim().toLowerCase(Locale.ROOT);
+            this.popularity = popularity;
+        }
+    }
+}
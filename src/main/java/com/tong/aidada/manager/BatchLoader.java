@@ -0,0 +1,153 @@
+package com.tong.aidada.manager;
+
+import cn.hutool.core.collection.CollUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 批量加载器（收集 key 后一次批量查询，结果依次经过请求内缓存、共享缓存）
+ * <p>
+ * 查询顺序：请求内缓存 => 共享缓存（可选） => 批量查询，不存在的 key 只在请求内记录
+ *
+ * @param <K> key 类型
+ * @param <V> 值类型
+ */
+public abstract class BatchLoader<K, V> {
+
+    // 请求内缓存中表示“不存在”的占位值
+    private static final Object MISSING = new Object();
+
+    private final String requestAttributeName;
+
+    private final Cache<K, V> sharedCache;
+
+    /**
+     * @param name        加载器名称，用于区分请求内缓存
+     * @param sharedCache 共享缓存，为 null 表示只使用请求内缓存
+     */
+    protected BatchLoader(String name, Cache<K, V> sharedCache) {
+        this.requestAttributeName = "batch_loader:" + name;
+        this.sharedCache = sharedCache;
+    }
+
+    /**
+     * 批量查询（一次查询，如 IN 查询）
+     *
+     * @param keys 缓存均未命中的 key
+     * @return key => 值，不存在的 key 不返回
+     */
+    protected abstract Map<K, V> batchLoad(Set<K> keys);
+
+    /**
+     * 加载单个值
+     *
+     * @param key
+     * @return 不存在返回 null
+     */
+    public V load(K key) {
+        if (key == null) {
+            return null;
+        }
+        return loadMany(Collections.singleton(key)).get(key);
+    }
+
+    /**
+     * 批量加载
+     *
+     * @param keys
+     * @return key => 值，不存在的 key 不返回
+     */
+    public Map<K, V> loadMany(Collection<K> keys) {
+        Map<K, V> result = new HashMap<>();
+        if (CollUtil.isEmpty(keys)) {
+            return result;
+        }
+        Map<K, Object> requestCache = getRequestCache();
+        Set<K> missingKeys = new LinkedHashSet<>();
+        for (K key : keys) {
+            if (key == null) {
+                continue;
+            }
+            // 1. 请求内缓存
+            Object value = requestCache == null ? null : requestCache.get(key);
+            if (value == MISSING) {
+                continue;
+            }
+            if (value == null && sharedCache != null) {
+                // 2. 共享缓存
+                value = sharedCache.getIfPresent(key);
+            }
+            if (value == null) {
+                missingKeys.add(key);
+                continue;
+            }
+            result.put(key, castValue(value));
+        }
+        // 3. 批量查询
+        if (!missingKeys.isEmpty()) {
+            Map<K, V> loaded = batchLoad(missingKeys);
+            result.putAll(loaded);
+            if (sharedCache != null) {
+                sharedCache.putAll(loaded);
+            }
+            if (requestCache != null) {
+                for (K key : missingKeys) {
+                    V value = loaded.get(key);
+                    requestCache.put(key, value == null ? MISSING : value);
+                }
+            }
+        }
+        if (requestCache != null) {
+            requestCache.putAll(result);
+        }
+        return result;
+    }
+
+    /**
+     * 使共享缓存失效（请求内缓存随请求结束自动释放）
+     *
+     * @param key 为 null 时全部失效
+     */
+    public void invalidate(K key) {
+        if (sharedCache == null) {
+            return;
+        }
+        if (key == null) {
+            sharedCache.invalidateAll();
+        } else {
+            sharedCache.invalidate(key);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private V castValue(Object value) {
+        return (V) value;
+    }
+
+    /**
+     * 获取请求内缓存，不在请求中（如异步线程）时返回 null
+     *
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    private Map<K, Object> getRequestCache() {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes == null) {
+            return null;
+        }
+        Object requestCache = requestAttributes.getAttribute(requestAttributeName, RequestAttributes.SCOPE_REQUEST);
+        if (requestCache == null) {
+            requestCache = new HashMap<K, Object>();
+            requestAttributes.setAttribute(requestAttributeName, requestCache, RequestAttributes.SCOPE_REQUEST);
+        }
+        return (Map<K, Object>) requestCache;
+    }
+}
@@ -0,0 +1,109 @@
+package com.tong.aidada.manager;
+
+import cn.hutool.crypto.digest.DigestUtil;
+import cn.hutool.json.JSONUtil;
+import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.tong.aidada.config.HttpCacheConfig;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.Resource;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Date;
+
+/**
+ * HTTP 条件请求（ETag / Last-Modified）处理
+ */
+@Component
+public class HttpCacheManager {
+
+    @Resource
+    private HttpCacheConfig httpCacheConfig;
+
+    /**
+     * 根据响应内容构建强 ETag
+     * <p>
+     * 对序列化后的内容计算摘要，内容不变则 ETag 不变（更新时间只精确到秒，不能单独作为版本）
+     *
+     * @param data 响应数据
+     * @return
+     */
+    public String buildEtag(Object data) {
+        return "\"" + DigestUtil.md5Hex(JSONUtil.toJsonStr(data)) + "\"";
+    }
+
+    /**
+     * 根据分页结果构建强 ETag（页码、总数及每条记录的内容）
+     *
+     * @param page
+     * @return
+     */
+    public String buildPageEtag(IPage<?> page) {
+        return "\"" + DigestUtil.md5Hex(page.getCurrent() + ":" + page.getSize() + ":" + page.getTotal() + ":"
+                + JSONUtil.toJsonStr(page.getRecords())) + "\"";
+    }
+
+    /**
+     * 写入缓存相关响应头，并判断客户端缓存是否仍然有效
+     * <p>
+     * 列表接口为 POST 请求，同样根据 If-None-Match 判断
+     *
+     * @param request
+     * @param response
+     * @param etag         强 ETag
+     * @param lastModified 最后修改时间，可为空
+     * @return 客户端缓存有效（已设置 304 状态码，无需再返回内容）
+     */
+    public boolean checkNotModified(HttpServletRequest request, HttpServletResponse response,
+                                    String etag, Date lastModified) {
+        response.setHeader(HttpHeaders.CACHE_CONTROL, getCacheControl(request));
+        response.setHeader(HttpHeaders.ETAG, etag);
+        if (lastModified != null) {
+            response.setDateHeader(HttpHeaders.LAST_MODIFIED, lastModified.getTime());
+        }
+        boolean notModified;
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            // 有 If-None-Match 时忽略 If-Modified-Since
+            notModified = matchEtag(ifNoneMatch, etag);
+        } else {
+            notModified = lastModified != null && isNotModifiedSince(request, lastModified);
+        }
+        if (notModified) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        }
+        return notModified;
+    }
+
+    private String getCacheControl(HttpServletRequest request) {
+        String cacheControl = httpCacheConfig.getCacheControl().get(request.getServletPath());
+        return StringUtils.isNotBlank(cacheControl) ? cacheControl : httpCacheConfig.getDefaultCacheControl();
+    }
+
+    private boolean matchEtag(String ifNoneMatch, String etag) {
+        for (String candidate : ifNoneMatch.split(",")) {
+            candidate = candidate.trim();
+            if ("*".equals(candidate) || etag.equals(candidate)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isNotModifiedSince(HttpServletRequest request, Date lastModified) {
+        // 仅 GET / HEAD 请求支持 If-Modified-Since
+        if (!"GET".equals(request.getMethod()) && !"HEAD".equals(request.getMethod())) {
+            return false;
+        }
+        long ifModifiedSince;
+        try {
+            ifModifiedSince = request.getDateHeader(HttpHeaders.IF_MODIFIED_SINCE);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        // HTTP 日期精确到秒
+        return ifModifiedSince >= 0 && lastModified.getTime() / 1000 <= ifModifiedSince / 1000;
+    }
+}
@@ -0,0 +1,210 @@
+package com.tong.aidada.manager;
+
+import com.baomidou.mybatisplus.core.incrementer.IdentifierGenerator;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.tong.aidada.common.ErrorCode;
+import com.tong.aidada.exception.BusinessException;
+import com.tong.aidada.exception.ThrowUtils;
+import com.tong.aidada.mapper.IdSegmentMapper;
+import com.tong.aidada.model.entity.IdSegment;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import javax.annotation.Resource;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 号段 id 分配器（双缓冲）
+ * <p>
+ * 每个表从 id_segment 表一次领取一段 id（maxId 增加 step），在内存中递增分配，插入时不需要访问数据库或其他实例；
+ * 当前号段用掉 10% 后在后台预取下一段，切换号段时无需等待。
+ * 作为 MyBatis Plus 的 id 生成器，所有 IdType.ASSIGN_ID 的实体插入都使用该分配器
+ */
+@Component
+@Slf4j
+public class IdSegmentManager implements IdentifierGenerator {
+
+    // id 生成器在 SqlSessionFactory 创建时注入，延迟获取 Mapper，避免循环依赖
+    @Resource
+    @Lazy
+    private IdSegmentMapper idSegmentMapper;
+
+    @Resource
+    @Lazy
+    private PlatformTransactionManager transactionManager;
+
+    // 新业务标识的默认号段长度
+    private static final int DEFAULT_STEP = 1000;
+
+    // 当前号段用掉该比例后预取下一段
+    private static final double PRELOAD_RATIO = 0.1;
+
+    // 等待预取结果的最长时间（秒）
+    private static final long PRELOAD_WAIT_SECONDS = 3L;
+
+    /**
+     * 业务标识 => 号段缓冲
+     */
+    private final Map<String, SegmentBuffer> bufferMap = new ConcurrentHashMap<>();
+
+    // 预取下一号段的线程
+    private final ExecutorService preloadExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "id-segment-preload");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * 按实体对应的表分配 id
+     *
+     * @param entity
+     * @return
+     */
+    @Override
+    public Number nextId(Object entity) {
+        return nextId(entity.getClass());
+    }
+
+    /**
+     * 按实体类对应的表分配 id（如预先为答题记录生成 id）
+     *
+     * @param entityClass
+     * @return
+     */
+    public long nextId(Class<?> entityClass) {
+        TableInfo tableInfo = TableInfoHelper.getTableInfo(entityClass);
+        ThrowUtils.throwIf(tableInfo == null, ErrorCode.SYSTEM_ERROR, "未映射的实体：" + entityClass.getName());
+        return nextId(tableInfo.getTableName());
+    }
+
+    /**
+     * 按业务标识分配 id（同一实例、同一业务标识内单调递增）
+     *
+     * @param bizTag
+     * @return
+     */
+    public long nextId(String bizTag) {
+        return bufferMap.computeIfAbsent(bizTag, SegmentBuffer::new).nextId();
+    }
+
+    @PreDestroy
+    public void destroy() {
+        preloadExecutor.shutdownNow();
+    }
+
+    /**
+     * 从数据库领取一个号段
+     *
+     * @param bizTag
+     * @return
+     */
+    private Segment leaseSegment(String bizTag) {
+        // 在独立事务中领取：不能加入调用方（如批量插入、导入）的事务，
+        // 否则调用方回滚会撤销 maxId 的增加，而本实例仍在使用该号段，其他实例会领到相同的号段；
+        // 独立事务也使 id_segment 的行锁在领取后立即释放
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        IdSegment idSegment = transactionTemplate.execute(status -> {
+            if (idSegmentMapper.increaseMaxId(bizTag) == 0) {
+                // 首次使用：从表中已有的最大 id 开始，保证新 id 大于历史 id
+                Long maxId = idSegmentMapper.selectMaxIdOfTable(bizTag);
+                idSegmentMapper.insertIgnore(bizTag, maxId == null ? 0L : maxId, DEFAULT_STEP);
+                idSegmentMapper.increaseMaxId(bizTag);
+            }
+            return idSegmentMapper.selectById(bizTag);
+        });
+        if (idSegment == null) {
+            throw new BusinessException(ErrorCode.SYSTEM_ERROR, "分配 id 失败");
+        }
+        long maxId = idSegment.getMaxId();
+        int step = idSegment.getStep();
+        log.info("id segment leased, bizTag = {}, range = ({}, {}]", bizTag, maxId - step, maxId);
+        return new Segment(maxId - step + 1, maxId, step);
+    }
+
+    /**
+     * 号段：[cursor, maxId] 为未分配的 id
+     */
+    private static class Segment {
+
+        private long cursor;
+
+        private final long maxId;
+
+        private final int step;
+
+        Segment(long start, long maxId, int step) {
+            this.cursor = start;
+            this.maxId = maxId;
+            this.step = step;
+        }
+
+        boolean isExhausted() {
+            return cursor > maxId;
+        }
+
+        boolean shouldPreload() {
+            return maxId - cursor < step * (1 - PRELOAD_RATIO);
+        }
+    }
+
+    /**
+     * 双缓冲：当前号段 + 预取中的下一号段
+     */
+    private class SegmentBuffer {
+
+        private final String bizTag;
+
+        private Segment current;
+
+        private CompletableFuture<Segment> next;
+
+        SegmentBuffer(String bizTag) {
+            this.bizTag = bizTag;
+        }
+
+        synchronized long nextId() {
+            if (current == null || current.isExhausted()) {
+                current = takeNext();
+            }
+            long id = current.cursor++;
+            if (next == null && current.shouldPreload()) {
+                next = CompletableFuture.supplyAsync(() -> leaseSegment(bizTag), preloadExecutor);
+            }
+            return id;
+        }
+
+        /**
+         * 切换到预取的号段，没有预取或预取失败时同步领取
+         * <p>
+         * 预取中时必须等待其结果，否则先用后领的号段会导致 id 不单调
+         */
+        private Segment takeNext() {
+            CompletableFuture<Segment> future = next;
+            next = null;
+            if (future != null) {
+                try {
+                    return future.get(PRELOAD_WAIT_SECONDS, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new BusinessException(ErrorCode.SYSTEM_ERROR, "分配 id 失败");
+                } catch (Exception e) {
+                    // 超时的预取仍可能成功，其号段直接丢弃，只会留下空洞
+                    log.error("preload id segment error, bizTag = {}", bizTag, e);
+                }
+            }
+            return leaseSegment(bizTag);
+        }
+    }
+}
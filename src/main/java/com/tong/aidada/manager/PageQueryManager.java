@@ -0,0 +1,120 @@
+package com.tong.aidada.manager;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.segments.MergeSegments;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.baomidou.mybatisplus.extension.service.IService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tong.aidada.common.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 分页查询（可跳过总数查询；需要总数时缓存查询结果）
+ * <p>
+ * 总数缓存按 Mapper 命名空间隔离，对应表有增删改时由 {@link com.tong.aidada.config.CountCacheInvalidateInterceptor} 失效
+ */
+@Component
+public class PageQueryManager {
+
+    // 查询条件中的参数占位符，如 #{ew.paramNameValuePairs.MPGENVAL1}
+    private static final Pattern PARAM_PATTERN = Pattern.compile("#\\{ew\\.paramNameValuePairs\\.(\\w+)}");
+
+    /**
+     * Mapper 命名空间 => 总数缓存（规范化的查询条件 => 总数）
+     */
+    private final Map<String, Cache<String, Long>> countCacheMap = new ConcurrentHashMap<>();
+
+    /**
+     * 分页查询
+     *
+     * @param service
+     * @param pageRequest  分页参数（searchCount 为 false 时不查询总数）
+     * @param queryWrapper 查询条件
+     * @param <T>
+     * @return
+     */
+    public <T> Page<T> page(IService<T> service, PageRequest pageRequest, QueryWrapper<T> queryWrapper) {
+        long current = Math.max(pageRequest.getCurrent(), 1);
+        long size = pageRequest.getPageSize();
+        // 不分页时保持原有行为
+        if (size <= 0) {
+            return service.page(new Page<>(current, size), queryWrapper);
+        }
+        long offset = (current - 1) * size;
+        // 1. 不查询总数，多查一条判断是否还有下一页
+        if (!pageRequest.isSearchCount()) {
+            queryWrapper.last("limit " + offset + ", " + (size + 1));
+            List<T> records = service.list(queryWrapper);
+            boolean hasMore = records.size() > size;
+            if (hasMore) {
+                records = new ArrayList<>(records.subList(0, (int) size));
+            }
+            Page<T> page = new Page<>(current, size, false);
+            page.setRecords(records);
+            // 总数未知，返回已知的下限（还有下一页时至少多一条）
+            page.setTotal(offset + records.size() + (hasMore ? 1 : 0));
+            return page;
+        }
+        // 2. 查询总数（优先使用缓存）
+        String namespace = TableInfoHelper.getTableInfo(service.getEntityClass()).getCurrentNamespace();
+        Long total = getCountCache(namespace).get(buildCountKey(queryWrapper), key -> service.count(queryWrapper));
+        Page<T> page = new Page<>(current, size, false);
+        if (total != null && total > offset) {
+            page = service.page(page, queryWrapper);
+        }
+        page.setTotal(total == null ? 0 : total);
+        return page;
+    }
+
+    /**
+     * 使某个 Mapper 命名空间的总数缓存失效
+     *
+     * @param namespace
+     */
+    public void invalidate(String namespace) {
+        Cache<String, Long> countCache = countCacheMap.get(namespace);
+        if (countCache != null) {
+            countCache.invalidateAll();
+        }
+    }
+
+    private Cache<String, Long> getCountCache(String namespace) {
+        return countCacheMap.computeIfAbsent(namespace, key -> Caffeine.newBuilder()
+                .maximumSize(10_000L)
+                // 多实例部署时其他实例的写入无法通知，依赖短过期时间
+                .expireAfterWrite(30L, TimeUnit.SECONDS)
+                .build());
+    }
+
+    /**
+     * 规范化查询条件（不含排序，参数占位符替换为实际值）
+     *
+     * @param queryWrapper
+     * @return
+     */
+    private String buildCountKey(QueryWrapper<?> queryWrapper) {
+        MergeSegments segments = queryWrapper.getExpression();
+        String sqlSegment = segments.getNormal().getSqlSegment()
+                + segments.getGroupBy().getSqlSegment()
+                + segments.getHaving().getSqlSegment();
+        Map<String, Object> paramNameValuePairs = queryWrapper.getParamNameValuePairs();
+        Matcher matcher = PARAM_PATTERN.matcher(sqlSegment);
+        StringBuffer countKey = new StringBuffer();
+        while (matcher.find()) {
+            Object value = paramNameValuePairs.get(matcher.group(1));
+            matcher.appendReplacement(countKey, Matcher.quoteReplacement("'" + value + "'"));
+        }
+        matcher.appendTail(countKey);
+        return countKey.toString();
+    }
+}
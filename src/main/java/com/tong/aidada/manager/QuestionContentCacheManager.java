@@ -0,0 +1,121 @@
+package com.tong.aidada.manager;
+
+import cn.hutool.crypto.digest.DigestUtil;
+import cn.hutool.json.JSONUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.tong.aidada.model.dto.question.QuestionContentDTO;
+import com.tong.aidada.model.entity.Question;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 题目内容解析结果缓存（按题目 id + 内容摘要缓存，题目内容修改后自动失效）
+ * <p>
+ * 缓存的解析结果不对外暴露，每次返回副本，调用方修改返回值不影响缓存
+ */
+@Component
+@Slf4j
+public class QuestionContentCacheManager {
+
+    // 缓存的题目内容总字符数上限
+    private static final long MAX_CONTENT_CHARS = 32L * 1024 * 1024;
+
+    /**
+     * 题目内容缓存，按原始 JSON 长度计算权重
+     */
+    private final Cache<String, ParsedQuestionContent> questionContentCacheMap =
+            Caffeine.newBuilder()
+                    .maximumWeight(MAX_CONTENT_CHARS)
+                    .weigher((String key, ParsedQuestionContent value) -> value.weight)
+                    .recordStats()
+                    .build();
+
+    /**
+     * 获取解析后的题目内容（返回副本）
+     *
+     * @param question
+     * @return
+     */
+    public List<QuestionContentDTO> getQuestionContent(Question question) {
+        if (question == null || question.getQuestionContent() == null) {
+            return null;
+        }
+        String questionContent = question.getQuestionContent();
+        // 没有 id（如未入库的对象）直接解析
+        if (question.getId() == null) {
+            return parse(questionContent).questionContent;
+        }
+        // 按内容摘要区分版本（更新时间只精确到秒，同一秒内的多次修改无法区分）
+        String cacheKey = question.getId() + ":" + DigestUtil.md5Hex(questionContent);
+        return copy(questionContentCacheMap.get(cacheKey, key -> parse(questionContent)).questionContent);
+    }
+
+    /**
+     * 缓存统计信息
+     *
+     * @return
+     */
+    public CacheStats stats() {
+        return questionContentCacheMap.stats();
+    }
+
+    /**
+     * 每 5 分钟打印一次命中率
+     */
+    @Scheduled(fixedRate = 5 * 60 * 1000L)
+    public void logStats() {
+        CacheStats stats = stats();
+        if (stats.requestCount() == 0) {
+            return;
+        }
+        log.info("question content cache, hitRate = {}, hitCount = {}, missCount = {}, evictionCount = {}, size = {}",
+                String.format("%.4f", stats.hitRate()), stats.hitCount(), stats.missCount(),
+                stats.evictionCount(), questionContentCacheMap.estimatedSize());
+    }
+
+    private ParsedQuestionContent parse(String questionContent) {
+        List<QuestionContentDTO> questionContentDTOList = JSONUtil.toList(questionContent, QuestionContentDTO.class);
+        return new ParsedQuestionContent(questionContentDTOList, questionContent.length());
+    }
+
+    private List<QuestionContentDTO> copy(List<QuestionContentDTO> questionContentDTOList) {
+        List<QuestionContentDTO> copyList = new ArrayList<>(questionContentDTOList.size());
+        for (QuestionContentDTO questionContentDTO : questionContentDTOList) {
+            if (questionContentDTO == null) {
+                copyList.add(null);
+                continue;
+            }
+            List<QuestionContentDTO.Option> optionList = null;
+            if (questionContentDTO.getOptions() != null) {
+                optionList = new ArrayList<>(questionContentDTO.getOptions().size());
+                for (QuestionContentDTO.Option option : questionContentDTO.getOptions()) {
+                    optionList.add(option == null ? null : new QuestionContentDTO.Option(option.getResult(),
+                            option.getScore(), option.getValue(), option.getKey()));
+                }
+            }
+            copyList.add(new QuestionContentDTO(questionContentDTO.getTitle(), optionList));
+        }
+        return copyList;
+    }
+
+    /**
+     * 解析结果及其权重
+     */
+    private static class ParsedQuestionContent {
+
+        private final List<QuestionContentDTO> questionContent;
+
+        private final int weight;
+
+        private ParsedQuestionContent(List<QuestionContentDTO> questionContent, int weight) {
+            this.questionContent = questionContent;
+            this.weight = weight;
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package com.tong.aidada.manager;
+
+import cn.hutool.bloomfilter.BitMapBloomFilter;
+import cn.hutool.core.convert.Convert;
+import cn.hutool.core.util.IdUtil;
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.jwt.JWT;
+import cn.hutool.jwt.JWTValidator;
+import cn.hutool.jwt.RegisteredPayload;
+import cn.hutool.jwt.signers.JWTSigner;
+import cn.hutool.jwt.signers.JWTSignerUtil;
+import com.tong.aidada.common.ErrorCode;
+import com.tong.aidada.config.AuthConfig;
+import com.tong.aidada.exception.ThrowUtils;
+import com.tong.aidada.model.dto.user.SessionUser;
+import com.tong.aidada.model.entity.User;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RScoredSortedSet;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.Resource;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * 无状态登录令牌（签发、校验、吊销）
+ * <p>
+ * 令牌校验只在本地完成；吊销记录保存在 Redis 有序集合中（分数为过期时间），
+ * 本地布隆过滤器判断“一定未吊销”时无需访问 Redis
+ */
+@Component
+@Slf4j
+public class TokenManager {
+
+    @Resource
+    private AuthConfig authConfig;
+
+    @Resource
+    private RedissonClient redissonClient;
+
+    // 吊销记录的 key
+    private static final String TOKEN_REVOKED_KEY = "token_revoked";
+
+    // 吊销通知的频道
+    private static final String TOKEN_REVOKED_TOPIC = "token_revoked_topic";
+
+    // 按用户吊销的成员前缀（封号、删除用户时吊销该用户此前签发的所有令牌）
+    private static final String USER_PREFIX = "u:";
+
+    private static final String CLAIM_USER_ID = "userId";
+
+    private static final String CLAIM_USER_ROLE = "userRole";
+
+    // 签发时间（毫秒），标准 iat 只精确到秒，按用户吊销时需要更高精度
+    private static final String CLAIM_ISSUED_AT_MILLIS = "iatMillis";
+
+    // 布隆过滤器大小（MB）
+    private static final int BLOOM_FILTER_SIZE = 2;
+
+    /**
+     * 本地布隆过滤器，定期从 Redis 重建以清除已过期的吊销记录
+     */
+    private volatile BitMapBloomFilter revokedBloomFilter = new BitMapBloomFilter(BLOOM_FILTER_SIZE);
+
+    /**
+     * 重建期间新增的吊销记录（未在重建时为 null），替换过滤器时补充到新过滤器中，由 this 锁保护
+     */
+    private List<String> memberListDuringRebuild;
+
+    // 保证同一时间只有一次重建（不占用 this 锁，重建读取 Redis 时不阻塞吊销通知）
+    private final Object rebuildLock = new Object();
+
+    private RScoredSortedSet<String> revokedSet;
+
+    private RTopic revokedTopic;
+
+    /**
+     * 固定使用 HS256 签名和校验，不采用令牌头部声明的算法（防止 alg=none 等伪造令牌）
+     */
+    private JWTSigner signer;
+
+    @PostConstruct
+    public void init() {
+        if (!authConfig.isTokenMode()) {
+            return;
+        }
+        ThrowUtils.throwIf(StrUtil.isBlank(authConfig.getTokenSecret()), ErrorCode.SYSTEM_ERROR, "未配置令牌签名密钥");
+        signer = JWTSignerUtil.hs256(authConfig.getTokenSecret().getBytes(StandardCharsets.UTF_8));
+        revokedSet = redissonClient.getScoredSortedSet(TOKEN_REVOKED_KEY, StringCodec.INSTANCE);
+        revokedTopic = redissonClient.getTopic(TOKEN_REVOKED_TOPIC, StringCodec.INSTANCE);
+        revokedTopic.addListener(String.class, (channel, member) -> addToBloomFilter(member));
+        rebuildBloomFilter();
+    }
+
+    /**
+     * 签发令牌
+     *
+     * @param user
+     * @return
+     */
+    public String createToken(User user) {
+        Date now = new Date();
+        return JWT.create()
+                .setJWTId(IdUtil.fastSimpleUUID())
+                .setIssuedAt(now)
+                .setExpiresAt(new Date(now.getTime() + authConfig.getTokenExpireSeconds() * 1000L))
+                // id 使用字符串，避免精度丢失
+                .setPayload(CLAIM_USER_ID, String.valueOf(user.getId()))
+                .setPayload(CLAIM_USER_ROLE, user.getUserRole())
+                .setPayload(CLAIM_ISSUED_AT_MILLIS, String.valueOf(now.getTime()))
+                .sign(signer);
+    }
+
+    /**
+     * 校验令牌（签名、有效期、是否已吊销）
+     *
+     * @param token
+     * @return 校验通过的令牌，否则返回 null
+     */
+    public JWT verifyToken(String token) {
+        try {
+            JWT jwt = JWT.of(token);
+            // 先校验头部算法与服务端算法一致，再用服务端的签名器校验签名
+            JWTValidator.of(jwt).validateAlgorithm(signer);
+            if (!jwt.verify(signer)) {
+                return null;
+            }
+            JWTValidator.of(jwt).validateDate();
+            Long userId = getUserId(jwt);
+            if (userId == null || isRevoked(getTokenId(jwt), userId, jwt)) {
+                return null;
+            }
+            return jwt;
+        } catch (Exception e) {
+            // 格式错误、算法不符、已过期
+            return null;
+        }
+    }
+
+    /**
+     * 令牌中的登录用户
+     *
+     * @param jwt
+     * @return
+     */
+    public SessionUser toSessionUser(JWT jwt) {
+        SessionUser sessionUser = new SessionUser();
+        sessionUser.setId(getUserId(jwt));
+        sessionUser.setUserRole(Convert.toStr(jwt.getPayload(CLAIM_USER_ROLE)));
+        sessionUser.setVersion(SessionUser.CURRENT_VERSION);
+        return sessionUser;
+    }
+
+    /**
+     * 令牌 id
+     *
+     * @param jwt
+     * @return
+     */
+    public String getTokenId(JWT jwt) {
+        return Convert.toStr(jwt.getPayload(RegisteredPayload.JWT_ID));
+    }
+
+    /**
+     * 吊销单个令牌（注销）
+     *
+     * @param tokenId
+     */
+    public void revokeToken(String tokenId) {
+        if (!authConfig.isTokenMode() || StrUtil.isBlank(tokenId)) {
+            return;
+        }
+        revoke(tokenId);
+    }
+
+    /**
+     * 吊销用户此前签发的所有令牌（封号、删除用户）
+     *
+     * @param userId
+     */
+    public void revokeUser(Long userId) {
+        if (!authConfig.isTokenMode() || userId == null) {
+            return;
+        }
+        revoke(USER_PREFIX + userId);
+    }
+
+    /**
+     * 每 5 分钟从 Redis 重建布隆过滤器，并清理已过期的吊销记录
+     */
+    @Scheduled(fixedDelay = 5 * 60 * 1000L, initialDelay = 5 * 60 * 1000L)
+    public void rebuildBloomFilter() {
+        if (!authConfig.isTokenMode()) {
+            return;
+        }
+        synchronized (rebuildLock) {
+            doRebuildBloomFilter();
+        }
+    }
+
+    private void doRebuildBloomFilter() {
+        // 读取 Redis 期间到达的吊销通知只会加入旧过滤器，先记录下来，替换时补充
+        synchronized (this) {
+            memberListDuringRebuild = new ArrayList<>();
+        }
+        try {
+            revokedSet.removeRangeByScore(0, true, System.currentTimeMillis(), true);
+            BitMapBloomFilter bloomFilter = new BitMapBloomFilter(BLOOM_FILTER_SIZE);
+            for (String member : revokedSet.readAll()) {
+                bloomFilter.add(member);
+            }
+            synchronized (this) {
+                for (String member : memberListDuringRebuild) {
+                    bloomFilter.add(member);
+                }
+                revokedBloomFilter = bloomFilter;
+            }
+        } catch (Exception e) {
+            log.error("rebuild token revoked bloom filter error", e);
+        } finally {
+            synchronized (this) {
+                memberListDuringRebuild = null;
+            }
+        }
+    }
+
+    private void revoke(String member) {
+        // 吊销记录保留到该令牌（或该用户最晚签发的令牌）过期为止
+        long expireAt = System.currentTimeMillis() + authConfig.getTokenExpireSeconds() * 1000L;
+        revokedSet.add(expireAt, member);
+        addToBloomFilter(member);
+        revokedTopic.publish(member);
+    }
+
+    private boolean isRevoked(String tokenId, Long userId, JWT jwt) {
+        BitMapBloomFilter bloomFilter = revokedBloomFilter;
+        String userMember = USER_PREFIX + userId;
+        boolean tokenMaybeRevoked = tokenId != null && bloomFilter.contains(tokenId);
+        boolean userMaybeRevoked = bloomFilter.contains(userMember);
+        // 布隆过滤器判断一定未吊销，无需访问 Redis
+        if (!tokenMaybeRevoked && !userMaybeRevoked) {
+            return false;
+        }
+        long now = System.currentTimeMillis();
+        if (tokenMaybeRevoked) {
+            Double expireAt = revokedSet.getScore(tokenId);
+            if (expireAt != null && expireAt > now) {
+                return true;
+            }
+        }
+        if (userMaybeRevoked) {
+            Double expireAt = revokedSet.getScore(userMember);
+            if (expireAt != null && expireAt > now) {
+                // 吊销时间之前签发的令牌均失效（按毫秒比较，吊销后同一秒内重新登录签发的令牌仍有效）
+                long revokedAt = expireAt.longValue() - authConfig.getTokenExpireSeconds() * 1000L;
+                Long issuedAtMillis = getIssuedAtMillis(jwt);
+                return issuedAtMillis == null || issuedAtMillis <= revokedAt;
+            }
+        }
+        return false;
+    }
+
+    private synchronized void addToBloomFilter(String member) {
+        revokedBloomFilter.add(member);
+        if (memberListDuringRebuild != null) {
+            memberListDuringRebuild.add(member);
+        }
+    }
+
+    private Long getUserId(JWT jwt) {
+        return Convert.toLong(jwt.getPayload(CLAIM_USER_ID));
+    }
+
+    private Long getIssuedAtMillis(JWT jwt) {
+        Long issuedAtMillis = Convert.toLong(jwt.getPayload(CLAIM_ISSUED_AT_MILLIS));
+        if (issuedAtMillis != null) {
+            return issuedAtMillis;
+        }
+        // 没有毫秒签发时间的旧令牌，按所在秒的第一毫秒计算，同一秒内签发的视为已吊销
+        Long issuedAt = Convert.toLong(jwt.getPayload(RegisteredPayload.ISSUED_AT));
+        return issuedAt == null ? null : issuedAt * 1000L;
+    }
+}
@@ -0,0 +1,108 @@
+package com.tong.aidada.manager;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.tong.aidada.mapper.UserMapper;
+import com.tong.aidada.model.entity.User;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RBloomFilter;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.Resource;
+import java.util.List;
+
+/**
+ * 用户账号布隆过滤器（判断账号“一定不存在”时，注册无需查询数据库）
+ * <p>
+ * 账号唯一性最终由数据库唯一索引保证，布隆过滤器只用于减少查询
+ */
+@Component
+@Slf4j
+public class UserAccountBloomFilterManager {
+
+    @Resource
+    private RedissonClient redissonClient;
+
+    @Resource
+    private UserMapper userMapper;
+
+    // 布隆过滤器的 key
+    private static final String USER_ACCOUNT_BLOOM_FILTER_KEY = "user_account_bloom_filter";
+
+    // 预计账号数
+    private static final long EXPECTED_INSERTIONS = 1_000_000L;
+
+    // 误判率
+    private static final double FALSE_PROBABILITY = 0.001;
+
+    // 初始化时每批加载的账号数
+    private static final int LOAD_BATCH_SIZE = 5000;
+
+    private RBloomFilter<String> bloomFilter;
+
+    @PostConstruct
+    public void init() {
+        bloomFilter = redissonClient.getBloomFilter(USER_ACCOUNT_BLOOM_FILTER_KEY, StringCodec.INSTANCE);
+        // 只有首次创建的实例负责加载已有账号
+        if (bloomFilter.tryInit(EXPECTED_INSERTIONS, FALSE_PROBABILITY)) {
+            loadExistingAccounts();
+        }
+    }
+
+    /**
+     * 账号是否可能已存在
+     *
+     * @param userAccount
+     * @return false 表示一定不存在
+     */
+    public boolean mightExist(String userAccount) {
+        try {
+            return bloomFilter.contains(userAccount);
+        } catch (Exception e) {
+            // Redis 异常时退回查询数据库
+            log.error("user account bloom filter contains error", e);
+            return true;
+        }
+    }
+
+    /**
+     * 记录新注册的账号
+     *
+     * @param userAccount
+     */
+    public void add(String userAccount) {
+        try {
+            bloomFilter.add(userAccount);
+        } catch (Exception e) {
+            // 漏记只会导致注册时跳过查询，仍由唯一索引兜底
+            log.error("user account bloom filter add error", e);
+        }
+    }
+
+    /**
+     * 按 id 游标分批加载已有账号（加载期间新注册的账号仍由唯一索引兜底）
+     */
+    private void loadExistingAccounts() {
+        long lastId = 0L;
+        long total = 0L;
+        while (true) {
+            QueryWrapper<User> queryWrapper = new QueryWrapper<>();
+            queryWrapper.select("id", "userAccount")
+                    .gt("id", lastId)
+                    .orderByAsc("id")
+                    .last("limit " + LOAD_BATCH_SIZE);
+            List<User> userList = userMapper.selectList(queryWrapper);
+            if (userList.isEmpty()) {
+                break;
+            }
+            for (User user : userList) {
+                bloomFilter.add(user.getUserAccount());
+            }
+            total += userList.size();
+            lastId = userList.get(userList.size() - 1).getId();
+        }
+        log.info("user account bloom filter loaded, count = {}", total);
+    }
+}
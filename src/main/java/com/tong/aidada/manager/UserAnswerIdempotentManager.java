@@ -0,0 +1,162 @@
+package com.tong.aidada.manager;
+
+import org.redisson.api.RBucket;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.Resource;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 答题提交幂等记录
+ * <p>
+ * 以答题记录 id 为 key，保存提交状态和用户：/generate/id 签发 id 时记为已签发，提交时原子地改为处理中，
+ * 完成后记为已完成。只接受本服务签发给当前用户的 id，同一 id 的重复提交直接返回，不再评分（AI 评分）也不再写库
+ */
+@Component
+public class UserAnswerIdempotentManager {
+
+    @Resource
+    private RedissonClient redissonClient;
+
+    // 幂等记录 key 前缀
+    private static final String USER_ANSWER_IDEMPOTENT_KEY = "user_answer:idempotent";
+
+    // 已签发状态
+    private static final String STATUS_ISSUED = "issued";
+
+    // 处理中状态
+    private static final String STATUS_PROCESSING = "processing";
+
+    // 已完成状态
+    private static final String STATUS_COMPLETED = "completed";
+
+    // 已签发状态的有效期（秒），超时未提交的 id 作废
+    private static final long ISSUED_EXPIRE_SECONDS = 24 * 60 * 60L;
+
+    // 处理中状态的有效期（秒），覆盖 AI 评分耗时，实例宕机后该 id 作废
+    private static final long PROCESSING_EXPIRE_SECONDS = 2 * 60L;
+
+    // 已完成状态的有效期（秒），只需覆盖客户端重试的时间
+    private static final long COMPLETED_EXPIRE_SECONDS = 24 * 60 * 60L;
+
+    // 当前值等于期望值时改为新值并设置有效期（状态和有效期一起写入，不会停留在没有对应有效期的状态），返回原值
+    private static final String COMPARE_AND_SET_SCRIPT =
+            "local value = redis.call('get', KEYS[1]) " +
+            "if value == ARGV[1] then redis.call('set', KEYS[1], ARGV[2], 'EX', ARGV[3]) end " +
+            "return value";
+
+    /**
+     * 提交状态
+     */
+    public enum State {
+
+        /**
+         * 首次提交，已标记为处理中
+         */
+        ACQUIRED,
+
+        /**
+         * 同一 id 正在处理
+         */
+        PROCESSING,
+
+        /**
+         * 同一 id 已提交完成
+         */
+        COMPLETED,
+
+        /**
+         * id 不是本服务签发给当前用户的（或已过期）
+         */
+        INVALID
+    }
+
+    /**
+     * 签发 id 时记录
+     *
+     * @param id     答题记录 id
+     * @param userId 签发给的用户 id
+     */
+    public void issue(Long id, Long userId) {
+        getBucket(id).set(buildValue(STATUS_ISSUED, userId), ISSUED_EXPIRE_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * 尝试开始提交
+     *
+     * @param id     答题记录 id
+     * @param userId 提交用户 id
+     * @return
+     */
+    public State acquire(Long id, Long userId) {
+        // 并发提交时只有一个请求能从已签发改为处理中
+        String issuedValue = buildValue(STATUS_ISSUED, userId);
+        String value = compareAndSet(id, issuedValue, buildValue(STATUS_PROCESSING, userId), PROCESSING_EXPIRE_SECONDS);
+        if (value == null) {
+            return State.INVALID;
+        }
+        // 格式：状态:用户 id
+        int separatorIndex = value.indexOf(':');
+        if (!String.valueOf(userId).equals(value.substring(separatorIndex + 1))) {
+            return State.INVALID;
+        }
+        if (issuedValue.equals(value)) {
+            return State.ACQUIRED;
+        }
+        String status = value.substring(0, separatorIndex);
+        return STATUS_COMPLETED.equals(status) ? State.COMPLETED : State.PROCESSING;
+    }
+
+    /**
+     * 标记提交完成
+     *
+     * @param id
+     * @param userId
+     */
+    public void complete(Long id, Long userId) {
+        getBucket(id).set(buildValue(STATUS_COMPLETED, userId), COMPLETED_EXPIRE_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * 提交失败时恢复为已签发，允许客户端用同一 id 重试
+     * <p>
+     * 只从处理中恢复：处理中状态已过期、已被其他请求完成时不改动
+     *
+     * @param id
+     * @param userId
+     */
+    public void release(Long id, Long userId) {
+        compareAndSet(id, buildValue(STATUS_PROCESSING, userId), buildValue(STATUS_ISSUED, userId), ISSUED_EXPIRE_SECONDS);
+    }
+
+    /**
+     * 原子地比较并设置状态和有效期
+     *
+     * @param id
+     * @param expectValue
+     * @param newValue
+     * @param expireSeconds
+     * @return 原值，不存在时返回 null
+     */
+    private String compareAndSet(Long id, String expectValue, String newValue, long expireSeconds) {
+        return redissonClient.getScript(StringCodec.INSTANCE).eval(RScript.Mode.READ_WRITE, COMPARE_AND_SET_SCRIPT,
+                RScript.ReturnType.VALUE, Collections.<Object>singletonList(buildKey(id)),
+                expectValue, newValue, String.valueOf(expireSeconds));
+    }
+
+    private String buildValue(String status, Long userId) {
+        return status + ":" + userId;
+    }
+
+    private RBucket<String> getBucket(Long id) {
+        return redissonClient.getBucket(buildKey(id), StringCodec.INSTANCE);
+    }
+
+    private String buildKey(Long id) {
+        return USER_ANSWER_IDEMPOTENT_KEY + ":" + id;
+    }
+}
@@ -0,0 +1,242 @@
+package com.tong.aidada.manager;
+
+import cn.hutool.core.util.IdUtil;
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.json.JSONUtil;
+import com.tong.aidada.config.UserAnswerWriteBehindConfig;
+import com.tong.aidada.model.entity.UserAnswer;
+import com.tong.aidada.model.vo.UserAnswerVO;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.AutoClaimResult;
+import org.redisson.api.PendingResult;
+import org.redisson.api.RBatch;
+import org.redisson.api.RMap;
+import org.redisson.api.RStream;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.StreamMessageId;
+import org.redisson.api.stream.StreamAddArgs;
+import org.redisson.api.stream.StreamCreateGroupArgs;
+import org.redisson.api.stream.StreamReadGroupArgs;
+import org.redisson.client.RedisException;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.Resource;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 答题记录写缓冲
+ * <p>
+ * 开启后答题记录先写入 Redis Stream（持久化，实例宕机不丢失），由各实例以消费者组方式批量写入数据库；
+ * 写入前记录同时保存在待写入哈希中，保证刚提交的记录可以立即查询到
+ */
+@Component
+@Slf4j
+public class UserAnswerWriteBehindManager {
+
+    @Resource
+    private RedissonClient redissonClient;
+
+    @Resource
+    private UserAnswerWriteBehindConfig userAnswerWriteBehindConfig;
+
+    @Resource
+    private IdSegmentManager idSegmentManager;
+
+    // 答题记录 Stream 的 key
+    private static final String USER_ANSWER_STREAM_KEY = "user_answer_write_behind:stream";
+
+    // 待写入记录哈希的 key（答题记录 id => 记录 JSON）
+    private static final String USER_ANSWER_PENDING_KEY = "user_answer_write_behind:pending";
+
+    // 消费者组名称
+    private static final String CONSUMER_GROUP = "user_answer_writer";
+
+    // 消息中记录 JSON 的字段
+    private static final String FIELD_DATA = "data";
+
+    // 当前实例的消费者名称
+    private final String consumerName = IdUtil.fastSimpleUUID();
+
+    /**
+     * 创建消费者组（已存在时忽略）
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        if (!isEnabled()) {
+            return;
+        }
+        try {
+            getStream().createGroup(StreamCreateGroupArgs.name(CONSUMER_GROUP).id(StreamMessageId.ALL).makeStream());
+        } catch (RedisException e) {
+            if (!StrUtil.contains(e.getMessage(), "BUSYGROUP")) {
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * 是否开启写缓冲
+     *
+     * @return
+     */
+    public boolean isEnabled() {
+        return userAnswerWriteBehindConfig.isEnabled();
+    }
+
+    /**
+     * 写入缓冲
+     *
+     * @param userAnswer 已填充评分结果的答题记录，没有 id 时自动生成
+     * @return 该 id 的记录已在缓冲中时返回 false（重复提交）
+     */
+    public boolean enqueue(UserAnswer userAnswer) {
+        if (userAnswer.getId() == null) {
+            userAnswer.setId(idSegmentManager.nextId(UserAnswer.class));
+        }
+        // 以提交时间作为创建时间，不受写入延迟影响
+        Date now = new Date();
+        userAnswer.setCreateTime(now);
+        userAnswer.setUpdateTime(now);
+        String id = String.valueOf(userAnswer.getId());
+        String json = toJson(userAnswer);
+        RMap<String, String> pendingMap = getPendingMap();
+        if (!pendingMap.fastPutIfAbsent(id, json)) {
+            return false;
+        }
+        try {
+            getStream().add(StreamAddArgs.entry(FIELD_DATA, json));
+        } catch (Exception e) {
+            pendingMap.fastRemove(id);
+            throw e;
+        }
+        return true;
+    }
+
+    /**
+     * 查询仍在缓冲中、尚未写入数据库的记录
+     *
+     * @param id
+     * @return 不在缓冲中时返回 null
+     */
+    public UserAnswer getBuffered(Long id) {
+        String json = getPendingMap().get(String.valueOf(id));
+        return json == null ? null : toUserAnswer(json);
+    }
+
+    /**
+     * 读取一批尚未分配给任何消费者的记录
+     *
+     * @param count
+     * @return 消息 id => 答题记录
+     */
+    public Map<StreamMessageId, UserAnswer> poll(int count) {
+        Map<StreamMessageId, Map<String, String>> messageMap = getStream().readGroup(CONSUMER_GROUP, consumerName,
+                StreamReadGroupArgs.neverDelivered().count(count));
+        return parse(messageMap);
+    }
+
+    /**
+     * 认领已分配但长时间未确认的记录（写入失败或消费者所在实例宕机）
+     *
+     * @param minIdleMillis 最短未确认时间
+     * @param count
+     * @return 消息 id => 答题记录
+     */
+    public Map<StreamMessageId, UserAnswer> claimStale(long minIdleMillis, int count) {
+        AutoClaimResult<String, String> claimResult = getStream().autoClaim(CONSUMER_GROUP, consumerName,
+                minIdleMillis, TimeUnit.MILLISECONDS, StreamMessageId.MIN, count);
+        return parse(claimResult.getMessages());
+    }
+
+    /**
+     * 确认已写入数据库，移出缓冲
+     *
+     * @param messageMap 消息 id => 答题记录
+     */
+    public void ack(Map<StreamMessageId, UserAnswer> messageMap) {
+        StreamMessageId[] messageIds = messageMap.keySet().toArray(new StreamMessageId[0]);
+        RBatch batch = redissonClient.createBatch();
+        batch.getStream(USER_ANSWER_STREAM_KEY, StringCodec.INSTANCE).ackAsync(CONSUMER_GROUP, messageIds);
+        batch.getStream(USER_ANSWER_STREAM_KEY, StringCodec.INSTANCE).removeAsync(messageIds);
+        String[] ids = messageMap.values().stream()
+                .map(userAnswer -> String.valueOf(userAnswer.getId()))
+                .toArray(String[]::new);
+        if (ids.length > 0) {
+            batch.getMap(USER_ANSWER_PENDING_KEY, StringCodec.INSTANCE).fastRemoveAsync((Object[]) ids);
+        }
+        batch.execute();
+    }
+
+    /**
+     * 积压的记录数（已分配未确认 + 未分配）
+     *
+     * @return
+     */
+    public long getBacklogSize() {
+        return getStream().size();
+    }
+
+    /**
+     * 最早一条未确认记录的等待时间（毫秒）
+     *
+     * @return 没有未确认记录时返回 0
+     */
+    public long getPendingLagMillis() {
+        PendingResult pendingResult = getStream().getPendingInfo(CONSUMER_GROUP);
+        if (pendingResult.getTotal() == 0 || pendingResult.getLowestId() == null) {
+            return 0L;
+        }
+        // 消息 id 的第一部分为写入时的毫秒时间戳
+        return Math.max(0L, System.currentTimeMillis() - pendingResult.getLowestId().getId0());
+    }
+
+    /**
+     * 解析消息，无法解析的消息直接确认丢弃，避免反复重试
+     *
+     * @param messageMap
+     * @return
+     */
+    private Map<StreamMessageId, UserAnswer> parse(Map<StreamMessageId, Map<String, String>> messageMap) {
+        Map<StreamMessageId, UserAnswer> userAnswerMap = new LinkedHashMap<>();
+        if (messageMap == null) {
+            return userAnswerMap;
+        }
+        for (Map.Entry<StreamMessageId, Map<String, String>> entry : messageMap.entrySet()) {
+            try {
+                userAnswerMap.put(entry.getKey(), toUserAnswer(entry.getValue().get(FIELD_DATA)));
+            } catch (Exception e) {
+                log.error("invalid user answer message, messageId = {}", entry.getKey(), e);
+                getStream().ack(CONSUMER_GROUP, entry.getKey());
+                getStream().remove(entry.getKey());
+            }
+        }
+        return userAnswerMap;
+    }
+
+    private String toJson(UserAnswer userAnswer) {
+        // 以封装类保存，答案为列表，写入前再按 ChoicesUtils 的规则还原
+        return JSONUtil.toJsonStr(UserAnswerVO.objToVo(userAnswer));
+    }
+
+    private UserAnswer toUserAnswer(String json) {
+        UserAnswer userAnswer = UserAnswerVO.voToObj(JSONUtil.toBean(json, UserAnswerVO.class));
+        if (userAnswer.getId() == null) {
+            throw new IllegalArgumentException("user answer id is null");
+        }
+        return userAnswer;
+    }
+
+    private RStream<String, String> getStream() {
+        return redissonClient.getStream(USER_ANSWER_STREAM_KEY, StringCodec.INSTANCE);
+    }
+
+    private RMap<String, String> getPendingMap() {
+        return redissonClient.getMap(USER_ANSWER_PENDING_KEY, StringCodec.INSTANCE);
+    }
+}
@@ -0,0 +1,153 @@
+package com.tong.aidada.manager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tong.aidada.model.entity.User;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.Resource;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * 用户本地缓存（短时有效，用户变更时通过 Redis 发布订阅通知所有实例失效）
+ * <p>
+ * 失效由 UserCacheInvalidateInterceptor 在 user 表的每条更新、删除语句执行后触发，
+ * 不依赖调用方使用哪种更新方式。缓存中的用户不含密码，每次读取返回副本，调用方修改不会影响缓存
+ */
+@Component
+@Slf4j
+public class UserCacheManager {
+
+    @Resource
+    private RedissonClient redissonClient;
+
+    // 用户缓存失效通知的频道
+    private static final String USER_CACHE_INVALIDATE_TOPIC = "user_cache_invalidate_topic";
+
+    // 失效通知中表示“全部用户”的消息
+    private static final String INVALIDATE_ALL_MESSAGE = "*";
+
+    /**
+     * 用户缓存，即使失效通知丢失，最多 30 秒后也会重新查询
+     */
+    private final Cache<Long, User> userCacheMap =
+            Caffeine.newBuilder().initialCapacity(1024)
+                    .maximumSize(10_000L)
+                    .expireAfterWrite(30L, TimeUnit.SECONDS)
+                    .build();
+
+    /**
+     * 用户失效时需要同步失效的其他缓存
+     */
+    private final List<Consumer<Long>> invalidateListenerList = new CopyOnWriteArrayList<>();
+
+    private RTopic invalidateTopic;
+
+    @PostConstruct
+    public void init() {
+        invalidateTopic = redissonClient.getTopic(USER_CACHE_INVALIDATE_TOPIC, StringCodec.INSTANCE);
+        invalidateTopic.addListener(String.class, (channel, userId) -> {
+            if (INVALIDATE_ALL_MESSAGE.equals(userId)) {
+                invalidateAllLocal();
+                return;
+            }
+            try {
+                invalidateLocal(Long.valueOf(userId));
+            } catch (NumberFormatException e) {
+                log.error("invalid user cache invalidate message: {}", userId);
+            }
+        });
+    }
+
+    /**
+     * 获取用户，缓存未命中时通过 loader 查询
+     *
+     * @param userId
+     * @param loader
+     * @return 用户副本（不含密码），用户不存在返回 null
+     */
+    public User getUser(Long userId, Function<Long, User> loader) {
+        User user = userCacheMap.get(userId, key -> copyWithoutPassword(loader.apply(key)));
+        return copyWithoutPassword(user);
+    }
+
+    /**
+     * 注册用户失效监听（本实例及其他实例的用户变更都会通知）
+     *
+     * @param listener 参数为失效的用户 id，为 null 时表示全部失效
+     */
+    public void addInvalidateListener(Consumer<Long> listener) {
+        invalidateListenerList.add(listener);
+    }
+
+    /**
+     * 使所有实例的该用户缓存失效（user 表按 id 更新、删除后由 UserCacheInvalidateInterceptor 调用）
+     *
+     * @param userId
+     */
+    public void invalidate(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        invalidateLocal(userId);
+        try {
+            invalidateTopic.publish(String.valueOf(userId));
+        } catch (Exception e) {
+            // 通知失败时依赖缓存过期兜底
+            log.error("publish user cache invalidate error, userId = {}", userId, e);
+        }
+    }
+
+    /**
+     * 使所有实例的全部用户缓存失效（无法确定受影响用户的批量更新时调用）
+     */
+    public void invalidateAll() {
+        invalidateAllLocal();
+        try {
+            invalidateTopic.publish(INVALIDATE_ALL_MESSAGE);
+        } catch (Exception e) {
+            log.error("publish user cache invalidate all error", e);
+        }
+    }
+
+    private void invalidateLocal(Long userId) {
+        userCacheMap.invalidate(userId);
+        for (Consumer<Long> listener : invalidateListenerList) {
+            listener.accept(userId);
+        }
+    }
+
+    private void invalidateAllLocal() {
+        // 监听方以 null 表示全部失效
+        userCacheMap.invalidateAll();
+        for (Consumer<Long> listener : invalidateListenerList) {
+            listener.accept(null);
+        }
+    }
+
+    private User copyWithoutPassword(User source) {
+        if (source == null) {
+            return null;
+        }
+        User target = new User();
+        target.setId(source.getId());
+        target.setUserAccount(source.getUserAccount());
+        target.setUserName(source.getUserName());
+        target.setUserAvatar(source.getUserAvatar());
+        target.setUserProfile(source.getUserProfile());
+        target.setUserRole(source.getUserRole());
+        target.setCreateTime(source.getCreateTime());
+        target.setUpdateTime(source.getUpdateTime());
+        target.setIsDelete(source.getIsDelete());
+        return target;
+    }
+}
@@ -0,0 +1,50 @@
+package com.tong.aidada.manager;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tong.aidada.model.entity.User;
+import com.tong.aidada.model.vo.UserVO;
+import com.tong.aidada.service.UserService;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.Resource;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 用户视图批量加载器（封装类关联查询创建人时使用）
+ */
+@Component
+public class UserVOLoader extends BatchLoader<Long, UserVO> {
+
+    @Resource
+    private UserService userService;
+
+    @Resource
+    private UserCacheManager userCacheManager;
+
+    public UserVOLoader() {
+        super("user_vo", Caffeine.newBuilder().initialCapacity(1024)
+                .maximumSize(10_000L)
+                // 用户变更时会主动失效，过期时间只用于兜底
+                .expireAfterWrite(5L, TimeUnit.MINUTES)
+                .build());
+    }
+
+    @PostConstruct
+    public void init() {
+        // 用户变更（包括其他实例上的变更）时同步失效
+        userCacheManager.addInvalidateListener(this::invalidate);
+    }
+
+    @Override
+    protected Map<Long, UserVO> batchLoad(Set<Long> userIds) {
+        Map<Long, UserVO> userVOMap = new HashMap<>();
+        for (User user : userService.listByIds(userIds)) {
+            userVOMap.put(user.getId(), userService.getUserVO(user));
+        }
+        return userVOMap;
+    }
+}
@@ -0,0 +1,23 @@
+package com.tong.aidada.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.tong.aidada.model.entity.AppStatistic;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+/**
+ * @author Tong
+ * @description 针对表【app_statistic(应用统计)】的数据库操作Mapper
+ * @Entity com.tong.aidada.model.entity.AppStatistic
+ */
+public interface AppStatisticMapper extends BaseMapper<AppStatistic> {
+
+    /**
+     * 批量写入统计（已存在则覆盖）
+     *
+     * @param appStatisticList
+     * @return
+     */
+    int upsertBatch(@Param("list") List<AppStatistic> appStatisticList);
+}
@@ -0,0 +1,39 @@
+package com.tong.aidada.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.tong.aidada.model.entity.IdSegment;
+import org.apache.ibatis.annotations.Param;
+
+/**
+ * @author Tong
+ * @description 针对表【id_segment(号段)】的数据库操作Mapper
+ * @Entity com.tong.aidada.model.entity.IdSegment
+ */
+public interface IdSegmentMapper extends BaseMapper<IdSegment> {
+
+    /**
+     * 分配下一个号段（已分配的最大 id 增加一个号段长度）
+     *
+     * @param bizTag
+     * @return 影响行数，业务标识不存在时为 0
+     */
+    int increaseMaxId(@Param("bizTag") String bizTag);
+
+    /**
+     * 新增业务标识（已存在则忽略）
+     *
+     * @param bizTag
+     * @param maxId
+     * @param step
+     * @return
+     */
+    int insertIgnore(@Param("bizTag") String bizTag, @Param("maxId") long maxId, @Param("step") int step);
+
+    /**
+     * 查询表中已有的最大 id
+     *
+     * @param tableName 表名（由实体映射得到，不来自用户输入）
+     * @return 空表时返回 null
+     */
+    Long selectMaxIdOfTable(@Param("tableName") String tableName);
+}
@@ -2,6 +2,10 @@ package com.tong.aidada.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.tong.aidada.model.entity.UserAnswer;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
+
+import java.util.List;
 
 /**
  * @author Tong
@@ -11,6 +15,21 @@ import com.tong.aidada.model.entity.UserAnswer;
  */
 public interface UserAnswerMapper extends BaseMapper<UserAnswer> {
 
+    /**
+     * 流式读取应用的答题记录（按 id 升序，逐行回调，不在内存中保留结果集）
+     *
+     * @param appId
+     * @param resultHandler
+     */
+    void streamByAppId(@Param("appId") Long appId, ResultHandler<UserAnswer> resultHandler);
+
+    /**
+     * 批量写入答题记录（id 已存在的记录忽略，重复写入不影响结果）
+     *
+     * @param userAnswerList
+     * @return
+     */
+    int insertIgnoreBatch(@Param("list") List<UserAnswer> userAnswerList);
 }
 
 
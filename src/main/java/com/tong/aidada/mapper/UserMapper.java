@@ -2,6 +2,7 @@ package com.tong.aidada.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.tong.aidada.model.entity.User;
+import org.apache.ibatis.annotations.Param;
 
 /**
  * @author Tong
@@ -11,6 +12,13 @@ import com.tong.aidada.model.entity.User;
  */
 public interface UserMapper extends BaseMapper<User> {
 
+    /**
+     * 查询已逻辑删除的同名账号数（逻辑删除的账号仍占用账号唯一索引）
+     *
+     * @param userAccount
+     * @return
+     */
+    long countDeletedByUserAccount(@Param("userAccount") String userAccount);
 }
 
 
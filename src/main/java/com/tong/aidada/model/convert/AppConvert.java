@@ -0,0 +1,108 @@
+package com.tong.aidada.model.convert;
+
+import com.tong.aidada.model.dto.app.AppAddRequest;
+import com.tong.aidada.model.dto.app.AppEditRequest;
+import com.tong.aidada.model.dto.app.AppUpdateRequest;
+import com.tong.aidada.model.entity.App;
+import com.tong.aidada.model.vo.AppVO;
+
+/**
+ * 应用对象转换（由 ConvertGenerator 生成，请勿手动修改）
+ */
+public final class AppConvert {
+
+    private AppConvert() {
+    }
+
+    /**
+     * AppAddRequest => App
+     *
+     * @param source
+     * @param target
+     */
+    public static void copyProperties(AppAddRequest source, App target) {
+        target.setAppName(source.getAppName());
+        target.setAppDesc(source.getAppDesc());
+        target.setAppIcon(source.getAppIcon());
+        target.setAppType(source.getAppType());
+        target.setScoringStrategy(source.getScoringStrategy());
+    }
+
+    /**
+     * AppEditRequest => App
+     *
+     * @param source
+     * @param target
+     */
+    public static void copyProperties(AppEditRequest source, App target) {
+        target.setId(source.getId());
+        target.setAppName(source.getAppName());
+        target.setAppDesc(source.getAppDesc());
+        target.setAppIcon(source.getAppIcon());
+        target.setAppType(source.getAppType());
+        target.setScoringStrategy(source.getScoringStrategy());
+    }
+
+    /**
+     * AppUpdateRequest => App
+     *
+     * @param source
+     * @param target
+     */
+    public static void copyProperties(AppUpdateRequest source, App target) {
+        target.setId(source.getId());
+        target.setAppName(source.getAppName());
+        target.setAppDesc(source.getAppDesc());
+        target.setAppIcon(source.getAppIcon());
+        target.setAppType(source.getAppType());
+        target.setScoringStrategy(source.getScoringStrategy());
+        target.setReviewStatus(source.getReviewStatus());
+        target.setReviewMessage(source.getReviewMessage());
+        target.setReviewerId(source.getReviewerId());
+        target.setReviewTime(source.getReviewTime());
+    }
+
+    /**
+     * App => AppVO
+     *
+     * @param source
+     * @param target
+     */
+    public static void copyProperties(App source, AppVO target) {
+        target.setId(source.getId());
+        target.setAppName(source.getAppName());
+        target.setAppDesc(source.getAppDesc());
+        target.setAppIcon(source.getAppIcon());
+        target.setAppType(source.getAppType());
+        target.setScoringStrategy(source.getScoringStrategy());
+        target.setReviewStatus(source.getReviewStatus());
+        target.setReviewMessage(source.getReviewMessage());
+        target.setReviewerId(source.getReviewerId());
+        target.setReviewTime(source.getReviewTime());
+        target.setUserId(source.getUserId());
+        target.setCreateTime(source.getCreateTime());
+        target.setUpdateTime(source.getUpdateTime());
+    }
+
+    /**
+     * AppVO => App
+     *
+     * @param source
+     * @param target
+     */
+    public static void copyProperties(AppVO source, App target) {
+        target.setId(source.getId());
+        target.setAppName(source.getAppName());
+        target.setAppDesc(source.getAppDesc());
+        target.setAppIcon(source.getAppIcon());
+        target.setAppType(source.getAppType());
+        target.setScoringStrategy(source.getScoringStrategy());
+        target.setReviewStatus(source.getReviewStatus());
+        target.setReviewMessage(source.getReviewMessage());
+        target.setReviewerId(source.getReviewerId());
+        target.setReviewTime(source.getReviewTime());
+        target.setUserId(source.getUserId());
+        target.setCreateTime(source.getCreateTime());
+        target.setUpdateTime(source.getUpdateTime());
+    }
+}
@@ -0,0 +1,76 @@
+package com.tong.aidada.model.convert;
+
+import com.tong.aidada.model.dto.question.QuestionAddRequest;
+import com.tong.aidada.model.dto.question.QuestionEditRequest;
+import com.tong.aidada.model.dto.question.QuestionUpdateRequest;
+import com.tong.aidada.model.entity.Question;
+import com.tong.aidada.model.vo.QuestionVO;
+
+/**
+ * 题目对象转换（由 ConvertGenerator 生成，请勿手动修改）
+ */
+public final class QuestionConvert {
+
+    private QuestionConvert() {
+    }
+
+    /**
+     * QuestionAddRequest => Question
+     *
+     * @param source
+     * @param target
+     */
+    public static void copyProperties(QuestionAddRequest source, Question target) {
+        target.setAppId(source.getAppId());
+    }
+
+    /**
+     * QuestionEditRequest => Question
+     *
+     * @param source
+     * @param target
+     */
+    public static void copyProperties(QuestionEditRequest source, Question target) {
+        target.setId(source.getId());
+        target.setAppId(source.getAppId());
+    }
+
+    /**
+     * QuestionUpdateRequest => Question
+     *
+     * @param source
+     * @param target
+     */
+    public static void copyProperties(QuestionUpdateRequest source, Question target) {
+        target.setId(source.getId());
+        target.setAppId(source.getAppId());
+    }
+
+    /**
+     * Question => QuestionVO
+     *
+     * @param source
+     * @param target
+     */
+    public static void copyProperties(Question source, QuestionVO target) {
+        target.setId(source.getId());
+        target.setAppId(source.getAppId());
+        target.setUserId(source.getUserId());
+        target.setCreateTime(source.getCreateTime());
+        target.setUpdateTime(source.getUpdateTime());
+    }
+
+    /**
+     * QuestionVO => Question
+     *
+     * @param source
+     * @param target
+     */
+    public static void copyProperties(QuestionVO source, Question target) {
+        target.setId(source.getId());
+        target.setAppId(source.getAppId());
+        target.setUserId(source.getUserId());
+        target.setCreateTime(source.getCreateTime());
+        target.setUpdateTime(source.getUpdateTime());
+    }
+}
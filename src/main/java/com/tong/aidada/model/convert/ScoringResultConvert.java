@@ -0,0 +1,94 @@
+package com.tong.aidada.model.convert;
+
+import com.tong.aidada.model.dto.scoringresult.ScoringResultAddRequest;
+import com.tong.aidada.model.dto.scoringresult.ScoringResultEditRequest;
+import com.tong.aidada.model.dto.scoringresult.ScoringResultUpdateRequest;
+import com.tong.aidada.model.entity.ScoringResult;
+import com.tong.aidada.model.vo.ScoringResultVO;
+
+/**
+ * 评分结果对象转换（由 ConvertGenerator 生成，请勿手动修改）
+ */
+public final class ScoringResultConvert {
+
+    private ScoringResultConvert() {
+    }
+
+    /**
+     * ScoringResultAddRequest => ScoringResult
+     *
+     * @param source
+     * @param target
+     */
+    public static void copyProperties(ScoringResultAddRequest source, ScoringResult target) {
+        target.setResultName(source.getResultName());
+        target.setResultDesc(source.getResultDesc());
+        target.setResultPicture(source.getResultPicture());
+        target.setResultScoreRange(source.getResultScoreRange());
+        target.setAppId(source.getAppId());
+    }
+
+    /**
+     * ScoringResultEditRequest => ScoringResult
+     *
+     * @param source
+     * @param target
+     */
+    public static void copyProperties(ScoringResultEditRequest source, ScoringResult target) {
+        target.setId(source.getId());
+        target.setResultName(source.getResultName());
+        target.setResultDesc(source.getResultDesc());
+        target.setResultPicture(source.getResultPicture());
+        target.setResultScoreRange(source.getResultScoreRange());
+    }
+
+    /**
+     * ScoringResultUpdateRequest => ScoringResult
+     *
+     * @param source
+     * @param target
+     */
+    public static void copyProperties(ScoringResultUpdateRequest source, ScoringResult target) {
+        target.setId(source.getId());
+        target.setResultName(source.getResultName());
+        target.setResultDesc(source.getResultDesc());
+        target.setResultPicture(source.getResultPicture());
+        target.setResultScoreRange(source.getResultScoreRange());
+    }
+
+    /**
+     * ScoringResult => ScoringResultVO
+     *
+     * @param source
+     * @param target
+     */
+    public static void copyProperties(ScoringResult source, ScoringResultVO target) {
+        target.setId(source.getId());
+        target.setResultName(source.getResultName());
+        target.setResultDesc(source.getResultDesc());
+        target.setResultPicture(source.getResultPicture());
+        target.setResultScoreRange(source.getResultScoreRange());
+        target.setAppId(source.getAppId());
+        target.setUserId(source.getUserId());
+        target.setCreateTime(source.getCreateTime());
+        target.setUpdateTime(source.getUpdateTime());
+    }
+
+    /**
+     * ScoringResultVO => ScoringResult
+     *
+     * @param source
+     * @param target
+     */
+    public static void copyProperties(ScoringResultVO source, ScoringResult target) {
+        target.setId(source.getId());
+        target.setResultName(source.getResultName());
+        target.setResultDesc(source.getResultDesc());
+        target.setResultPicture(source.getResultPicture());
+        target.setResultScoreRange(source.getResultScoreRange());
+        target.setAppId(source.getAppId());
+        target.setUserId(source.getUserId());
+        target.setCreateTime(source.getCreateTime());
+        target.setUpdateTime(source.getUpdateTime());
+    }
+}
@@ -0,0 +1,91 @@
+package com.tong.aidada.model.convert;
+
+import com.tong.aidada.model.dto.useranswer.UserAnswerAddRequest;
+import com.tong.aidada.model.dto.useranswer.UserAnswerEditRequest;
+import com.tong.aidada.model.dto.useranswer.UserAnswerUpdateRequest;
+import com.tong.aidada.model.entity.UserAnswer;
+import com.tong.aidada.model.vo.UserAnswerVO;
+
+/**
+ * 用户答案对象转换（由 ConvertGenerator 生成，请勿手动修改）
+ */
+public final class UserAnswerConvert {
+
+    private UserAnswerConvert() {
+    }
+
+    /**
+     * UserAnswerAddRequest => UserAnswer
+     *
+     * @param source
+     * @param target
+     */
+    public static void copyProperties(UserAnswerAddRequest source, UserAnswer target) {
+        target.setId(source.getId());
+        target.setAppId(source.getAppId());
+    }
+
+    /**
+     * UserAnswerEditRequest => UserAnswer
+     *
+     * @param source
+     * @param target
+     */
+    public static void copyProperties(UserAnswerEditRequest source, UserAnswer target) {
+        target.setId(source.getId());
+        target.setAppId(source.getAppId());
+    }
+
+    /**
+     * UserAnswerUpdateRequest => UserAnswer
+     *
+     * @param source
+     * @param target
+     */
+    public static void copyProperties(UserAnswerUpdateRequest source, UserAnswer target) {
+        target.setId(source.getId());
+        target.setAppId(source.getAppId());
+    }
+
+    /**
+     * UserAnswer => UserAnswerVO
+     *
+     * @param source
+     * @param target
+     */
+    public static void copyProperties(UserAnswer source, UserAnswerVO target) {
+        target.setId(source.getId());
+        target.setAppId(source.getAppId());
+        target.setAppType(source.getAppType());
+        target.setScoringStrategy(source.getScoringStrategy());
+        target.setResultId(source.getResultId());
+        target.setResultName(source.getResultName());
+        target.setResultDesc(source.getResultDesc());
+        target.setResultPicture(source.getResultPicture());
+        target.setResultScore(source.getResultScore());
+        target.setUserId(source.getUserId());
+        target.setCreateTime(source.getCreateTime());
+        target.setUpdateTime(source.getUpdateTime());
+    }
+
+    /**
+     * UserAnswerVO => UserAnswer
+     *
+     * @param source
+     * @param target
+     */
+    public static void copyProperties(UserAnswerVO source, UserAnswer target) {
+        target.setId(source.getId());
+        target.setAppId(source.getAppId());
+        target.setAppType(source.getAppType());
+        target.setScoringStrategy(source.getScoringStrategy());
+        target.setResultId(source.getResultId());
+        target.setResultName(source.getResultName());
+        target.setResultDesc(source.getResultDesc());
+        target.setResultPicture(source.getResultPicture());
+        target.setResultScore(source.getResultScore());
+        target.setUserId(source.getUserId());
+        target.setCreateTime(source.getCreateTime());
+        target.setUpdateTime(source.getUpdateTime());
+    }
+}
@@ -0,0 +1,87 @@
+package com.tong.aidada.model.convert;
+
+import com.tong.aidada.model.dto.user.UserAddRequest;
+import com.tong.aidada.model.dto.user.UserUpdateMyRequest;
+import com.tong.aidada.model.dto.user.UserUpdateRequest;
+import com.tong.aidada.model.entity.User;
+import com.tong.aidada.model.vo.LoginUserVO;
+import com.tong.aidada.model.vo.UserVO;
+
+/**
+ * 用户对象转换（由 ConvertGenerator 生成，请勿手动修改）
+ */
+public final class UserConvert {
+
+    private UserConvert() {
+    }
+
+    /**
+     * UserAddRequest => User
+     *
+     * @param source
+     * @param target
+     */
+    public static void copyProperties(UserAddRequest source, User target) {
+        target.setUserAccount(source.getUserAccount());
+        target.setUserName(source.getUserName());
+        target.setUserAvatar(source.getUserAvatar());
+        target.setUserRole(source.getUserRole());
+    }
+
+    /**
+     * UserUpdateRequest => User
+     *
+     * @param source
+     * @param target
+     */
+    public static void copyProperties(UserUpdateRequest source, User target) {
+        target.setId(source.getId());
+        target.setUserName(source.getUserName());
+        target.setUserAvatar(source.getUserAvatar());
+        target.setUserProfile(source.getUserProfile());
+        target.setUserRole(source.getUserRole());
+    }
+
+    /**
+     * UserUpdateMyRequest => User
+     *
+     * @param source
+     * @param target
+     */
+    public static void copyProperties(UserUpdateMyRequest source, User target) {
+        target.setUserName(source.getUserName());
+        target.setUserAvatar(source.getUserAvatar());
+        target.setUserProfile(source.getUserProfile());
+    }
+
+    /**
+     * User => UserVO
+     *
+     * @param source
+     * @param target
+     */
+    public static void copyProperties(User source, UserVO target) {
+        target.setId(source.getId());
+        target.setUserName(source.getUserName());
+        target.setUserAvatar(source.getUserAvatar());
+        target.setUserProfile(source.getUserProfile());
+        target.setUserRole(source.getUserRole());
+        target.setCreateTime(source.getCreateTime());
+    }
+
+    /**
+     * User => LoginUserVO
+     *
+     * @param source
+     * @param target
+     */
+    public static void copyProperties(User source, LoginUserVO target) {
+        target.setId(source.getId());
+        target.setUserName(source.getUserName());
+        target.setUserAvatar(source.getUserAvatar());
+        target.setUserProfile(source.getUserProfile());
+        target.setUserRole(source.getUserRole());
+        target.setCreateTime(source.getCreateTime());
+        target.setUpdateTime(source.getUpdateTime());
+    }
+}
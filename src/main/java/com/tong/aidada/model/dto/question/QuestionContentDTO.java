@@ -24,6 +24,43 @@ public class QuestionContentDTO {
      */
     private List<Option> options;
 
+    /**
+     * 根据选项标识查找选项
+     *
+     * @param key 选项标识
+     * @return 未找到返回 null
+     */
+    public Option findOption(String key) {
+        if (options == null || key == null) {
+            return null;
+        }
+        for (Option option : options) {
+            if (key.equals(option.getKey())) {
+                return option;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 根据选项序号（来自紧凑编码，A-Z 对应 0-25）获取选项
+     * <p>
+     * 选项按 A、B、C 顺序排列时直接按位置取，无需遍历；顺序不一致时按标识查找
+     *
+     * @param index
+     * @return 未找到返回 null
+     */
+    public Option getOptionAt(int index) {
+        if (options == null || index < 0) {
+            return null;
+        }
+        String key = String.valueOf((char) ('A' + index));
+        if (index < options.size() && key.equals(options.get(index).getKey())) {
+            return options.get(index);
+        }
+        return findOption(key);
+    }
+
     /**
      * 题目选项
      */
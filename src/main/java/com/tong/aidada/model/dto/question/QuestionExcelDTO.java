@@ -0,0 +1,45 @@
+package com.tong.aidada.model.dto.question;
+
+import com.alibaba.excel.annotation.ExcelProperty;
+import lombok.Data;
+
+import java.io.Serializable;
+
+/**
+ * 题目导入行（每行一个选项，题目列不为空时开始新题目，为空时属于上一道题）
+ */
+@Data
+public class QuestionExcelDTO implements Serializable {
+
+    /**
+     * 题目标题
+     */
+    @ExcelProperty("题目")
+    private String title;
+
+    /**
+     * 选项标识，如 A
+     */
+    @ExcelProperty("选项")
+    private String key;
+
+    /**
+     * 选项内容
+     */
+    @ExcelProperty("选项内容")
+    private String value;
+
+    /**
+     * 选项得分（得分类应用）
+     */
+    @ExcelProperty("得分")
+    private Integer score;
+
+    /**
+     * 选项结果属性（测评类应用），如 I
+     */
+    @ExcelProperty("结果")
+    private String result;
+
+    private static final long serialVersionUID = 1L;
+}
@@ -0,0 +1,45 @@
+package com.tong.aidada.model.dto.scoringresult;
+
+import com.alibaba.excel.annotation.ExcelProperty;
+import lombok.Data;
+
+import java.io.Serializable;
+
+/**
+ * 评分结果导入行
+ */
+@Data
+public class ScoringResultExcelDTO implements Serializable {
+
+    /**
+     * 结果名称，如物流师
+     */
+    @ExcelProperty("结果名称")
+    private String resultName;
+
+    /**
+     * 结果描述
+     */
+    @ExcelProperty("结果描述")
+    private String resultDesc;
+
+    /**
+     * 结果图片
+     */
+    @ExcelProperty("结果图片")
+    private String resultPicture;
+
+    /**
+     * 结果属性集合，逗号分隔，如 I,S,T,J
+     */
+    @ExcelProperty("结果属性")
+    private String resultProp;
+
+    /**
+     * 结果得分范围，如 80，表示 80及以上的分数命中此结果
+     */
+    @ExcelProperty("得分范围")
+    private Integer resultScoreRange;
+
+    private static final long serialVersionUID = 1L;
+}
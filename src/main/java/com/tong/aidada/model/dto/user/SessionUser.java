@@ -0,0 +1,49 @@
+package com.tong.aidada.model.dto.user;
+
+import com.tong.aidada.model.entity.User;
+import lombok.Data;
+
+import java.io.Serializable;
+
+/**
+ * 会话中保存的登录用户（仅保留必要字段，完整信息通过缓存查询）
+ */
+@Data
+public class SessionUser implements Serializable {
+
+    /**
+     * 当前结构版本，结构变更时递增，旧版本会话在读取时迁移
+     */
+    public static final int CURRENT_VERSION = 1;
+
+    /**
+     * 用户 id
+     */
+    private Long id;
+
+    /**
+     * 用户角色：user/admin/ban
+     */
+    private String userRole;
+
+    /**
+     * 结构版本
+     */
+    private Integer version;
+
+    /**
+     * 从用户实体构造
+     *
+     * @param user
+     * @return
+     */
+    public static SessionUser of(User user) {
+        SessionUser sessionUser = new SessionUser();
+        sessionUser.setId(user.getId());
+        sessionUser.setUserRole(user.getUserRole());
+        sessionUser.setVersion(CURRENT_VERSION);
+        return sessionUser;
+    }
+
+    private static final long serialVersionUID = 1L;
+}
@@ -0,0 +1,210 @@
+package com.tong.aidada.model.dto.useranswer;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 用户答案紧凑编码（每道题的选项序号按位压缩存储）
+ * <p>
+ * 格式：[版本号 1 字节][每题位数 1 字节][题目数 varint][选项序号，低位在前按位排列]
+ * 选项标识 A-Z 对应序号 0-25，无法编码（如非单个大写字母）时不生成编码，仍使用 JSON
+ */
+public final class PackedChoices implements Serializable {
+
+    /**
+     * 当前编码版本
+     */
+    public static final byte VERSION = 1;
+
+    /**
+     * 最多支持的选项个数（A-Z）
+     */
+    private static final int MAX_OPTION_NUM = 26;
+
+    private final byte[] bytes;
+
+    private final int bitsPerChoice;
+
+    private final int size;
+
+    private final int dataOffset;
+
+    private PackedChoices(byte[] bytes) {
+        if (bytes == null || bytes.length < 3 || bytes[0] != VERSION) {
+            throw new IllegalArgumentException("unsupported packed choices");
+        }
+        this.bytes = bytes;
+        this.bitsPerChoice = bytes[1];
+        // 读取 varint 题目数
+        int value = 0;
+        int shift = 0;
+        int pos = 2;
+        byte b;
+        do {
+            b = bytes[pos++];
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        this.size = value;
+        this.dataOffset = pos;
+    }
+
+    /**
+     * 从数据库中的字节恢复
+     *
+     * @param bytes
+     * @return
+     */
+    public static PackedChoices of(byte[] bytes) {
+        return new PackedChoices(bytes);
+    }
+
+    /**
+     * 编码用户答案
+     *
+     * @param choices 用户答案列表，如 [A, B, C]
+     * @return 无法编码时返回 null
+     */
+    public static PackedChoices encode(List<String> choices) {
+        if (choices == null) {
+            return null;
+        }
+        int size = choices.size();
+        int[] indexes = new int[size];
+        int maxIndex = 0;
+        for (int i = 0; i < size; i++) {
+            int index = indexOf(choices.get(i));
+            if (index < 0) {
+                return null;
+            }
+            indexes[i] = index;
+            maxIndex = Math.max(maxIndex, index);
+        }
+        int bitsPerChoice = Math.max(1, 32 - Integer.numberOfLeadingZeros(maxIndex));
+        // 头部：版本号 + 位数 + varint 题目数
+        byte[] header = new byte[7];
+        header[0] = VERSION;
+        header[1] = (byte) bitsPerChoice;
+        int headerLength = 2;
+        int value = size;
+        while ((value & ~0x7F) != 0) {
+            header[headerLength++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        header[headerLength++] = (byte) value;
+        byte[] bytes = Arrays.copyOf(header, headerLength + (size * bitsPerChoice + 7) / 8);
+        // 按位写入选项序号
+        int bitPos = 0;
+        for (int index : indexes) {
+            for (int bit = 0; bit < bitsPerChoice; bit++, bitPos++) {
+                if ((index >>> bit & 1) != 0) {
+                    bytes[headerLength + (bitPos >>> 3)] |= (byte) (1 << (bitPos & 7));
+                }
+            }
+        }
+        return new PackedChoices(bytes);
+    }
+
+    /**
+     * 选项标识转序号
+     *
+     * @param key 选项标识，如 A
+     * @return 序号，非法标识返回 -1
+     */
+    public static int indexOf(String key) {
+        if (key == null || key.length() != 1) {
+            return -1;
+        }
+        int index = key.charAt(0) - 'A';
+        return index >= 0 && index < MAX_OPTION_NUM ? index : -1;
+    }
+
+    /**
+     * 题目数
+     *
+     * @return
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 获取第 i 道题的选项序号
+     *
+     * @param i
+     * @return
+     */
+    public int indexAt(int i) {
+        if (i < 0 || i >= size) {
+            throw new IndexOutOfBoundsException("index: " + i + ", size: " + size);
+        }
+        int index = 0;
+        int bitPos = i * bitsPerChoice;
+        for (int bit = 0; bit < bitsPerChoice; bit++, bitPos++) {
+            if ((bytes[dataOffset + (bitPos >>> 3)] >>> (bitPos & 7) & 1) != 0) {
+                index |= 1 << bit;
+            }
+        }
+        return index;
+    }
+
+    /**
+     * 获取第 i 道题的选项标识
+     *
+     * @param i
+     * @return
+     */
+    public String keyAt(int i) {
+        return String.valueOf((char) ('A' + indexAt(i)));
+    }
+
+    /**
+     * 解码为用户答案列表
+     *
+     * @return
+     */
+    @JsonValue
+    public List<String> toChoiceList() {
+        List<String> choiceList = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            choiceList.add(keyAt(i));
+        }
+        return choiceList;
+    }
+
+    /**
+     * 编码后的字节（存入数据库）
+     *
+     * @return
+     */
+    public byte[] getBytes() {
+        return bytes.clone();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof PackedChoices)) {
+            return false;
+        }
+        return Arrays.equals(bytes, ((PackedChoices) o).bytes);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(bytes);
+    }
+
+    @Override
+    public String toString() {
+        return toChoiceList().toString();
+    }
+
+    private static final long serialVersionUID = 1L;
+}
@@ -0,0 +1,40 @@
+package com.tong.aidada.model.dto.useranswer;
+
+import com.alibaba.excel.annotation.ExcelProperty;
+import com.alibaba.excel.annotation.write.style.ColumnWidth;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.Date;
+
+/**
+ * 用户答案导出行
+ */
+@Data
+public class UserAnswerExportDTO implements Serializable {
+
+    @ExcelProperty("id")
+    @ColumnWidth(22)
+    private Long id;
+
+    @ExcelProperty("用户 id")
+    @ColumnWidth(22)
+    private Long userId;
+
+    @ExcelProperty("用户答案")
+    @ColumnWidth(40)
+    private String choices;
+
+    @ExcelProperty("结果名称")
+    @ColumnWidth(20)
+    private String resultName;
+
+    @ExcelProperty("得分")
+    private Integer resultScore;
+
+    @ExcelProperty("创建时间")
+    @ColumnWidth(22)
+    private Date createTime;
+
+    private static final long serialVersionUID = 1L;
+}
@@ -78,5 +78,10 @@ public class UserAnswerQueryRequest extends PageRequest implements Serializable
      */
     private String searchText;
 
+    /**
+     * 游标（游标分页时使用，首页为空，之后传上一页返回的 nextCursor）
+     */
+    private String cursor;
+
     private static final long serialVersionUID = 1L;
 }
\ No newline at end of file
@@ -0,0 +1,45 @@
+package com.tong.aidada.model.entity;
+
+import com.baomidou.mybatisplus.annotation.*;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.Date;
+
+/**
+ * 应用统计
+ *
+ * @TableName app_statistic
+ */
+@TableName(value = "app_statistic")
+@Data
+public class AppStatistic implements Serializable {
+    /**
+     * 应用 id
+     */
+    @TableId(type = IdType.INPUT)
+    private Long appId;
+
+    /**
+     * 答题数
+     */
+    private Long answerCount;
+
+    /**
+     * 结果分布（json格式）
+     */
+    private String resultCount;
+
+    /**
+     * 创建时间
+     */
+    private Date createTime;
+
+    /**
+     * 更新时间
+     */
+    private Date updateTime;
+
+    @TableField(exist = false)
+    private static final long serialVersionUID = 1L;
+}
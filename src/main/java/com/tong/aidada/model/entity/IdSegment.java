@@ -0,0 +1,45 @@
+package com.tong.aidada.model.entity;
+
+import com.baomidou.mybatisplus.annotation.*;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.Date;
+
+/**
+ * 号段
+ *
+ * @TableName id_segment
+ */
+@TableName(value = "id_segment")
+@Data
+public class IdSegment implements Serializable {
+    /**
+     * 业务标识
+     */
+    @TableId(type = IdType.INPUT)
+    private String bizTag;
+
+    /**
+     * 已分配的最大 id
+     */
+    private Long maxId;
+
+    /**
+     * 号段长度
+     */
+    private Integer step;
+
+    /**
+     * 创建时间
+     */
+    private Date createTime;
+
+    /**
+     * 更新时间
+     */
+    private Date updateTime;
+
+    @TableField(exist = false)
+    private static final long serialVersionUID = 1L;
+}
@@ -1,6 +1,8 @@
 package com.tong.aidada.model.entity;
 
 import com.baomidou.mybatisplus.annotation.*;
+import com.tong.aidada.handler.PackedChoicesTypeHandler;
+import com.tong.aidada.model.dto.useranswer.PackedChoices;
 import lombok.Data;
 
 import java.io.Serializable;
@@ -11,7 +13,7 @@ import java.util.Date;
  *
  * @TableName user_answer
  */
-@TableName(value = "user_answer")
+@TableName(value = "user_answer", autoResultMap = true)
 @Data
 public class UserAnswer implements Serializable {
     /**
@@ -36,10 +38,16 @@ public class UserAnswer implements Serializable {
     private Integer scoringStrategy;
 
     /**
-     * 用户答案（JSON 数组）
+     * 用户答案（JSON 数组，仅在无法紧凑编码时写入，见 ChoicesUtils）
      */
     private String choices;
 
+    /**
+     * 用户答案（紧凑编码）
+     */
+    @TableField(typeHandler = PackedChoicesTypeHandler.class)
+    private PackedChoices packedChoices;
+
     /**
      * 评分结果 id
      */
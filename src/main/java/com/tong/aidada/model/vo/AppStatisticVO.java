@@ -0,0 +1,54 @@
+package com.tong.aidada.model.vo;
+
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * 应用统计视图
+ */
+@Data
+public class AppStatisticVO implements Serializable {
+
+    /**
+     * 应用 id
+     */
+    private Long appId;
+
+    /**
+     * 答题数
+     */
+    private Long answerCount;
+
+    /**
+     * 结果分布（按人数降序）
+     */
+    private List<ResultCount> resultCountList;
+
+    /**
+     * 单个结果的人数
+     */
+    @Data
+    public static class ResultCount implements Serializable {
+
+        /**
+         * 评分结果 id（AI 评分时为空）
+         */
+        private Long resultId;
+
+        /**
+         * 结果名称
+         */
+        private String resultName;
+
+        /**
+         * 人数
+         */
+        private Long count;
+
+        private static final long serialVersionUID = 1L;
+    }
+
+    private static final long serialVersionUID = 1L;
+}
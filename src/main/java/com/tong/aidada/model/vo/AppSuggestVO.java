@@ -0,0 +1,24 @@
+package com.tong.aidada.model.vo;
+
+import lombok.Data;
+
+import java.io.Serializable;
+
+/**
+ * 应用名称联想视图
+ */
+@Data
+public class AppSuggestVO implements Serializable {
+
+    /**
+     * 应用 id
+     */
+    private Long id;
+
+    /**
+     * 应用名
+     */
+    private String appName;
+
+    private static final long serialVersionUID = 1L;
+}
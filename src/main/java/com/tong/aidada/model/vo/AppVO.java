@@ -1,8 +1,8 @@
 package com.tong.aidada.model.vo;
 
+import com.tong.aidada.model.convert.AppConvert;
 import com.tong.aidada.model.entity.App;
 import lombok.Data;
-import org.springframework.beans.BeanUtils;
 
 import java.io.Serializable;
 import java.util.Date;
@@ -94,7 +94,7 @@ public class AppVO implements Serializable {
             return null;
         }
         App app = new App();
-        BeanUtils.copyProperties(appVO, app);
+        AppConvert.copyProperties(appVO, app);
         return app;
     }
 
@@ -109,7 +109,7 @@ public class AppVO implements Serializable {
             return null;
         }
         AppVO appVO = new AppVO();
-        BeanUtils.copyProperties(app, appVO);
+        AppConvert.copyProperties(app, appVO);
         return appVO;
     }
 }
@@ -0,0 +1,24 @@
+package com.tong.aidada.model.vo;
+
+import lombok.Data;
+
+import java.io.Serializable;
+
+/**
+ * Excel 导入结果
+ */
+@Data
+public class ExcelImportVO implements Serializable {
+
+    /**
+     * 导入的题目数
+     */
+    private Integer questionCount;
+
+    /**
+     * 导入的评分结果数
+     */
+    private Integer scoringResultCount;
+
+    private static final long serialVersionUID = 1L;
+}
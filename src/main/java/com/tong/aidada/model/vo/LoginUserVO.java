@@ -46,5 +46,10 @@ public class LoginUserVO implements Serializable {
      */
     private Date updateTime;
 
+    /**
+     * 登录令牌（令牌模式下返回，请求时放在 Authorization: Bearer 请求头中）
+     */
+    private String token;
+
     private static final long serialVersionUID = 1L;
 }
\ No newline at end of file
@@ -1,10 +1,10 @@
 package com.tong.aidada.model.vo;
 
 import cn.hutool.json.JSONUtil;
+import com.tong.aidada.model.convert.QuestionConvert;
 import com.tong.aidada.model.dto.question.QuestionContentDTO;
 import com.tong.aidada.model.entity.Question;
 import lombok.Data;
-import org.springframework.beans.BeanUtils;
 
 import java.io.Serializable;
 import java.util.Date;
@@ -61,7 +61,7 @@ public class QuestionVO implements Serializable {
             return null;
         }
         Question question = new Question();
-        BeanUtils.copyProperties(questionVO, question);
+        QuestionConvert.copyProperties(questionVO, question);
         List<QuestionContentDTO> questionContentDTO = questionVO.getQuestionContent();
         question.setQuestionContent(JSONUtil.toJsonStr(questionContentDTO));
         return question;
@@ -78,11 +78,28 @@ public class QuestionVO implements Serializable {
             return null;
         }
         QuestionVO questionVO = new QuestionVO();
-        BeanUtils.copyProperties(question, questionVO);
+        QuestionConvert.copyProperties(question, questionVO);
         String questionContent = question.getQuestionContent();
         if (questionContent != null) {
             questionVO.setQuestionContent(JSONUtil.toList(questionContent, QuestionContentDTO.class));
         }
         return questionVO;
     }
+
+    /**
+     * 对象转封装类（使用已解析的题目内容）
+     *
+     * @param question
+     * @param questionContent
+     * @return
+     */
+    public static QuestionVO objToVo(Question question, List<QuestionContentDTO> questionContent) {
+        if (question == null) {
+            return null;
+        }
+        QuestionVO questionVO = new QuestionVO();
+        QuestionConvert.copyProperties(question, questionVO);
+        questionVO.setQuestionContent(questionContent);
+        return questionVO;
+    }
 }
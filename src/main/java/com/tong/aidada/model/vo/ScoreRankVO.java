@@ -0,0 +1,34 @@
+package com.tong.aidada.model.vo;
+
+import lombok.Data;
+
+import java.io.Serializable;
+
+/**
+ * 得分排行视图
+ */
+@Data
+public class ScoreRankVO implements Serializable {
+
+    /**
+     * 名次（从 1 开始）
+     */
+    private Integer rank;
+
+    /**
+     * 最高得分
+     */
+    private Integer resultScore;
+
+    /**
+     * 用户 id
+     */
+    private Long userId;
+
+    /**
+     * 用户信息
+     */
+    private UserVO user;
+
+    private static final long serialVersionUID = 1L;
+}
@@ -1,9 +1,9 @@
 package com.tong.aidada.model.vo;
 
 import cn.hutool.json.JSONUtil;
+import com.tong.aidada.model.convert.ScoringResultConvert;
 import com.tong.aidada.model.entity.ScoringResult;
 import lombok.Data;
-import org.springframework.beans.BeanUtils;
 
 import java.io.Serializable;
 import java.util.Date;
@@ -81,7 +81,7 @@ public class ScoringResultVO implements Serializable {
             return null;
         }
         ScoringResult scoringResult = new ScoringResult();
-        BeanUtils.copyProperties(scoringResultVO, scoringResult);
+        ScoringResultConvert.copyProperties(scoringResultVO, scoringResult);
         scoringResult.setResultProp(JSONUtil.toJsonStr(scoringResultVO.getResultProp()));
         return scoringResult;
     }
@@ -97,7 +97,7 @@ public class ScoringResultVO implements Serializable {
             return null;
         }
         ScoringResultVO scoringResultVO = new ScoringResultVO();
-        BeanUtils.copyProperties(scoringResult, scoringResultVO);
+        ScoringResultConvert.copyProperties(scoringResult, scoringResultVO);
         scoringResultVO.setResultProp(JSONUtil.toList(scoringResult.getResultProp(), String.class));
         return scoringResultVO;
     }
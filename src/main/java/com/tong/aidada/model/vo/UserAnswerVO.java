@@ -1,9 +1,9 @@
 package com.tong.aidada.model.vo;
 
-import cn.hutool.json.JSONUtil;
+import com.tong.aidada.model.convert.UserAnswerConvert;
 import com.tong.aidada.model.entity.UserAnswer;
+import com.tong.aidada.utils.ChoicesUtils;
 import lombok.Data;
-import org.springframework.beans.BeanUtils;
 
 import java.io.Serializable;
 import java.util.Date;
@@ -64,6 +64,11 @@ public class UserAnswerVO implements Serializable {
      */
     private Integer resultScore;
 
+    /**
+     * 得分击败了百分之多少的参与者（仅得分类应用）
+     */
+    private Integer beatPercent;
+
     /**
      * 用户 id
      */
@@ -95,8 +100,8 @@ public class UserAnswerVO implements Serializable {
             return null;
         }
         UserAnswer userAnswer = new UserAnswer();
-        BeanUtils.copyProperties(userAnswerVO, userAnswer);
-        userAnswer.setChoices(JSONUtil.toJsonStr(userAnswerVO.getChoices()));
+        UserAnswerConvert.copyProperties(userAnswerVO, userAnswer);
+        ChoicesUtils.fill(userAnswer, userAnswerVO.getChoices());
         return userAnswer;
     }
 
@@ -111,8 +116,9 @@ public class UserAnswerVO implements Serializable {
             return null;
         }
         UserAnswerVO userAnswerVO = new UserAnswerVO();
-        BeanUtils.copyProperties(userAnswer, userAnswerVO);
-        userAnswerVO.setChoices(JSONUtil.toList(userAnswer.getChoices(), String.class));
+        UserAnswerConvert.copyProperties(userAnswer, userAnswerVO);
+        // 优先从紧凑编码解码，避免解析 JSON
+        userAnswerVO.setChoices(ChoicesUtils.toList(userAnswer));
         return userAnswerVO;
     }
 }
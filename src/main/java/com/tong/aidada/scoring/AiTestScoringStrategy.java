@@ -7,13 +7,15 @@ import com.baomidou.mybatisplus.core.toolkit.Wrappers;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.tong.aidada.manager.AiManager;
+import com.tong.aidada.manager.AiTestArchetypeManager;
+import com.tong.aidada.manager.QuestionContentCacheManager;
 import com.tong.aidada.model.dto.question.QuestionAnswerDTO;
 import com.tong.aidada.model.dto.question.QuestionContentDTO;
+import com.tong.aidada.model.dto.useranswer.PackedChoices;
 import com.tong.aidada.model.entity.App;
 import com.tong.aidada.model.entity.Question;
 import com.tong.aidada.model.entity.ScoringResult;
 import com.tong.aidada.model.entity.UserAnswer;
-import com.tong.aidada.model.vo.QuestionVO;
 import com.tong.aidada.service.QuestionService;
 import com.tong.aidada.service.ScoringResultService;
 import org.redisson.api.RLock;
@@ -37,6 +39,12 @@ public class AiTestScoringStrategy implements ScoringStrategy {
     @Resource
     private AiManager aiManager;
 
+    @Resource
+    private AiTestArchetypeManager aiTestArchetypeManager;
+
+    @Resource
+    private QuestionContentCacheManager questionContentCacheManager;
+
     // 分布式锁的 key 前缀
     private static final String AI_ANSWER_LOCK = "ai_answer_lock";
 
@@ -83,7 +91,7 @@ public class AiTestScoringStrategy implements ScoringStrategy {
     }
 
     @Override
-    public UserAnswer doScore(List<String> choices, App app) throws Exception {
+    public UserAnswer doScore(List<String> choices, PackedChoices packedChoices, App app) throws Exception {
         Long appId = app.getId();
 
         String choiceJson = JSONUtil.toJsonStr(choices);
@@ -101,6 +109,23 @@ public class AiTestScoringStrategy implements ScoringStrategy {
             return userAnswer;
         }
 
+        // 1. 根据 id 查询到题目
+        Question question = questionService.getOne(
+                Wrappers.lambdaQuery(Question.class).eq(Question::getAppId, appId)
+        );
+        List<QuestionContentDTO> questionContent = questionContentCacheManager.getQuestionContent(question);
+
+        // 命中预生成的答题原型，直接返回
+        String profileKey = aiTestArchetypeManager.buildProfileKey(questionContent, choices, packedChoices);
+        UserAnswer archetype = aiTestArchetypeManager.getArchetype(appId, question.getUpdateTime(), profileKey);
+        if (archetype != null) {
+            archetype.setAppId(appId);
+            archetype.setAppType(app.getAppType());
+            archetype.setScoringStrategy(app.getScoringStrategy());
+            archetype.setChoices(choiceJson);
+            return archetype;
+        }
+
         // 如果缓存不存在，获取锁对象
         RLock lock = redissonClient.getLock(AI_ANSWER_LOCK + cacheKey);
         try {
@@ -112,21 +137,8 @@ public class AiTestScoringStrategy implements ScoringStrategy {
             }
             // 若抢到锁，执行后续业务
 
-            // 1. 根据 id 查询到题目
-            Question question = questionService.getOne(
-                    Wrappers.lambdaQuery(Question.class).eq(Question::getAppId, appId)
-            );
-            QuestionVO questionVO = QuestionVO.objToVo(question);
-            List<QuestionContentDTO> questionContent = questionVO.getQuestionContent();
             // 2. 调用 AI 获取结果
-            // 封装 Prompt
-            String userMessage = getAiTestScoringUserMessage(app, questionContent, choices);
-            // AI 生成
-            String result = aiManager.doSyncStableRequest(AI_TEST_SCORING_SYSTEM_MESSAGE, userMessage);
-            // 结果处理
-            int start = result.indexOf("{");
-            int end = result.lastIndexOf("}");
-            String aiUserAnswerJson = result.substring(start, end + 1);
+            String aiUserAnswerJson = doAiScore(app, questionContent, choices);
 
             // 缓存 AI 评分结果
             answerCacheMap.put(cacheKey, aiUserAnswerJson);
@@ -150,6 +162,25 @@ public class AiTestScoringStrategy implements ScoringStrategy {
         }
     }
 
+    /**
+     * 调用 AI 评分（答题原型预生成也复用此方法）
+     *
+     * @param app
+     * @param questionContent
+     * @param choices
+     * @return AI 返回的评价 JSON，如 {"resultName": "", "resultDesc": ""}
+     */
+    public String doAiScore(App app, List<QuestionContentDTO> questionContent, List<String> choices) {
+        // 封装 Prompt
+        String userMessage = getAiTestScoringUserMessage(app, questionContent, choices);
+        // AI 生成
+        String result = aiManager.doSyncStableRequest(AI_TEST_SCORING_SYSTEM_MESSAGE, userMessage);
+        // 结果处理
+        int start = result.indexOf("{");
+        int end = result.lastIndexOf("}");
+        return result.substring(start, end + 1);
+    }
+
     /**
      * 构建缓存 key
      *
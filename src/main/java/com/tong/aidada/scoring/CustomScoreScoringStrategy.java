@@ -1,19 +1,17 @@
 package com.tong.aidada.scoring;
 
-import cn.hutool.json.JSONUtil;
+import com.tong.aidada.manager.QuestionContentCacheManager;
 import com.tong.aidada.model.dto.question.QuestionContentDTO;
+import com.tong.aidada.model.dto.useranswer.PackedChoices;
 import com.tong.aidada.model.entity.App;
 import com.tong.aidada.model.entity.Question;
 import com.tong.aidada.model.entity.ScoringResult;
 import com.tong.aidada.model.entity.UserAnswer;
-import com.tong.aidada.model.vo.QuestionVO;
 import com.tong.aidada.service.QuestionService;
 import com.tong.aidada.service.ScoringResultService;
 
 import javax.annotation.Resource;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Optional;
 
 /**
  * 自定义得分类应用评分策略
@@ -27,8 +25,11 @@ public class CustomScoreScoringStrategy implements ScoringStrategy{
     @Resource
     private ScoringResultService scoringResultService;
 
+    @Resource
+    private QuestionContentCacheManager questionContentCacheManager;
+
     @Override
-    public UserAnswer doScore(List<String> choices, App app) throws Exception {
+    public UserAnswer doScore(List<String> choices, PackedChoices packedChoices, App app) throws Exception {
         // 1.根据 id 查询到题目和题目结果信息（按分数降序排序）
         Long appId = app.getId();
         Question question = questionService.lambdaQuery()
@@ -38,8 +39,7 @@ public class CustomScoreScoringStrategy implements ScoringStrategy{
                 .orderByDesc(ScoringResult::getResultScoreRange)
                 .list();
         // 2.统计用户的总得分
-        QuestionVO questionVO = QuestionVO.objToVo(question);
-        List<QuestionContentDTO> questionContentDTOList = questionVO.getQuestionContent();
+        List<QuestionContentDTO> questionContentDTOList = questionContentCacheManager.getQuestionContent(question);
         // 初始化一个int，用于统计总得分
         int totalScore = 0;
         int choicesNum = choices.size();
@@ -48,20 +48,13 @@ public class CustomScoreScoringStrategy implements ScoringStrategy{
         for (int i = 0; i <Math.min(choicesNum, questionNum); i++) {
             // 获取第 i 道 question
             QuestionContentDTO questionContentDTO = questionContentDTOList.get(i);
-            // 获取第 i 个 choice
-            String choice = choices.get(i);
-            // 获取第 i 道 question 的选项
-            List<QuestionContentDTO.Option> optionList = questionContentDTO.getOptions();
-            // 遍历题目选项列表
-            for (QuestionContentDTO.Option option : optionList) {
-                // 判断用户选的是哪个选项
-                if (option.getKey().equals(choice)) {
-                    // 获取选项对应的score
-                    Integer score = Optional.of(option.getScore()).orElse(0);
-                    // 累加总得分
-                    totalScore += score;
-                    break;
-                }
+            // 获取第 i 个 choice，按提交时生成的紧凑编码取选项序号，直接定位用户选的选项
+            QuestionContentDTO.Option option = packedChoices == null
+                    ? questionContentDTO.findOption(choices.get(i))
+                    : questionContentDTO.getOptionAt(packedChoices.indexAt(i));
+            if (option != null) {
+                // 获取选项对应的score，累加总得分
+                totalScore += option.getScore();
             }
         }
         // 3.遍历得分结果，找到第一个用户分数大于得分范围的结果，作为最终结果
@@ -79,7 +72,6 @@ public class CustomScoreScoringStrategy implements ScoringStrategy{
         userAnswer.setAppId(appId);
         userAnswer.setAppType(app.getAppType());
         userAnswer.setScoringStrategy(app.getScoringStrategy());
-        userAnswer.setChoices(JSONUtil.toJsonStr(choices));
         userAnswer.setResultId(maxScoringResult.getId());
         userAnswer.setResultName(maxScoringResult.getResultName());
         userAnswer.setResultDesc(maxScoringResult.getResultDesc());
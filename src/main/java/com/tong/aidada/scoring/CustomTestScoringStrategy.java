@@ -1,19 +1,19 @@
 package com.tong.aidada.scoring;
 
 import cn.hutool.json.JSONUtil;
+import com.tong.aidada.manager.QuestionContentCacheManager;
 import com.tong.aidada.model.dto.question.QuestionContentDTO;
+import com.tong.aidada.model.dto.useranswer.PackedChoices;
 import com.tong.aidada.model.entity.App;
 import com.tong.aidada.model.entity.Question;
 import com.tong.aidada.model.entity.ScoringResult;
 import com.tong.aidada.model.entity.UserAnswer;
-import com.tong.aidada.model.vo.QuestionVO;
 import com.tong.aidada.service.QuestionService;
 import com.tong.aidada.service.ScoringResultService;
 
 import javax.annotation.Resource;
 import java.util.HashMap;
 import java.util.List;
-import java.util.Optional;
 
 /**
  * 自定义测评类应用评分策略
@@ -27,8 +27,11 @@ public class CustomTestScoringStrategy implements ScoringStrategy {
     @Resource
     private ScoringResultService scoringResultService;
 
+    @Resource
+    private QuestionContentCacheManager questionContentCacheManager;
+
     @Override
-    public UserAnswer doScore(List<String> choices, App app) throws Exception {
+    public UserAnswer doScore(List<String> choices, PackedChoices packedChoices, App app) throws Exception {
         // 1.根据 id 查询到题目和题目结果信息
         Long appId = app.getId();
         Question question = questionService.lambdaQuery()
@@ -38,8 +41,7 @@ public class CustomTestScoringStrategy implements ScoringStrategy {
                 .eq(ScoringResult::getAppId, appId)
                 .list();
         // 2.统计用户每个选择对应的属性个数，如 I = 10 个，E = 5 个
-        QuestionVO questionVO = QuestionVO.objToVo(question);
-        List<QuestionContentDTO> questionContentDTOList = questionVO.getQuestionContent();
+        List<QuestionContentDTO> questionContentDTOList = questionContentCacheManager.getQuestionContent(question);
         // 初始化一个Map，用于统计每个选项的个数，key：选项的result，value：个数
         HashMap<String, Integer> resultCount = new HashMap<>();
         int choicesNum = choices.size();
@@ -48,24 +50,13 @@ public class CustomTestScoringStrategy implements ScoringStrategy {
         for (int i = 0; i <Math.min(choicesNum, questionNum); i++) {
             // 获取第 i 道 question
             QuestionContentDTO questionContentDTO = questionContentDTOList.get(i);
-            // 获取第 i 个 choice
-            String choice = choices.get(i);
-            // 获取第 i 道 question 的选项
-            List<QuestionContentDTO.Option> optionList = questionContentDTO.getOptions();
-            // 遍历题目选项列表
-            for (QuestionContentDTO.Option option : optionList) {
-                // 判断用户选的是哪个选项
-                if (option.getKey().equals(choice)) {
-                    // 获取选项对应的result
-                    String result = option.getResult();
-                    // 如果result属性不在resultCount中，则初始化个数为0
-                    if (!resultCount.containsKey(result)) {
-                        resultCount.put(result, 0);
-                    }
-                    // 增加resultCount中的个数
-                    resultCount.put(result, resultCount.get(result) + 1);
-                    break;
-                }
+            // 获取第 i 个 choice，按提交时生成的紧凑编码取选项序号，直接定位用户选的选项
+            QuestionContentDTO.Option option = packedChoices == null
+                    ? questionContentDTO.findOption(choices.get(i))
+                    : questionContentDTO.getOptionAt(packedChoices.indexAt(i));
+            if (option != null) {
+                // 获取选项对应的result，增加resultCount中的个数
+                resultCount.merge(option.getResult(), 1, Integer::sum);
             }
         }
         // 3.遍历每种评分结果，计算哪个结果的得分更高
@@ -93,7 +84,6 @@ public class CustomTestScoringStrategy implements ScoringStrategy {
         userAnswer.setAppId(appId);
         userAnswer.setAppType(app.getAppType());
         userAnswer.setScoringStrategy(app.getScoringStrategy());
-        userAnswer.setChoices(JSONUtil.toJsonStr(choices));
         userAnswer.setResultId(maxScoringResult.getId());
         userAnswer.setResultName(maxScoringResult.getResultName());
         userAnswer.setResultDesc(maxScoringResult.getResultDesc());
@@ -1,5 +1,6 @@
 package com.tong.aidada.scoring;
 
+import com.tong.aidada.model.dto.useranswer.PackedChoices;
 import com.tong.aidada.model.entity.App;
 import com.tong.aidada.model.entity.UserAnswer;
 
@@ -14,9 +15,10 @@ public interface ScoringStrategy {
      * 执行评分
      *
      * @param choices 用户答案列表
+     * @param packedChoices 用户答案紧凑编码（提交时已生成，无法编码时为 null）
      * @param app 应用
      * @return 用户答题记录
      * @throws Exception
      */
-    UserAnswer doScore(List<String> choices, App app) throws Exception;
+    UserAnswer doScore(List<String> choices, PackedChoices packedChoices, App app) throws Exception;
 }
@@ -2,6 +2,7 @@ package com.tong.aidada.scoring;
 
 import com.tong.aidada.common.ErrorCode;
 import com.tong.aidada.exception.BusinessException;
+import com.tong.aidada.model.dto.useranswer.PackedChoices;
 import com.tong.aidada.model.entity.App;
 import com.tong.aidada.model.entity.UserAnswer;
 import org.springframework.stereotype.Service;
@@ -23,11 +24,12 @@ public class ScoringStrategyExecutor {
      * 评分
      *
      * @param choiceList
+     * @param packedChoices
      * @param app
      * @return
      * @throws Exception
      */
-    public UserAnswer doScore(List<String> choiceList, App app) throws Exception {
+    public UserAnswer doScore(List<String> choiceList, PackedChoices packedChoices, App app) throws Exception {
         Integer appType = app.getAppType();
         Integer appScoringStrategy = app.getScoringStrategy();
         if (appType == null || appScoringStrategy == null) {
@@ -38,7 +40,7 @@ public class ScoringStrategyExecutor {
             if (strategy.getClass().isAnnotationPresent(ScoringStrategyConfig.class)) {
                 ScoringStrategyConfig scoringStrategyConfig = strategy.getClass().getAnnotation(ScoringStrategyConfig.class);
                 if (scoringStrategyConfig.appType() == appType && scoringStrategyConfig.scoringStrategy() == appScoringStrategy) {
-                    return strategy.doScore(choiceList, app);
+                    return strategy.doScore(choiceList, packedChoices, app);
                 }
             }
         }
@@ -47,4 +47,12 @@ public interface AppService extends IService<App> {
      * @return
      */
     Page<AppVO> getAppVOPage(Page<App> appPage, HttpServletRequest request);
+
+    /**
+     * 搜索已过审的应用（按相关度排序）
+     *
+     * @param appQueryRequest
+     * @return
+     */
+    Page<App> searchApp(AppQueryRequest appQueryRequest);
 }
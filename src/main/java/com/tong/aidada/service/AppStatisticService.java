@@ -0,0 +1,19 @@
+package com.tong.aidada.service;
+
+import com.baomidou.mybatisplus.extension.service.IService;
+import com.tong.aidada.model.entity.AppStatistic;
+import com.tong.aidada.model.vo.AppStatisticVO;
+
+/**
+ * 应用统计服务
+ */
+public interface AppStatisticService extends IService<AppStatistic> {
+
+    /**
+     * 获取应用统计（优先读取 Redis 计数器，不查询答题记录表）
+     *
+     * @param appId
+     * @return
+     */
+    AppStatisticVO getAppStatisticVO(Long appId);
+}
@@ -4,10 +4,14 @@ import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.IService;
 import com.tong.aidada.model.dto.question.QuestionQueryRequest;
+import com.tong.aidada.model.entity.App;
 import com.tong.aidada.model.entity.Question;
+import com.tong.aidada.model.entity.User;
+import com.tong.aidada.model.vo.ExcelImportVO;
 import com.tong.aidada.model.vo.QuestionVO;
 
 import javax.servlet.http.HttpServletRequest;
+import java.io.InputStream;
 
 /**
  * 题目服务
@@ -47,4 +51,17 @@ public interface QuestionService extends IService<Question> {
      * @return
      */
     Page<QuestionVO> getQuestionVOPage(Page<Question> questionPage, HttpServletRequest request);
+
+    /**
+     * 从 Excel 导入题目和评分结果（流式读取，评分结果分批写入）
+     * <p>
+     * 工作表「题目」覆盖应用的题目，工作表「评分结果」替换应用原有的评分结果（在同一事务中先删除再写入），
+     * 工作表不存在或为空时保留原有内容
+     *
+     * @param app
+     * @param inputStream
+     * @param loginUser
+     * @return
+     */
+    ExcelImportVO importFromExcel(App app, InputStream inputStream, User loginUser);
 }
@@ -3,11 +3,13 @@ package com.tong.aidada.service;
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.IService;
+import com.tong.aidada.common.CursorPage;
 import com.tong.aidada.model.dto.useranswer.UserAnswerQueryRequest;
 import com.tong.aidada.model.entity.UserAnswer;
 import com.tong.aidada.model.vo.UserAnswerVO;
 
 import javax.servlet.http.HttpServletRequest;
+import java.io.OutputStream;
 
 /**
  * 用户答案服务
@@ -47,4 +49,21 @@ public interface UserAnswerService extends IService<UserAnswer> {
      * @return
      */
     Page<UserAnswerVO> getUserAnswerVOPage(Page<UserAnswer> userAnswerPage, HttpServletRequest request);
+
+    /**
+     * 游标分页获取用户答案封装（按创建时间、id 倒序，不查询总数）
+     *
+     * @param userAnswerQueryRequest
+     * @param request
+     * @return
+     */
+    CursorPage<UserAnswerVO> listUserAnswerVOByCursor(UserAnswerQueryRequest userAnswerQueryRequest, HttpServletRequest request);
+
+    /**
+     * 流式导出应用的答题记录到 Excel（分批写出，内存占用与总行数无关）
+     *
+     * @param appId
+     * @param outputStream
+     */
+    void exportUserAnswer(Long appId, OutputStream outputStream);
 }
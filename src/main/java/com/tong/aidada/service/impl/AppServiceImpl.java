@@ -6,28 +6,33 @@ import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.tong.aidada.common.ErrorCode;
 import com.tong.aidada.constant.CommonConstant;
+import com.tong.aidada.event.AppChangedEvent;
 import com.tong.aidada.exception.ThrowUtils;
+import com.tong.aidada.manager.AppSearchManager;
+import com.tong.aidada.manager.UserVOLoader;
 import com.tong.aidada.mapper.AppMapper;
 import com.tong.aidada.model.dto.app.AppQueryRequest;
 import com.tong.aidada.model.entity.App;
-import com.tong.aidada.model.entity.User;
 import com.tong.aidada.model.enums.AppScoringStrategyEnum;
 import com.tong.aidada.model.enums.AppTypeEnum;
 import com.tong.aidada.model.enums.ReviewStatusEnum;
 import com.tong.aidada.model.vo.AppVO;
 import com.tong.aidada.model.vo.UserVO;
 import com.tong.aidada.service.AppService;
-import com.tong.aidada.service.UserService;
 import com.tong.aidada.utils.SqlUtils;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import javax.annotation.Resource;
 import javax.servlet.http.HttpServletRequest;
+import java.io.Serializable;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -39,7 +44,16 @@ import java.util.stream.Collectors;
 public class AppServiceImpl extends ServiceImpl<AppMapper, App> implements AppService {
 
     @Resource
-    private UserService userService;
+    private UserVOLoader userVOLoader;
+
+    @Resource
+    private AppSearchManager appSearchManager;
+
+    @Resource
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    // 搜索时最多取相关度最高的多少条
+    private static final int MAX_SEARCH_HITS = 1000;
 
     // region 增删改查
 
@@ -110,7 +124,7 @@ public class AppServiceImpl extends ServiceImpl<AppMapper, App> implements AppSe
         // 从多字段中搜索
         if (StringUtils.isNotBlank(searchText)) {
             // 需要拼接查询条件
-            queryWrapper.and(qw -> qw.like("title", searchText).or().like("content", searchText));
+            queryWrapper.and(qw -> qw.like("appName", searchText).or().like("appDesc", searchText));
         }
         // 模糊查询
         queryWrapper.like(StringUtils.isNotBlank(appName), "appName", appName);
@@ -125,8 +139,16 @@ public class AppServiceImpl extends ServiceImpl<AppMapper, App> implements AppSe
         queryWrapper.eq(ObjectUtils.isNotEmpty(reviewerId), "reviewerId", reviewerId);
         queryWrapper.eq(ObjectUtils.isNotEmpty(userId), "userId", userId);
         queryWrapper.ne(ObjectUtils.isNotEmpty(notId), "id", notId);
+        // 已等值过滤的列，只有排序索引的前缀列都在其中时才按该字段排序
+        Set<String> equalityColumns = new HashSet<>();
+        if (ObjectUtils.isNotEmpty(reviewStatus)) {
+            equalityColumns.add("reviewStatus");
+        }
+        if (ObjectUtils.isNotEmpty(userId)) {
+            equalityColumns.add("userId");
+        }
         // 排序规则
-        queryWrapper.orderBy(SqlUtils.validSortField(sortField),
+        queryWrapper.orderBy(SqlUtils.validSortField(App.class, sortField, equalityColumns),
                 sortOrder.equals(CommonConstant.SORT_ORDER_ASC),
                 sortField);
         return queryWrapper;
@@ -146,11 +168,10 @@ public class AppServiceImpl extends ServiceImpl<AppMapper, App> implements AppSe
         // 可以根据需要为封装对象补充值，不需要的内容可以删除
         // 1. 关联查询用户信息
         Long userId = app.getUserId();
-        User user = null;
+        UserVO userVO = null;
         if (userId != null && userId > 0) {
-            user = userService.getById(userId);
+            userVO = userVOLoader.load(userId);
         }
-        UserVO userVO = userService.getUserVO(user);
         appVO.setUser(userVO);
 
         return appVO;
@@ -177,20 +198,95 @@ public class AppServiceImpl extends ServiceImpl<AppMapper, App> implements AppSe
         // 可以根据需要为封装对象补充值，不需要的内容可以删除
         // 1. 关联查询用户信息
         Set<Long> userIdSet = appList.stream().map(App::getUserId).collect(Collectors.toSet());
-        Map<Long, List<User>> userIdUserListMap = userService.listByIds(userIdSet).stream()
-                .collect(Collectors.groupingBy(User::getId));
+        Map<Long, UserVO> userIdUserVOMap = userVOLoader.loadMany(userIdSet);
         // 填充信息
-        appVOList.forEach(appVO -> {
-            Long userId = appVO.getUserId();
-            User user = null;
-            if (userIdUserListMap.containsKey(userId)) {
-                user = userIdUserListMap.get(userId).get(0);
-            }
-            appVO.setUser(userService.getUserVO(user));
-        });
+        appVOList.forEach(appVO -> appVO.setUser(userIdUserVOMap.get(appVO.getUserId())));
         appVOPage.setRecords(appVOList);
         return appVOPage;
     }
 
     // endregion
+
+    /**
+     * 搜索已过审的应用（按相关度排序，其他筛选条件仍由数据库过滤）
+     *
+     * @param appQueryRequest
+     * @return
+     */
+    @Override
+    public Page<App> searchApp(AppQueryRequest appQueryRequest) {
+        long current = Math.max(appQueryRequest.getCurrent(), 1);
+        long size = appQueryRequest.getPageSize();
+        Page<App> appPage = new Page<>(current, size, false);
+        // 1. 从索引中查询
+        List<Long> rankedIdList = appSearchManager.search(appQueryRequest.getSearchText(), MAX_SEARCH_HITS);
+        if (rankedIdList.isEmpty()) {
+            return appPage;
+        }
+        // 2. 按其他条件过滤（只查询 id）
+        appQueryRequest.setSearchText(null);
+        appQueryRequest.setSortField(null);
+        QueryWrapper<App> queryWrapper = getQueryWrapper(appQueryRequest);
+        queryWrapper.select("id").in("id", rankedIdList);
+        Set<Long> matchedIdSet = this.listObjs(queryWrapper, id -> Long.valueOf(id.toString())).stream()
+                .collect(Collectors.toSet());
+        List<Long> filteredIdList = rankedIdList.stream().filter(matchedIdSet::contains).collect(Collectors.toList());
+        appPage.setTotal(filteredIdList.size());
+        // 3. 查询当前页，保持相关度顺序
+        int fromIndex = (int) Math.min((current - 1) * size, filteredIdList.size());
+        int toIndex = (int) Math.min(fromIndex + size, filteredIdList.size());
+        List<Long> pageIdList = filteredIdList.subList(fromIndex, toIndex);
+        if (pageIdList.isEmpty()) {
+            return appPage;
+        }
+        Map<Long, App> appMap = this.listByIds(pageIdList).stream()
+                .collect(Collectors.toMap(App::getId, app -> app));
+        appPage.setRecords(pageIdList.stream().map(appMap::get).filter(Objects::nonNull).collect(Collectors.toList()));
+        return appPage;
+    }
+
+    /**
+     * 创建应用（发布变更事件）
+     *
+     * @param app
+     * @return
+     */
+    @Override
+    public boolean save(App app) {
+        boolean result = super.save(app);
+        if (result) {
+            applicationEventPublisher.publishEvent(new AppChangedEvent(app.getId()));
+        }
+        return result;
+    }
+
+    /**
+     * 更新应用（发布变更事件）
+     *
+     * @param app
+     * @return
+     */
+    @Override
+    public boolean updateById(App app) {
+        boolean result = super.updateById(app);
+        if (result) {
+            applicationEventPublisher.publishEvent(new AppChangedEvent(app.getId()));
+        }
+        return result;
+    }
+
+    /**
+     * 删除应用（发布变更事件）
+     *
+     * @param id
+     * @return
+     */
+    @Override
+    public boolean removeById(Serializable id) {
+        boolean result = super.removeById(id);
+        if (result) {
+            applicationEventPublisher.publishEvent(new AppChangedEvent(Long.valueOf(id.toString())));
+        }
+        return result;
+    }
 }
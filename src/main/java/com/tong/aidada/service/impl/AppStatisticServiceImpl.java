@@ -0,0 +1,46 @@
+package com.tong.aidada.service.impl;
+
+import cn.hutool.json.JSONUtil;
+import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.tong.aidada.manager.AppStatisticManager;
+import com.tong.aidada.mapper.AppStatisticMapper;
+import com.tong.aidada.model.entity.AppStatistic;
+import com.tong.aidada.model.vo.AppStatisticVO;
+import com.tong.aidada.service.AppStatisticService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.Resource;
+import java.util.ArrayList;
+
+/**
+ * 应用统计服务实现
+ */
+@Service
+@Slf4j
+public class AppStatisticServiceImpl extends ServiceImpl<AppStatisticMapper, AppStatistic> implements AppStatisticService {
+
+    @Resource
+    private AppStatisticManager appStatisticManager;
+
+    @Override
+    public AppStatisticVO getAppStatisticVO(Long appId) {
+        // 1. 读取 Redis 计数器
+        AppStatisticVO appStatisticVO = appStatisticManager.getAppStatisticVO(appId);
+        if (appStatisticVO != null) {
+            return appStatisticVO;
+        }
+        // 2. 计数器不存在（如 Redis 数据丢失）时读取最近一次刷盘的结果
+        appStatisticVO = new AppStatisticVO();
+        appStatisticVO.setAppId(appId);
+        AppStatistic appStatistic = this.getById(appId);
+        if (appStatistic == null) {
+            appStatisticVO.setAnswerCount(0L);
+            appStatisticVO.setResultCountList(new ArrayList<>());
+            return appStatisticVO;
+        }
+        appStatisticVO.setAnswerCount(appStatistic.getAnswerCount());
+        appStatisticVO.setResultCountList(JSONUtil.toList(appStatistic.getResultCount(), AppStatisticVO.ResultCount.class));
+        return appStatisticVO;
+    }
+}
@@ -1,30 +1,44 @@
 package com.tong.aidada.service.impl;
 
 import cn.hutool.core.collection.CollUtil;
+import cn.hutool.json.JSONUtil;
+import com.alibaba.excel.EasyExcel;
+import com.alibaba.excel.ExcelReader;
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.tong.aidada.common.ErrorCode;
 import com.tong.aidada.constant.CommonConstant;
+import com.tong.aidada.excel.QuestionImportListener;
+import com.tong.aidada.excel.ScoringResultImportListener;
 import com.tong.aidada.exception.ThrowUtils;
+import com.tong.aidada.manager.QuestionContentCacheManager;
+import com.tong.aidada.manager.UserVOLoader;
 import com.tong.aidada.mapper.QuestionMapper;
+import com.tong.aidada.model.dto.question.QuestionContentDTO;
+import com.tong.aidada.model.dto.question.QuestionExcelDTO;
 import com.tong.aidada.model.dto.question.QuestionQueryRequest;
+import com.tong.aidada.model.dto.scoringresult.ScoringResultExcelDTO;
 import com.tong.aidada.model.entity.App;
 import com.tong.aidada.model.entity.Question;
 import com.tong.aidada.model.entity.User;
+import com.tong.aidada.model.vo.ExcelImportVO;
 import com.tong.aidada.model.vo.QuestionVO;
 import com.tong.aidada.model.vo.UserVO;
 import com.tong.aidada.service.AppService;
 import com.tong.aidada.service.QuestionService;
-import com.tong.aidada.service.UserService;
+import com.tong.aidada.service.ScoringResultService;
 import com.tong.aidada.utils.SqlUtils;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import javax.annotation.Resource;
 import javax.servlet.http.HttpServletRequest;
+import java.io.InputStream;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -38,11 +52,26 @@ import java.util.stream.Collectors;
 public class QuestionServiceImpl extends ServiceImpl<QuestionMapper, Question> implements QuestionService {
 
     @Resource
-    private UserService userService;
+    private UserVOLoader userVOLoader;
 
     @Resource
     private AppService appService;
 
+    @Resource
+    private QuestionContentCacheManager questionContentCacheManager;
+
+    @Resource
+    private ScoringResultService scoringResultService;
+
+    // 题目内容（JSON）最大长度
+    private static final int MAX_QUESTION_CONTENT_LENGTH = 5000;
+
+    // 导入题目的工作表名
+    private static final String QUESTION_SHEET_NAME = "题目";
+
+    // 导入评分结果的工作表名
+    private static final String SCORING_RESULT_SHEET_NAME = "评分结果";
+
     // region 增删改查
 
     /**
@@ -66,7 +95,7 @@ public class QuestionServiceImpl extends ServiceImpl<QuestionMapper, Question> i
         // 修改数据时，有参数则校验
         // 补充校验规则
         if (StringUtils.isNotBlank(questionContent)) {
-            ThrowUtils.throwIf(questionContent.length() > 5000, ErrorCode.PARAMS_ERROR, "题目内容过长");
+            ThrowUtils.throwIf(questionContent.length() > MAX_QUESTION_CONTENT_LENGTH, ErrorCode.PARAMS_ERROR, "题目内容过长");
         }
         if (appId != null) {
             App app = appService.getById(appId);
@@ -102,8 +131,13 @@ public class QuestionServiceImpl extends ServiceImpl<QuestionMapper, Question> i
         queryWrapper.eq(ObjectUtils.isNotEmpty(appId), "appId", appId);
         queryWrapper.eq(ObjectUtils.isNotEmpty(userId), "userId", userId);
         queryWrapper.ne(ObjectUtils.isNotEmpty(notId), "id", notId);
+        // 已等值过滤的列，只有排序索引的前缀列都在其中时才按该字段排序
+        Set<String> equalityColumns = new HashSet<>();
+        if (ObjectUtils.isNotEmpty(appId)) {
+            equalityColumns.add("appId");
+        }
         // 排序规则
-        queryWrapper.orderBy(SqlUtils.validSortField(sortField),
+        queryWrapper.orderBy(SqlUtils.validSortField(Question.class, sortField, equalityColumns),
                 sortOrder.equals(CommonConstant.SORT_ORDER_ASC),
                 sortField);
         return queryWrapper;
@@ -119,16 +153,15 @@ public class QuestionServiceImpl extends ServiceImpl<QuestionMapper, Question> i
     @Override
     public QuestionVO getQuestionVO(Question question, HttpServletRequest request) {
         // 对象转封装类
-        QuestionVO questionVO = QuestionVO.objToVo(question);
+        QuestionVO questionVO = QuestionVO.objToVo(question, questionContentCacheManager.getQuestionContent(question));
 
         // 可以根据需要为封装对象补充值，不需要的内容可以删除
         // 1. 关联查询用户信息
         Long userId = question.getUserId();
-        User user = null;
+        UserVO userVO = null;
         if (userId != null && userId > 0) {
-            user = userService.getById(userId);
+            userVO = userVOLoader.load(userId);
         }
-        UserVO userVO = userService.getUserVO(user);
         questionVO.setUser(userVO);
 
         return questionVO;
@@ -150,27 +183,55 @@ public class QuestionServiceImpl extends ServiceImpl<QuestionMapper, Question> i
         }
         // 对象列表 => 封装对象列表
         List<QuestionVO> questionVOList = questionList.stream().map(question -> {
-            return QuestionVO.objToVo(question);
+            return QuestionVO.objToVo(question, questionContentCacheManager.getQuestionContent(question));
         }).collect(Collectors.toList());
 
         // 可以根据需要为封装对象补充值，不需要的内容可以删除
         // 1. 关联查询用户信息
         Set<Long> userIdSet = questionList.stream().map(Question::getUserId).collect(Collectors.toSet());
-        Map<Long, List<User>> userIdUserListMap = userService.listByIds(userIdSet).stream()
-                .collect(Collectors.groupingBy(User::getId));
+        Map<Long, UserVO> userIdUserVOMap = userVOLoader.loadMany(userIdSet);
         // 填充信息
-        questionVOList.forEach(questionVO -> {
-            Long userId = questionVO.getUserId();
-            User user = null;
-            if (userIdUserListMap.containsKey(userId)) {
-                user = userIdUserListMap.get(userId).get(0);
-            }
-            questionVO.setUser(userService.getUserVO(user));
-        });
+        questionVOList.forEach(questionVO -> questionVO.setUser(userIdUserVOMap.get(questionVO.getUserId())));
 
         questionVOPage.setRecords(questionVOList);
         return questionVOPage;
     }
 
     // endregion
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public ExcelImportVO importFromExcel(App app, InputStream inputStream, User loginUser) {
+        QuestionImportListener questionImportListener = new QuestionImportListener(MAX_QUESTION_CONTENT_LENGTH);
+        ScoringResultImportListener scoringResultImportListener =
+                new ScoringResultImportListener(scoringResultService, app.getId(), loginUser.getId());
+        // 一次读取两个工作表，不存在的工作表会被跳过
+        try (ExcelReader excelReader = EasyExcel.read(inputStream).build()) {
+            excelReader.read(
+                    EasyExcel.readSheet(QUESTION_SHEET_NAME).head(QuestionExcelDTO.class)
+                            .registerReadListener(questionImportListener).build(),
+                    EasyExcel.readSheet(SCORING_RESULT_SHEET_NAME).head(ScoringResultExcelDTO.class)
+                            .registerReadListener(scoringResultImportListener).build());
+        }
+        // 题目整体覆盖（每个应用只有一条题目记录）
+        List<QuestionContentDTO> questionContentList = questionImportListener.getQuestionContentList();
+        if (CollUtil.isNotEmpty(questionContentList)) {
+            Question question = new Question();
+            question.setQuestionContent(JSONUtil.toJsonStr(questionContentList));
+            question.setAppId(app.getId());
+            validQuestion(question, true);
+            Question oldQuestion = this.lambdaQuery().eq(Question::getAppId, app.getId()).last("limit 1").one();
+            if (oldQuestion == null) {
+                question.setUserId(loginUser.getId());
+                ThrowUtils.throwIf(!this.save(question), ErrorCode.OPERATION_ERROR);
+            } else {
+                question.setId(oldQuestion.getId());
+                ThrowUtils.throwIf(!this.updateById(question), ErrorCode.OPERATION_ERROR);
+            }
+        }
+        ExcelImportVO excelImportVO = new ExcelImportVO();
+        excelImportVO.setQuestionCount(questionContentList.size());
+        excelImportVO.setScoringResultCount(scoringResultImportListener.getCount());
+        return excelImportVO;
+    }
 }
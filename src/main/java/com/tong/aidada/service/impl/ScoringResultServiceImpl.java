@@ -7,16 +7,15 @@ import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.tong.aidada.common.ErrorCode;
 import com.tong.aidada.constant.CommonConstant;
 import com.tong.aidada.exception.ThrowUtils;
+import com.tong.aidada.manager.UserVOLoader;
 import com.tong.aidada.mapper.ScoringResultMapper;
 import com.tong.aidada.model.dto.scoringresult.ScoringResultQueryRequest;
 import com.tong.aidada.model.entity.App;
 import com.tong.aidada.model.entity.ScoringResult;
-import com.tong.aidada.model.entity.User;
 import com.tong.aidada.model.vo.ScoringResultVO;
 import com.tong.aidada.model.vo.UserVO;
 import com.tong.aidada.service.AppService;
 import com.tong.aidada.service.ScoringResultService;
-import com.tong.aidada.service.UserService;
 import com.tong.aidada.utils.SqlUtils;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.ObjectUtils;
@@ -25,6 +24,7 @@ import org.springframework.stereotype.Service;
 
 import javax.annotation.Resource;
 import javax.servlet.http.HttpServletRequest;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -38,7 +38,7 @@ import java.util.stream.Collectors;
 public class ScoringResultServiceImpl extends ServiceImpl<ScoringResultMapper, ScoringResult> implements ScoringResultService {
 
     @Resource
-    private UserService userService;
+    private UserVOLoader userVOLoader;
 
     @Resource
     private AppService appService;
@@ -116,8 +116,13 @@ public class ScoringResultServiceImpl extends ServiceImpl<ScoringResultMapper, S
         queryWrapper.eq(ObjectUtils.isNotEmpty(resultScoreRange), "resultScoreRange", resultScoreRange);
         queryWrapper.eq(ObjectUtils.isNotEmpty(userId), "userId", userId);
         queryWrapper.ne(ObjectUtils.isNotEmpty(notId), "id", notId);
+        // 已等值过滤的列，只有排序索引的前缀列都在其中时才按该字段排序
+        Set<String> equalityColumns = new HashSet<>();
+        if (ObjectUtils.isNotEmpty(appId)) {
+            equalityColumns.add("appId");
+        }
         // 排序规则
-        queryWrapper.orderBy(SqlUtils.validSortField(sortField),
+        queryWrapper.orderBy(SqlUtils.validSortField(ScoringResult.class, sortField, equalityColumns),
                 sortOrder.equals(CommonConstant.SORT_ORDER_ASC),
                 sortField);
         return queryWrapper;
@@ -138,11 +143,10 @@ public class ScoringResultServiceImpl extends ServiceImpl<ScoringResultMapper, S
         // 可以根据需要为封装对象补充值，不需要的内容可以删除
         // 1. 关联查询用户信息
         Long userId = scoringResult.getUserId();
-        User user = null;
+        UserVO userVO = null;
         if (userId != null && userId > 0) {
-            user = userService.getById(userId);
+            userVO = userVOLoader.load(userId);
         }
-        UserVO userVO = userService.getUserVO(user);
         scoringResultVO.setUser(userVO);
 
         return scoringResultVO;
@@ -170,17 +174,9 @@ public class ScoringResultServiceImpl extends ServiceImpl<ScoringResultMapper, S
         // 可以根据需要为封装对象补充值，不需要的内容可以删除
         // 1. 关联查询用户信息
         Set<Long> userIdSet = scoringResultList.stream().map(ScoringResult::getUserId).collect(Collectors.toSet());
-        Map<Long, List<User>> userIdUserListMap = userService.listByIds(userIdSet).stream()
-                .collect(Collectors.groupingBy(User::getId));
+        Map<Long, UserVO> userIdUserVOMap = userVOLoader.loadMany(userIdSet);
         // 填充信息
-        scoringResultVOList.forEach(scoringResultVO -> {
-            Long userId = scoringResultVO.getUserId();
-            User user = null;
-            if (userIdUserListMap.containsKey(userId)) {
-                user = userIdUserListMap.get(userId).get(0);
-            }
-            scoringResultVO.setUser(userService.getUserVO(user));
-        });
+        scoringResultVOList.forEach(scoringResultVO -> scoringResultVO.setUser(userIdUserVOMap.get(scoringResultVO.getUserId())));
 
         scoringResultVOPage.setRecords(scoringResultVOList);
         return scoringResultVOPage;
@@ -1,22 +1,31 @@
 package com.tong.aidada.service.impl;
 
 import cn.hutool.core.collection.CollUtil;
+import cn.hutool.json.JSONUtil;
+import com.alibaba.excel.EasyExcel;
+import com.alibaba.excel.ExcelWriter;
+import com.alibaba.excel.write.metadata.WriteSheet;
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.tong.aidada.common.CursorPage;
 import com.tong.aidada.common.ErrorCode;
 import com.tong.aidada.constant.CommonConstant;
 import com.tong.aidada.exception.ThrowUtils;
+import com.tong.aidada.manager.AppScoreRankManager;
+import com.tong.aidada.manager.UserVOLoader;
 import com.tong.aidada.mapper.UserAnswerMapper;
+import com.tong.aidada.model.dto.useranswer.PackedChoices;
+import com.tong.aidada.model.dto.useranswer.UserAnswerExportDTO;
 import com.tong.aidada.model.dto.useranswer.UserAnswerQueryRequest;
 import com.tong.aidada.model.entity.App;
-import com.tong.aidada.model.entity.User;
 import com.tong.aidada.model.entity.UserAnswer;
 import com.tong.aidada.model.vo.UserAnswerVO;
 import com.tong.aidada.model.vo.UserVO;
 import com.tong.aidada.service.AppService;
 import com.tong.aidada.service.UserAnswerService;
-import com.tong.aidada.service.UserService;
+import com.tong.aidada.utils.ChoicesUtils;
+import com.tong.aidada.utils.CursorUtils;
 import com.tong.aidada.utils.SqlUtils;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.ObjectUtils;
@@ -25,6 +34,10 @@ import org.springframework.stereotype.Service;
 
 import javax.annotation.Resource;
 import javax.servlet.http.HttpServletRequest;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -38,11 +51,17 @@ import java.util.stream.Collectors;
 public class UserAnswerServiceImpl extends ServiceImpl<UserAnswerMapper, UserAnswer> implements UserAnswerService {
 
     @Resource
-    private UserService userService;
+    private UserVOLoader userVOLoader;
+
+    @Resource
+    private AppScoreRankManager appScoreRankManager;
 
     @Resource
     private AppService appService;
 
+    // 导出时每批写出的行数
+    private static final int EXPORT_BATCH_SIZE = 1000;
+
     // region 增删改查
 
     /**
@@ -108,7 +127,16 @@ public class UserAnswerServiceImpl extends ServiceImpl<UserAnswerMapper, UserAns
             queryWrapper.and(qw -> qw.like("resultName", searchText).or().like("resultDesc", searchText));
         }
         // 模糊查询
-        queryWrapper.like(StringUtils.isNotBlank(choices), "choices", choices);
+        if (StringUtils.isNotBlank(choices)) {
+            // 能紧凑编码的答案只存在 packedChoices 中，完整的答案列表（如 ["A","B"]）按紧凑编码精确匹配
+            PackedChoices packedChoices = JSONUtil.isTypeJSONArray(choices)
+                    ? PackedChoices.encode(JSONUtil.toList(choices, String.class)) : null;
+            if (packedChoices == null) {
+                queryWrapper.like("choices", choices);
+            } else {
+                queryWrapper.and(qw -> qw.like("choices", choices).or().eq("packedChoices", packedChoices.getBytes()));
+            }
+        }
         queryWrapper.like(StringUtils.isNotBlank(resultName), "resultName", resultName);
         queryWrapper.like(StringUtils.isNotBlank(resultDesc), "resultDesc", resultDesc);
         // 精确查询
@@ -121,8 +149,16 @@ public class UserAnswerServiceImpl extends ServiceImpl<UserAnswerMapper, UserAns
         queryWrapper.eq(ObjectUtils.isNotEmpty(resultScore), "resultScore", resultScore);
         queryWrapper.eq(ObjectUtils.isNotEmpty(userId), "userId", userId);
         queryWrapper.ne(ObjectUtils.isNotEmpty(notId), "id", notId);
+        // 已等值过滤的列，只有排序索引的前缀列都在其中时才按该字段排序
+        Set<String> equalityColumns = new HashSet<>();
+        if (ObjectUtils.isNotEmpty(appId)) {
+            equalityColumns.add("appId");
+        }
+        if (ObjectUtils.isNotEmpty(userId)) {
+            equalityColumns.add("userId");
+        }
         // 排序规则
-        queryWrapper.orderBy(SqlUtils.validSortField(sortField),
+        queryWrapper.orderBy(SqlUtils.validSortField(UserAnswer.class, sortField, equalityColumns),
                 sortOrder.equals(CommonConstant.SORT_ORDER_ASC),
                 sortField);
         return queryWrapper;
@@ -143,12 +179,16 @@ public class UserAnswerServiceImpl extends ServiceImpl<UserAnswerMapper, UserAns
         // 可以根据需要为封装对象补充值，不需要的内容可以删除
         // 1. 关联查询用户信息
         Long userId = userAnswer.getUserId();
-        User user = null;
+        UserVO userVO = null;
         if (userId != null && userId > 0) {
-            user = userService.getById(userId);
+            userVO = userVOLoader.load(userId);
         }
-        UserVO userVO = userService.getUserVO(user);
         userAnswerVO.setUser(userVO);
+        // 2. 得分类应用补充击败百分比
+        if (userAnswer.getResultScore() != null) {
+            userAnswerVO.setBeatPercent(appScoreRankManager.getBeatPercent(userAnswer.getAppId(),
+                    userAnswer.getResultScore()));
+        }
 
         return userAnswerVO;
     }
@@ -175,21 +215,95 @@ public class UserAnswerServiceImpl extends ServiceImpl<UserAnswerMapper, UserAns
         // 可以根据需要为封装对象补充值，不需要的内容可以删除
         // 1. 关联查询用户信息
         Set<Long> userIdSet = userAnswerList.stream().map(UserAnswer::getUserId).collect(Collectors.toSet());
-        Map<Long, List<User>> userIdUserListMap = userService.listByIds(userIdSet).stream()
-                .collect(Collectors.groupingBy(User::getId));
+        Map<Long, UserVO> userIdUserVOMap = userVOLoader.loadMany(userIdSet);
         // 填充信息
-        userAnswerVOList.forEach(userAnswerVO -> {
-            Long userId = userAnswerVO.getUserId();
-            User user = null;
-            if (userIdUserListMap.containsKey(userId)) {
-                user = userIdUserListMap.get(userId).get(0);
-            }
-            userAnswerVO.setUser(userService.getUserVO(user));
-        });
+        userAnswerVOList.forEach(userAnswerVO -> userAnswerVO.setUser(userIdUserVOMap.get(userAnswerVO.getUserId())));
 
         userAnswerVOPage.setRecords(userAnswerVOList);
         return userAnswerVOPage;
     }
 
     // endregion
+
+    /**
+     * 游标分页获取用户答案封装（按创建时间、id 倒序，不查询总数）
+     *
+     * @param userAnswerQueryRequest
+     * @param request
+     * @return
+     */
+    @Override
+    public CursorPage<UserAnswerVO> listUserAnswerVOByCursor(UserAnswerQueryRequest userAnswerQueryRequest, HttpServletRequest request) {
+        int size = userAnswerQueryRequest.getPageSize();
+        String cursor = userAnswerQueryRequest.getCursor();
+        // 游标分页固定排序，使用 ([userId/appId,] createTime, id) 联合索引
+        userAnswerQueryRequest.setSortField(null);
+        QueryWrapper<UserAnswer> queryWrapper = getQueryWrapper(userAnswerQueryRequest);
+        if (StringUtils.isNotBlank(cursor)) {
+            long[] position = CursorUtils.decode(cursor);
+            Date createTime = new Date(position[0]);
+            long id = position[1];
+            queryWrapper.and(qw -> qw.lt("createTime", createTime)
+                    .or(w -> w.eq("createTime", createTime).lt("id", id)));
+        }
+        // 多查一条判断是否还有下一页
+        queryWrapper.orderByDesc("createTime", "id");
+        queryWrapper.last("limit " + (size + 1));
+        List<UserAnswer> userAnswerList = this.list(queryWrapper);
+        CursorPage<UserAnswerVO> cursorPage = new CursorPage<>();
+        if (userAnswerList.size() > size) {
+            userAnswerList = userAnswerList.subList(0, size);
+            cursorPage.setHasMore(true);
+            UserAnswer last = userAnswerList.get(size - 1);
+            cursorPage.setNextCursor(CursorUtils.encode(last.getCreateTime(), last.getId()));
+        }
+        // 获取封装类
+        Page<UserAnswer> userAnswerPage = new Page<>(1, size, false);
+        userAnswerPage.setRecords(userAnswerList);
+        cursorPage.setRecords(getUserAnswerVOPage(userAnswerPage, request).getRecords());
+        return cursorPage;
+    }
+
+    /**
+     * 流式导出应用的答题记录到 Excel
+     * <p>
+     * 数据库按行返回结果，每攒够一批写出一次，easyexcel 写出的行会刷到临时文件，内存中只保留一批数据
+     *
+     * @param appId
+     * @param outputStream
+     */
+    @Override
+    public void exportUserAnswer(Long appId, OutputStream outputStream) {
+        ExcelWriter excelWriter = EasyExcel.write(outputStream, UserAnswerExportDTO.class).build();
+        try {
+            WriteSheet writeSheet = EasyExcel.writerSheet("用户答案").build();
+            List<UserAnswerExportDTO> batchList = new ArrayList<>(EXPORT_BATCH_SIZE);
+            this.baseMapper.streamByAppId(appId, resultContext -> {
+                batchList.add(toExportDTO(resultContext.getResultObject()));
+                if (batchList.size() >= EXPORT_BATCH_SIZE) {
+                    excelWriter.write(batchList, writeSheet);
+                    batchList.clear();
+                }
+            });
+            // 写出最后一批（没有数据时也写出表头）
+            excelWriter.write(batchList, writeSheet);
+        } finally {
+            excelWriter.finish();
+        }
+    }
+
+    private UserAnswerExportDTO toExportDTO(UserAnswer userAnswer) {
+        UserAnswerExportDTO userAnswerExportDTO = new UserAnswerExportDTO();
+        userAnswerExportDTO.setId(userAnswer.getId());
+        userAnswerExportDTO.setUserId(userAnswer.getUserId());
+        // 优先从紧凑编码解码，避免解析 JSON
+        List<String> choiceList = ChoicesUtils.toList(userAnswer);
+        if (choiceList != null) {
+            userAnswerExportDTO.setChoices(String.join(",", choiceList));
+        }
+        userAnswerExportDTO.setResultName(userAnswer.getResultName());
+        userAnswerExportDTO.setResultScore(userAnswer.getResultScore());
+        userAnswerExportDTO.setCreateTime(userAnswer.getCreateTime());
+        return userAnswerExportDTO;
+    }
 }
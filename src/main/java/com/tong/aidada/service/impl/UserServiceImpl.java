@@ -4,9 +4,15 @@ import cn.hutool.core.collection.CollUtil;
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.tong.aidada.common.ErrorCode;
+import com.tong.aidada.config.AuthConfig;
 import com.tong.aidada.constant.CommonConstant;
 import com.tong.aidada.exception.BusinessException;
+import com.tong.aidada.manager.TokenManager;
+import com.tong.aidada.manager.UserAccountBloomFilterManager;
+import com.tong.aidada.manager.UserCacheManager;
 import com.tong.aidada.mapper.UserMapper;
+import com.tong.aidada.model.convert.UserConvert;
+import com.tong.aidada.model.dto.user.SessionUser;
 import com.tong.aidada.model.dto.user.UserQueryRequest;
 import com.tong.aidada.model.entity.User;
 import com.tong.aidada.model.enums.UserRoleEnum;
@@ -16,15 +22,23 @@ import com.tong.aidada.service.UserService;
 import com.tong.aidada.utils.SqlUtils;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
-import org.springframework.beans.BeanUtils;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 import org.springframework.util.DigestUtils;
 
+import javax.annotation.Resource;
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpSession;
+import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+import static com.tong.aidada.constant.UserConstant.LOGIN_USER_ATTRIBUTE;
+import static com.tong.aidada.constant.UserConstant.TOKEN_ID_ATTRIBUTE;
+import static com.tong.aidada.constant.UserConstant.TOKEN_USER_ATTRIBUTE;
 import static com.tong.aidada.constant.UserConstant.USER_LOGIN_STATE;
 
 /**
@@ -39,6 +53,18 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
      */
     public static final String SALT = "tong";
 
+    @Resource
+    private UserCacheManager userCacheManager;
+
+    @Resource
+    private TokenManager tokenManager;
+
+    @Resource
+    private UserAccountBloomFilterManager userAccountBloomFilterManager;
+
+    @Resource
+    private AuthConfig authConfig;
+
     // region 增删改查
 
     @Override
@@ -57,26 +83,37 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
         if (!userPassword.equals(checkPassword)) {
             throw new BusinessException(ErrorCode.PARAMS_ERROR, "两次输入的密码不一致");
         }
-        synchronized (userAccount.intern()) {
-            // 账户不能重复
+        // 账户不能重复（布隆过滤器判断一定不存在时无需查询，最终由唯一索引保证，已注销的账号在插入时报错）
+        if (userAccountBloomFilterManager.mightExist(userAccount)) {
             QueryWrapper<User> queryWrapper = new QueryWrapper<>();
             queryWrapper.eq("userAccount", userAccount);
             long count = this.baseMapper.selectCount(queryWrapper);
             if (count > 0) {
                 throw new BusinessException(ErrorCode.PARAMS_ERROR, "账号重复");
             }
-            // 2. 加密
-            String encryptPassword = DigestUtils.md5DigestAsHex((SALT + userPassword).getBytes());
-            // 3. 插入数据
-            User user = new User();
-            user.setUserAccount(userAccount);
-            user.setUserPassword(encryptPassword);
-            boolean saveResult = this.save(user);
-            if (!saveResult) {
-                throw new BusinessException(ErrorCode.SYSTEM_ERROR, "注册失败，数据库错误");
+        }
+        // 2. 加密
+        String encryptPassword = DigestUtils.md5DigestAsHex((SALT + userPassword).getBytes());
+        // 3. 插入数据
+        User user = new User();
+        user.setUserAccount(userAccount);
+        user.setUserPassword(encryptPassword);
+        boolean saveResult;
+        try {
+            saveResult = this.save(user);
+        } catch (DuplicateKeyException e) {
+            // 已注销（逻辑删除）的账号仍占用唯一索引，不能重新注册
+            if (this.baseMapper.countDeletedByUserAccount(userAccount) > 0) {
+                throw new BusinessException(ErrorCode.PARAMS_ERROR, "该账号已注销，不能重新注册");
             }
-            return user.getId();
+            // 并发注册同一账号
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "账号重复");
+        }
+        if (!saveResult) {
+            throw new BusinessException(ErrorCode.SYSTEM_ERROR, "注册失败，数据库错误");
         }
+        userAccountBloomFilterManager.add(userAccount);
+        return user.getId();
     }
 
     @Override
@@ -103,8 +140,14 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
             log.info("user login failed, userAccount cannot match userPassword");
             throw new BusinessException(ErrorCode.PARAMS_ERROR, "用户不存在或密码错误");
         }
-        // 3. 记录用户的登录态
-        request.getSession().setAttribute(USER_LOGIN_STATE, user);
+        // 3. 记录用户的登录态（令牌模式下签发令牌，不创建会话）
+        if (authConfig.isTokenMode()) {
+            LoginUserVO loginUserVO = this.getLoginUserVO(user);
+            loginUserVO.setToken(tokenManager.createToken(user));
+            return loginUserVO;
+        }
+        // 仅保存精简信息
+        request.getSession().setAttribute(USER_LOGIN_STATE, SessionUser.of(user));
         return this.getLoginUserVO(user);
     }
 
@@ -116,15 +159,7 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
      */
     @Override
     public User getLoginUser(HttpServletRequest request) {
-        // 先判断是否已登录
-        Object userObj = request.getSession().getAttribute(USER_LOGIN_STATE);
-        User currentUser = (User) userObj;
-        if (currentUser == null || currentUser.getId() == null) {
-            throw new BusinessException(ErrorCode.NOT_LOGIN_ERROR);
-        }
-        // 从数据库查询（追求性能的话可以注释，直接走缓存）
-        long userId = currentUser.getId();
-        currentUser = this.getById(userId);
+        User currentUser = getLoginUserPermitNull(request);
         if (currentUser == null) {
             throw new BusinessException(ErrorCode.NOT_LOGIN_ERROR);
         }
@@ -139,15 +174,52 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
      */
     @Override
     public User getLoginUserPermitNull(HttpServletRequest request) {
+        // 同一请求内只查询一次
+        Object loginUserObj = request.getAttribute(LOGIN_USER_ATTRIBUTE);
+        if (loginUserObj instanceof User) {
+            return (User) loginUserObj;
+        }
         // 先判断是否已登录
-        Object userObj = request.getSession().getAttribute(USER_LOGIN_STATE);
-        User currentUser = (User) userObj;
-        if (currentUser == null || currentUser.getId() == null) {
+        SessionUser sessionUser = getSessionUser(request);
+        if (sessionUser == null || sessionUser.getId() == null) {
+            return null;
+        }
+        // 从缓存查询，未命中再查数据库（用户变更时缓存会失效，保证封号及时生效）
+        long userId = sessionUser.getId();
+        User currentUser = userCacheManager.getUser(userId, this::getById);
+        if (currentUser != null) {
+            request.setAttribute(LOGIN_USER_ATTRIBUTE, currentUser);
+        }
+        return currentUser;
+    }
+
+    /**
+     * 获取会话中的登录用户，旧会话中保存的完整用户实体会迁移为精简结构
+     *
+     * @param request
+     * @return
+     */
+    private SessionUser getSessionUser(HttpServletRequest request) {
+        // 令牌模式下由过滤器校验，不访问会话
+        if (authConfig.isTokenMode()) {
+            Object tokenUserObj = request.getAttribute(TOKEN_USER_ATTRIBUTE);
+            return tokenUserObj instanceof SessionUser ? (SessionUser) tokenUserObj : null;
+        }
+        // 未登录时不创建会话
+        HttpSession session = request.getSession(false);
+        if (session == null) {
             return null;
         }
-        // 从数据库查询（追求性能的话可以注释，直接走缓存）
-        long userId = currentUser.getId();
-        return this.getById(userId);
+        Object userObj = session.getAttribute(USER_LOGIN_STATE);
+        if (userObj instanceof SessionUser) {
+            return (SessionUser) userObj;
+        }
+        if (userObj instanceof User) {
+            SessionUser sessionUser = SessionUser.of((User) userObj);
+            session.setAttribute(USER_LOGIN_STATE, sessionUser);
+            return sessionUser;
+        }
+        return null;
     }
 
     /**
@@ -159,8 +231,7 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
     @Override
     public boolean isAdmin(HttpServletRequest request) {
         // 仅管理员可查询
-        Object userObj = request.getSession().getAttribute(USER_LOGIN_STATE);
-        User user = (User) userObj;
+        User user = getLoginUserPermitNull(request);
         return isAdmin(user);
     }
 
@@ -176,21 +247,63 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
      */
     @Override
     public boolean userLogout(HttpServletRequest request) {
+        // 令牌模式下吊销当前令牌
+        if (authConfig.isTokenMode()) {
+            Object tokenId = request.getAttribute(TOKEN_ID_ATTRIBUTE);
+            if (tokenId == null) {
+                throw new BusinessException(ErrorCode.OPERATION_ERROR, "未登录");
+            }
+            tokenManager.revokeToken((String) tokenId);
+            request.removeAttribute(TOKEN_USER_ATTRIBUTE);
+            request.removeAttribute(LOGIN_USER_ATTRIBUTE);
+            return true;
+        }
         if (request.getSession().getAttribute(USER_LOGIN_STATE) == null) {
             throw new BusinessException(ErrorCode.OPERATION_ERROR, "未登录");
         }
         // 移除登录态
         request.getSession().removeAttribute(USER_LOGIN_STATE);
+        request.removeAttribute(LOGIN_USER_ATTRIBUTE);
         return true;
     }
 
+    /**
+     * 更新用户（封号时吊销该用户的令牌，用户缓存由 UserCacheInvalidateInterceptor 失效）
+     *
+     * @param user
+     * @return
+     */
+    @Override
+    public boolean updateById(User user) {
+        boolean result = super.updateById(user);
+        if (result && UserRoleEnum.BAN.getValue().equals(user.getUserRole())) {
+            tokenManager.revokeUser(user.getId());
+        }
+        return result;
+    }
+
+    /**
+     * 删除用户（同时吊销该用户的令牌，用户缓存由 UserCacheInvalidateInterceptor 失效）
+     *
+     * @param id
+     * @return
+     */
+    @Override
+    public boolean removeById(Serializable id) {
+        boolean result = super.removeById(id);
+        if (result) {
+            tokenManager.revokeUser(Long.valueOf(id.toString()));
+        }
+        return result;
+    }
+
     @Override
     public LoginUserVO getLoginUserVO(User user) {
         if (user == null) {
             return null;
         }
         LoginUserVO loginUserVO = new LoginUserVO();
-        BeanUtils.copyProperties(user, loginUserVO);
+        UserConvert.copyProperties(user, loginUserVO);
         return loginUserVO;
     }
 
@@ -200,7 +313,7 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
             return null;
         }
         UserVO userVO = new UserVO();
-        BeanUtils.copyProperties(user, userVO);
+        UserConvert.copyProperties(user, userVO);
         return userVO;
     }
 
@@ -232,7 +345,12 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
         queryWrapper.eq(StringUtils.isNotBlank(userRole), "userRole", userRole);
         queryWrapper.like(StringUtils.isNotBlank(userProfile), "userProfile", userProfile);
         queryWrapper.like(StringUtils.isNotBlank(userName), "userName", userName);
-        queryWrapper.orderBy(SqlUtils.validSortField(sortField), sortOrder.equals(CommonConstant.SORT_ORDER_ASC),
+        // 已等值过滤的列，只有排序索引的前缀列都在其中时才按该字段排序
+        Set<String> equalityColumns = new HashSet<>();
+        if (StringUtils.isNotBlank(userRole)) {
+            equalityColumns.add("userRole");
+        }
+        queryWrapper.orderBy(SqlUtils.validSortField(User.class, sortField, equalityColumns), sortOrder.equals(CommonConstant.SORT_ORDER_ASC),
                 sortField);
         return queryWrapper;
     }
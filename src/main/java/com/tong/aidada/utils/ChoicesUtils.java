@@ -0,0 +1,61 @@
+package com.tong.aidada.utils;
+
+import cn.hutool.json.JSONUtil;
+import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.tong.aidada.model.dto.useranswer.PackedChoices;
+import com.tong.aidada.model.entity.UserAnswer;
+
+import java.util.List;
+
+/**
+ * 用户答案存储工具类
+ * <p>
+ * 答案能紧凑编码时只写 packedChoices，choices 列置空；无法编码时（如选项不是单个大写字母）才写 JSON。
+ * 更新时只有重写了答案才清空另一种格式的旧值，读取时优先使用紧凑编码
+ */
+public class ChoicesUtils {
+
+    /**
+     * 填充答题记录的用户答案
+     *
+     * @param userAnswer
+     * @param choices    用户答案列表，如 [A, B, C]
+     */
+    public static void fill(UserAnswer userAnswer, List<String> choices) {
+        PackedChoices packedChoices = PackedChoices.encode(choices);
+        userAnswer.setPackedChoices(packedChoices);
+        userAnswer.setChoices(packedChoices == null ? JSONUtil.toJsonStr(choices) : null);
+    }
+
+    /**
+     * 构造按 id 更新答题记录的条件：已通过 fill 重写答案时，清空另一种格式的旧值，未重写时两列都不更新
+     *
+     * @param userAnswer
+     * @return
+     */
+    public static LambdaUpdateWrapper<UserAnswer> buildUpdateWrapper(UserAnswer userAnswer) {
+        LambdaUpdateWrapper<UserAnswer> updateWrapper = Wrappers.lambdaUpdate(UserAnswer.class)
+                .eq(UserAnswer::getId, userAnswer.getId());
+        if (userAnswer.getPackedChoices() != null) {
+            updateWrapper.setSql("choices = null");
+        } else if (userAnswer.getChoices() != null) {
+            updateWrapper.setSql("packedChoices = null");
+        }
+        return updateWrapper;
+    }
+
+    /**
+     * 读取答题记录的用户答案
+     *
+     * @param userAnswer
+     * @return 没有答案时返回 null
+     */
+    public static List<String> toList(UserAnswer userAnswer) {
+        PackedChoices packedChoices = userAnswer.getPackedChoices();
+        if (packedChoices != null) {
+            return packedChoices.toChoiceList();
+        }
+        return userAnswer.getChoices() == null ? null : JSONUtil.toList(userAnswer.getChoices(), String.class);
+    }
+}
@@ -0,0 +1,47 @@
+package com.tong.aidada.utils;
+
+import cn.hutool.core.codec.Base64;
+import cn.hutool.core.util.StrUtil;
+import com.tong.aidada.common.ErrorCode;
+import com.tong.aidada.exception.BusinessException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+/**
+ * 游标分页工具类（游标对客户端不透明，内容为最后一条数据的创建时间和 id）
+ */
+public class CursorUtils {
+
+    /**
+     * 生成游标
+     *
+     * @param createTime 最后一条数据的创建时间
+     * @param id         最后一条数据的 id
+     * @return
+     */
+    public static String encode(Date createTime, Long id) {
+        return Base64.encodeUrlSafe(createTime.getTime() + ":" + id);
+    }
+
+    /**
+     * 解析游标
+     *
+     * @param cursor
+     * @return [创建时间毫秒数, id]
+     */
+    public static long[] decode(String cursor) {
+        try {
+            String value = Base64.decodeStr(cursor, StandardCharsets.UTF_8);
+            String[] parts = StrUtil.splitToArray(value, ':');
+            if (parts.length != 2) {
+                throw new BusinessException(ErrorCode.PARAMS_ERROR, "游标无效");
+            }
+            return new long[]{Long.parseLong(parts[0]), Long.parseLong(parts[1])};
+        } catch (BusinessException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "游标无效");
+        }
+    }
+}
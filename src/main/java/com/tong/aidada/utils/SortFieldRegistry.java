@@ -0,0 +1,155 @@
+package com.tong.aidada.utils;
+
+import com.tong.aidada.model.entity.App;
+import com.tong.aidada.model.entity.Question;
+import com.tong.aidada.model.entity.ScoringResult;
+import com.tong.aidada.model.entity.User;
+import com.tong.aidada.model.entity.UserAnswer;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 可排序字段注册表
+ * <p>
+ * 每个实体只允许按登记过的字段排序，每个字段都对应 sql/create_table.sql 中声明的索引：
+ * 排序字段为索引的最后一列（末尾的 id 只用于稳定排序），之前的列必须在查询中作为等值过滤条件，
+ * 保证分页查询可以直接按索引顺序读取，避免 filesort
+ */
+public final class SortFieldRegistry {
+
+    /**
+     * 实体 => 排序字段 => 支撑该排序的索引
+     */
+    private static final Map<Class<?>, Map<String, List<SortIndex>>> REGISTRY = new HashMap<>();
+
+    static {
+        register(User.class,
+                new SortIndex("idx_createTime", "createTime"),
+                new SortIndex("idx_userRole_createTime", "userRole", "createTime"));
+        register(App.class,
+                new SortIndex("idx_createTime", "createTime"),
+                new SortIndex("idx_reviewStatus_createTime", "reviewStatus", "createTime"),
+                new SortIndex("idx_userId_createTime", "userId", "createTime"));
+        register(Question.class,
+                new SortIndex("idx_appId_createTime", "appId", "createTime"));
+        register(ScoringResult.class,
+                new SortIndex("idx_appId_createTime", "appId", "createTime"),
+                new SortIndex("idx_appId_resultScoreRange", "appId", "resultScoreRange"));
+        register(UserAnswer.class,
+                new SortIndex("idx_createTime_id", "createTime", "id"),
+                new SortIndex("idx_appId_createTime_id", "appId", "createTime", "id"),
+                new SortIndex("idx_userId_createTime_id", "userId", "createTime", "id"));
+    }
+
+    private SortFieldRegistry() {
+    }
+
+    /**
+     * 登记实体的排序索引，主键 id 默认可排序
+     *
+     * @param entityClass
+     * @param sortIndexes
+     */
+    private static void register(Class<?> entityClass, SortIndex... sortIndexes) {
+        Map<String, List<SortIndex>> fieldMap = new LinkedHashMap<>();
+        fieldMap.put("id", Collections.singletonList(SortIndex.PRIMARY));
+        for (SortIndex sortIndex : sortIndexes) {
+            fieldMap.computeIfAbsent(sortIndex.getSortField(), key -> new ArrayList<>()).add(sortIndex);
+        }
+        REGISTRY.put(entityClass, fieldMap);
+    }
+
+    /**
+     * 字段是否允许排序：存在以该字段排序的索引，且索引的前缀列都已作为等值过滤条件
+     *
+     * @param entityClass
+     * @param sortField
+     * @param equalityColumns 查询中已等值过滤的列
+     * @return
+     */
+    public static boolean isAllowed(Class<?> entityClass, String sortField, Collection<String> equalityColumns) {
+        Map<String, List<SortIndex>> fieldMap = REGISTRY.get(entityClass);
+        if (fieldMap == null || sortField == null) {
+            return false;
+        }
+        return fieldMap.getOrDefault(sortField, Collections.emptyList()).stream()
+                .anyMatch(sortIndex -> equalityColumns.containsAll(sortIndex.getEqualityColumns()));
+    }
+
+    /**
+     * 获取实体所有可排序字段及其对应的索引
+     *
+     * @param entityClass
+     * @return
+     */
+    public static Map<String, List<SortIndex>> getSortFields(Class<?> entityClass) {
+        return Collections.unmodifiableMap(REGISTRY.getOrDefault(entityClass, Collections.emptyMap()));
+    }
+
+    /**
+     * 获取已登记的实体
+     *
+     * @return
+     */
+    public static List<Class<?>> getEntityClasses() {
+        return new ArrayList<>(REGISTRY.keySet());
+    }
+
+    /**
+     * 支撑排序的索引
+     */
+    @Getter
+    public static final class SortIndex {
+
+        /**
+         * 主键
+         */
+        public static final SortIndex PRIMARY = new SortIndex("PRIMARY", "id");
+
+        /**
+         * 索引名
+         */
+        private final String name;
+
+        /**
+         * 索引列（按声明顺序）
+         */
+        private final List<String> columns;
+
+        public SortIndex(String name, String... columns) {
+            this.name = name;
+            this.columns = Collections.unmodifiableList(Arrays.asList(columns));
+        }
+
+        /**
+         * 排序字段：最后一列，末尾为 id 时取前一列
+         *
+         * @return
+         */
+        public String getSortField() {
+            return columns.get(getSortFieldIndex());
+        }
+
+        /**
+         * 需要等值过滤的前缀列（排序字段之前的列）
+         *
+         * @return
+         */
+        public List<String> getEqualityColumns() {
+            return columns.subList(0, getSortFieldIndex());
+        }
+
+        private int getSortFieldIndex() {
+            int last = columns.size() - 1;
+            return last > 0 && "id".equals(columns.get(last)) ? last - 1 : last;
+        }
+    }
+}
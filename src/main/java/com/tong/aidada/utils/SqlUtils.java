@@ -2,6 +2,8 @@ package com.tong.aidada.utils;
 
 import org.apache.commons.lang3.StringUtils;
 
+import java.util.Collection;
+
 /**
  * SQL 工具
  */
@@ -19,4 +21,16 @@ public class SqlUtils {
         }
         return !StringUtils.containsAny(sortField, "=", "(", ")", " ");
     }
+
+    /**
+     * 校验排序字段是否合法，且 {@link SortFieldRegistry} 中登记的索引在当前过滤条件下可以支撑该排序（避免大表 filesort）
+     *
+     * @param entityClass
+     * @param sortField
+     * @param equalityColumns 查询中已等值过滤的列
+     * @return
+     */
+    public static boolean validSortField(Class<?> entityClass, String sortField, Collection<String> equalityColumns) {
+        return validSortField(sortField) && SortFieldRegistry.isAllowed(entityClass, sortField, equalityColumns);
+    }
 }
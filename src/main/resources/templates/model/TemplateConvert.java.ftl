@@ -0,0 +1,28 @@
+package ${packageName}.model.convert;
+
+<#list imports as import>
+import ${import};
+</#list>
+
+/**
+ * ${dataName}对象转换（由 ConvertGenerator 生成，请勿手动修改）
+ */
+public final class ${upperDataKey}Convert {
+
+    private ${upperDataKey}Convert() {
+    }
+<#list mappings as mapping>
+
+    /**
+     * ${mapping.sourceType} => ${mapping.targetType}
+     *
+     * @param source
+     * @param target
+     */
+    public static void copyProperties(${mapping.sourceType} source, ${mapping.targetType} target) {
+<#list mapping.properties as property>
+        target.${property.setter}(source.${property.getter}());
+</#list>
+    }
+</#list>
+}
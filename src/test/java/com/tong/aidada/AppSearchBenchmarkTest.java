@@ -0,0 +1,70 @@
+package com.tong.aidada;
+
+import com.tong.aidada.manager.AppSearchManager;
+import com.tong.aidada.model.entity.App;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 应用搜索性能对比：LIKE 全量扫描 vs 倒排索引
+ * <p>
+ * 耗时较长，默认不执行，使用 mvn test -Dtest=AppSearchBenchmarkTest -Dbenchmark=true 运行
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class AppSearchBenchmarkTest {
+
+    private static final String[] WORDS = {"性格", "测试", "职业", "规划", "星座", "恋爱", "心理", "年龄", "趣味", "知识",
+            "问答", "编程", "能力", "评估", "mbti", "java", "前端", "后端", "运势", "情商"};
+
+    @Test
+    void likeScanVsInvertedIndex() {
+        int appCount = 50_000;
+        int rounds = 1000;
+        Random random = new Random(42);
+        AppSearchManager appSearchManager = new AppSearchManager();
+        List<App> appList = new ArrayList<>();
+        for (long i = 1; i <= appCount; i++) {
+            App app = new App();
+            app.setId(i);
+            app.setAppName(randomText(random, 3));
+            app.setAppDesc(randomText(random, 12));
+            appList.add(app);
+            appSearchManager.index(app);
+        }
+        String[] queries = {"性格测试", "职业", "mbti", "趣味知识", "心理评估"};
+        // LIKE '%xxx%' 需要逐行匹配，使用全量扫描模拟
+        long start = System.nanoTime();
+        long likeHits = 0;
+        for (int i = 0; i < rounds; i++) {
+            String query = queries[i % queries.length];
+            for (App app : appList) {
+                if (app.getAppName().contains(query) || app.getAppDesc().contains(query)) {
+                    likeHits++;
+                }
+            }
+        }
+        long likeCost = System.nanoTime() - start;
+        start = System.nanoTime();
+        long indexHits = 0;
+        for (int i = 0; i < rounds; i++) {
+            indexHits += appSearchManager.search(queries[i % queries.length], 20).size();
+        }
+        long indexCost = System.nanoTime() - start;
+        System.out.printf("like scan: %d us/query, hits = %d%n", likeCost / rounds / 1000, likeHits);
+        System.out.printf("inverted index: %d us/query, hits = %d%n", indexCost / rounds / 1000, indexHits);
+        Assertions.assertTrue(indexHits > 0);
+    }
+
+    private String randomText(Random random, int wordCount) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < wordCount; i++) {
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+}
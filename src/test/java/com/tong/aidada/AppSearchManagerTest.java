@@ -0,0 +1,68 @@
+package com.tong.aidada;
+
+import com.tong.aidada.event.AppChangedEvent;
+import com.tong.aidada.manager.AppSearchManager;
+import com.tong.aidada.mapper.AppMapper;
+import com.tong.aidada.model.entity.App;
+import com.tong.aidada.model.enums.ReviewStatusEnum;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * 应用搜索测试
+ */
+public class AppSearchManagerTest {
+
+    @Test
+    void search() {
+        AppSearchManager appSearchManager = new AppSearchManager();
+        appSearchManager.index(buildApp(1L, "MBTI 性格测试", "测试你的 MBTI 性格类型"));
+        appSearchManager.index(buildApp(2L, "职业规划", "根据你的性格推荐职业"));
+        appSearchManager.index(buildApp(3L, "趣味知识问答", "各类冷知识"));
+        // 名称命中的排在只有描述命中的前面
+        Assertions.assertEquals(Arrays.asList(1L, 2L), appSearchManager.search("性格", 10));
+        // 单字、英文不区分大小写
+        Assertions.assertEquals(Arrays.asList(1L, 2L), appSearchManager.search("性", 10));
+        Assertions.assertEquals(Arrays.asList(1L), appSearchManager.search("mbti", 10));
+        // 所有词都要命中
+        Assertions.assertTrue(appSearchManager.search("性格 知识", 10).isEmpty());
+        // 更新、删除
+        appSearchManager.index(buildApp(3L, "性格色彩", "知识"));
+        Assertions.assertEquals(Arrays.asList(3L), appSearchManager.search("性格 知识", 10));
+        appSearchManager.remove(3L);
+        Assertions.assertTrue(appSearchManager.search("色彩", 10).isEmpty());
+    }
+
+    @Test
+    void changeDuringBuildNotOverwritten() {
+        AppSearchManager appSearchManager = new AppSearchManager();
+        AppMapper appMapper = Mockito.mock(AppMapper.class);
+        ReflectionTestUtils.setField(appSearchManager, "appMapper", appMapper);
+        App newApp = buildApp(1L, "职业规划", "根据你的性格推荐职业");
+        newApp.setReviewStatus(ReviewStatusEnum.PASS.getValue());
+        Mockito.when(appMapper.selectById(1L)).thenReturn(newApp);
+        // 构建读取到旧数据后、写入索引前，应用被修改
+        Mockito.when(appMapper.selectList(Mockito.any()))
+                .thenAnswer(invocation -> {
+                    appSearchManager.onAppChanged(new AppChangedEvent(1L));
+                    return Collections.singletonList(buildApp(1L, "MBTI 性格测试", "测试你的 MBTI 性格类型"));
+                })
+                .thenReturn(Collections.emptyList());
+        appSearchManager.buildIndex();
+        Assertions.assertEquals(Arrays.asList(1L), appSearchManager.search("职业", 10));
+        Assertions.assertTrue(appSearchManager.search("mbti", 10).isEmpty());
+    }
+
+    private App buildApp(long id, String appName, String appDesc) {
+        App app = new App();
+        app.setId(id);
+        app.setAppName(appName);
+        app.setAppDesc(appDesc);
+        return app;
+    }
+}
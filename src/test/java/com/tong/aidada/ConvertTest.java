@@ -0,0 +1,115 @@
+package com.tong.aidada;
+
+import com.tong.aidada.model.convert.AppConvert;
+import com.tong.aidada.model.convert.QuestionConvert;
+import com.tong.aidada.model.convert.ScoringResultConvert;
+import com.tong.aidada.model.convert.UserAnswerConvert;
+import com.tong.aidada.model.convert.UserConvert;
+import com.tong.aidada.model.entity.App;
+import com.tong.aidada.model.vo.AppVO;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.BeanUtils;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * 生成的转换类与 BeanUtils.copyProperties 结果一致（实体类、DTO、VO 字段变更后未重新生成时失败）
+ */
+public class ConvertTest {
+
+    private static final Class<?>[] CONVERT_CLASSES = {AppConvert.class, QuestionConvert.class,
+            ScoringResultConvert.class, UserConvert.class, UserAnswerConvert.class};
+
+    @Test
+    void sameAsBeanUtils() throws Exception {
+        int methodCount = 0;
+        for (Class<?> convertClass : CONVERT_CLASSES) {
+            for (Method method : convertClass.getDeclaredMethods()) {
+                if (!Modifier.isPublic(method.getModifiers()) || !"copyProperties".equals(method.getName())) {
+                    continue;
+                }
+                Class<?> sourceClass = method.getParameterTypes()[0];
+                Class<?> targetClass = method.getParameterTypes()[1];
+                Object source = buildSource(sourceClass);
+                Object expected = BeanUtils.instantiateClass(targetClass);
+                BeanUtils.copyProperties(source, expected);
+                Object actual = BeanUtils.instantiateClass(targetClass);
+                method.invoke(null, source, actual);
+                for (PropertyDescriptor property : BeanUtils.getPropertyDescriptors(targetClass)) {
+                    if (property.getReadMethod() == null || property.getWriteMethod() == null) {
+                        continue;
+                    }
+                    Assertions.assertEquals(property.getReadMethod().invoke(expected), property.getReadMethod().invoke(actual),
+                            sourceClass.getSimpleName() + " => " + targetClass.getSimpleName() + " " + property.getName());
+                }
+                methodCount++;
+            }
+        }
+        Assertions.assertTrue(methodCount > 0);
+    }
+
+    @Test
+    void nullPropertiesCopied() {
+        // 与 BeanUtils 一致，源对象的 null 属性同样覆盖目标对象
+        App app = new App();
+        AppVO appVO = new AppVO();
+        appVO.setAppName("旧名称");
+        AppConvert.copyProperties(app, appVO);
+        Assertions.assertNull(appVO.getAppName());
+    }
+
+    /**
+     * 构建每个可写属性都有不同取值的源对象
+     *
+     * @param sourceClass
+     * @return
+     */
+    private Object buildSource(Class<?> sourceClass) throws Exception {
+        Object source = BeanUtils.instantiateClass(sourceClass);
+        int index = 1;
+        for (PropertyDescriptor property : BeanUtils.getPropertyDescriptors(sourceClass)) {
+            Method writeMethod = property.getWriteMethod();
+            if (writeMethod == null) {
+                continue;
+            }
+            Object value = buildValue(property.getPropertyType(), index++);
+            if (value != null) {
+                writeMethod.invoke(source, value);
+            }
+        }
+        return source;
+    }
+
+    private Object buildValue(Class<?> type, int index) {
+        if (type == String.class) {
+            return "value" + index;
+        }
+        if (type == Long.class || type == long.class) {
+            return (long) index;
+        }
+        if (type == Integer.class || type == int.class) {
+            return index;
+        }
+        if (type == Double.class || type == double.class) {
+            return index + 0.5;
+        }
+        if (type == Boolean.class || type == boolean.class) {
+            return true;
+        }
+        if (type == Date.class) {
+            return new Date(1700000000000L + index);
+        }
+        if (type == List.class) {
+            return new ArrayList<>(Collections.singletonList("value" + index));
+        }
+        // 其他类型（如嵌套对象）保持 null
+        return null;
+    }
+}
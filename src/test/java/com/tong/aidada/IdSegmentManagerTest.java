@@ -0,0 +1,60 @@
+package com.tong.aidada;
+
+import com.tong.aidada.manager.IdSegmentManager;
+import com.tong.aidada.model.entity.UserAnswer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.annotation.Resource;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 号段 id 分配测试（需要连接数据库）
+ */
+@SpringBootTest
+public class IdSegmentManagerTest {
+
+    private static final int THREADS = 8;
+
+    // 每个线程分配的 id 数，多于一个号段，覆盖号段切换
+    private static final int IDS_PER_THREAD = 5000;
+
+    @Resource
+    private IdSegmentManager idSegmentManager;
+
+    @Test
+    void nextIdUniqueAndIncreasing() throws InterruptedException {
+        Set<Long> idSet = ConcurrentHashMap.newKeySet();
+        AtomicBoolean increasing = new AtomicBoolean(true);
+        ExecutorService executorService = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch latch = new CountDownLatch(THREADS);
+        for (int t = 0; t < THREADS; t++) {
+            executorService.execute(() -> {
+                try {
+                    long lastId = 0;
+                    for (int i = 0; i < IDS_PER_THREAD; i++) {
+                        long id = idSegmentManager.nextId(UserAnswer.class);
+                        if (id <= lastId) {
+                            increasing.set(false);
+                        }
+                        lastId = id;
+                        idSet.add(id);
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await(1, TimeUnit.MINUTES);
+        executorService.shutdown();
+        Assertions.assertEquals(THREADS * IDS_PER_THREAD, idSet.size());
+        Assertions.assertTrue(increasing.get());
+    }
+}
@@ -0,0 +1,44 @@
+package com.tong.aidada;
+
+import cn.hutool.json.JSONUtil;
+import com.tong.aidada.model.dto.useranswer.PackedChoices;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class PackedChoicesTest {
+
+    @Test
+    void encodeAndDecode() {
+        List<String> choices = Arrays.asList("A", "B", "D", "C", "A", "Z");
+        PackedChoices packedChoices = PackedChoices.encode(choices);
+        Assertions.assertNotNull(packedChoices);
+        Assertions.assertEquals(choices.size(), packedChoices.size());
+        Assertions.assertEquals(3, packedChoices.indexAt(2));
+        Assertions.assertEquals(choices, packedChoices.toChoiceList());
+        // 从数据库字节恢复
+        Assertions.assertEquals(choices, PackedChoices.of(packedChoices.getBytes()).toChoiceList());
+    }
+
+    @Test
+    void unsupportedChoices() {
+        Assertions.assertNull(PackedChoices.encode(Arrays.asList("A", "选项1")));
+        Assertions.assertNull(PackedChoices.encode(Arrays.asList("A", null)));
+    }
+
+    @Test
+    void compareWithJson() {
+        // 200 道四选一题目
+        List<String> choices = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            choices.add(String.valueOf((char) ('A' + i % 4)));
+        }
+        int jsonLength = JSONUtil.toJsonStr(choices).getBytes().length;
+        int packedLength = PackedChoices.encode(choices).getBytes().length;
+        System.out.println("json bytes: " + jsonLength + ", packed bytes: " + packedLength);
+        Assertions.assertTrue(packedLength * 10 < jsonLength);
+    }
+}
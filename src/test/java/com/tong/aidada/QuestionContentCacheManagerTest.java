@@ -0,0 +1,48 @@
+package com.tong.aidada;
+
+import com.tong.aidada.manager.QuestionContentCacheManager;
+import com.tong.aidada.model.dto.question.QuestionContentDTO;
+import com.tong.aidada.model.entity.Question;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * 题目内容缓存测试
+ */
+public class QuestionContentCacheManagerTest {
+
+    private final QuestionContentCacheManager questionContentCacheManager = new QuestionContentCacheManager();
+
+    @Test
+    void sameSecondEditNotStale() {
+        Date updateTime = new Date(1700000000000L);
+        Question question = buildQuestion("题目一", updateTime);
+        Assertions.assertEquals("题目一", questionContentCacheManager.getQuestionContent(question).get(0).getTitle());
+        // 同一秒内修改，更新时间不变
+        question = buildQuestion("题目二", updateTime);
+        Assertions.assertEquals("题目二", questionContentCacheManager.getQuestionContent(question).get(0).getTitle());
+    }
+
+    @Test
+    void modifyResultNotAffectCache() {
+        Question question = buildQuestion("题目一", new Date());
+        List<QuestionContentDTO> questionContent = questionContentCacheManager.getQuestionContent(question);
+        questionContent.get(0).setTitle("已修改");
+        questionContent.get(0).getOptions().get(0).setValue("已修改");
+        questionContent.clear();
+        questionContent = questionContentCacheManager.getQuestionContent(question);
+        Assertions.assertEquals("题目一", questionContent.get(0).getTitle());
+        Assertions.assertEquals("选项A", questionContent.get(0).getOptions().get(0).getValue());
+    }
+
+    private Question buildQuestion(String title, Date updateTime) {
+        Question question = new Question();
+        question.setId(1L);
+        question.setUpdateTime(updateTime);
+        question.setQuestionContent("[{\"title\":\"" + title + "\",\"options\":[{\"key\":\"A\",\"value\":\"选项A\",\"score\":1}]}]");
+        return question;
+    }
+}
@@ -0,0 +1,82 @@
+package com.tong.aidada;
+
+import com.tong.aidada.config.SessionRedisSerializer;
+import com.tong.aidada.model.dto.user.SessionUser;
+import com.tong.aidada.model.entity.User;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.Date;
+
+public class SessionRedisSerializerTest {
+
+    private static final int ROUNDS = 200_000;
+
+    private final SessionRedisSerializer sessionRedisSerializer = new SessionRedisSerializer();
+
+    @Test
+    void sessionUser() {
+        User user = buildUser();
+        byte[] bytes = sessionRedisSerializer.serialize(SessionUser.of(user));
+        SessionUser sessionUser = (SessionUser) sessionRedisSerializer.deserialize(bytes);
+        Assertions.assertEquals(user.getId(), sessionUser.getId());
+        Assertions.assertEquals(user.getUserRole(), sessionUser.getUserRole());
+        Assertions.assertEquals(SessionUser.CURRENT_VERSION, sessionUser.getVersion());
+        // spring-session 自身的属性
+        Assertions.assertEquals(7200, sessionRedisSerializer.deserialize(sessionRedisSerializer.serialize(7200)));
+        long now = System.currentTimeMillis();
+        Assertions.assertEquals(now, sessionRedisSerializer.deserialize(sessionRedisSerializer.serialize(now)));
+    }
+
+    @Test
+    void legacySession() {
+        // 旧会话使用 JDK 序列化保存完整用户实体，仍可读取
+        User user = buildUser();
+        byte[] legacyBytes = new JdkSerializationRedisSerializer().serialize(user);
+        Object userObj = sessionRedisSerializer.deserialize(legacyBytes);
+        Assertions.assertTrue(userObj instanceof User);
+        Assertions.assertEquals(user.getId(), ((User) userObj).getId());
+    }
+
+    @Test
+    void benchmark() {
+        User user = buildUser();
+        JdkSerializationRedisSerializer jdkSerializer = new JdkSerializationRedisSerializer();
+        byte[] before = jdkSerializer.serialize(user);
+        byte[] after = sessionRedisSerializer.serialize(SessionUser.of(user));
+        long beforeNanos = measure(jdkSerializer, before);
+        long afterNanos = measure(sessionRedisSerializer, after);
+        System.out.printf("session load before: %d bytes, %d ns/op%n", before.length, beforeNanos);
+        System.out.printf("session load after: %d bytes, %d ns/op%n", after.length, afterNanos);
+        Assertions.assertTrue(after.length < before.length);
+    }
+
+    private long measure(RedisSerializer<Object> serializer, byte[] bytes) {
+        // 预热
+        for (int i = 0; i < ROUNDS; i++) {
+            serializer.deserialize(bytes);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            serializer.deserialize(bytes);
+        }
+        return (System.nanoTime() - start) / ROUNDS;
+    }
+
+    private User buildUser() {
+        User user = new User();
+        user.setId(1813467825612738562L);
+        user.setUserAccount("tongtong");
+        user.setUserPassword("b0dd3697a192885d7c055db46155b26a");
+        user.setUserName("测试用户");
+        user.setUserAvatar("https://aidada-1300000000.cos.ap-shanghai.myqcloud.com/user_avatar/1813467825612738562/avatar.png");
+        user.setUserProfile("这是一段用户简介，用于模拟真实的会话数据大小");
+        user.setUserRole("user");
+        user.setCreateTime(new Date());
+        user.setUpdateTime(new Date());
+        user.setIsDelete(0);
+        return user;
+    }
+}
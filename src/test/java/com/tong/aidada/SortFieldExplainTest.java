@@ -0,0 +1,153 @@
+package com.tong.aidada;
+
+import cn.hutool.core.util.ReflectUtil;
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.tong.aidada.common.PageRequest;
+import com.tong.aidada.model.dto.app.AppQueryRequest;
+import com.tong.aidada.model.dto.question.QuestionQueryRequest;
+import com.tong.aidada.model.dto.scoringresult.ScoringResultQueryRequest;
+import com.tong.aidada.model.dto.user.UserQueryRequest;
+import com.tong.aidada.model.dto.useranswer.UserAnswerQueryRequest;
+import com.tong.aidada.model.entity.App;
+import com.tong.aidada.model.entity.Question;
+import com.tong.aidada.model.entity.ScoringResult;
+import com.tong.aidada.model.entity.User;
+import com.tong.aidada.model.entity.UserAnswer;
+import com.tong.aidada.service.AppService;
+import com.tong.aidada.service.QuestionService;
+import com.tong.aidada.service.ScoringResultService;
+import com.tong.aidada.service.UserAnswerService;
+import com.tong.aidada.service.UserService;
+import com.tong.aidada.utils.SortFieldRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.annotation.Resource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 可排序字段索引测试（需要连接数据库，且已按 sql/create_table.sql 建表）
+ * <p>
+ * 对各 service 的 getQueryWrapper 实际生成的查询执行 EXPLAIN，不指定索引
+ */
+@SpringBootTest
+public class SortFieldExplainTest {
+
+    // 查询条件中的参数占位符
+    private static final Pattern PARAM_PATTERN = Pattern.compile("#\\{ew\\.paramNameValuePairs\\.(\\w+)}");
+
+    @Resource
+    private JdbcTemplate jdbcTemplate;
+
+    @Resource
+    private UserService userService;
+
+    @Resource
+    private AppService appService;
+
+    @Resource
+    private QuestionService questionService;
+
+    @Resource
+    private ScoringResultService scoringResultService;
+
+    @Resource
+    private UserAnswerService userAnswerService;
+
+    /**
+     * 每个登记的排序字段，在前缀列等值过滤时按索引顺序读取，不需要 filesort
+     */
+    @Test
+    void allowedSortFieldsUseIndexOrder() {
+        checkSortFields(User.class, UserQueryRequest::new, userService::getQueryWrapper);
+        checkSortFields(App.class, AppQueryRequest::new, appService::getQueryWrapper);
+        checkSortFields(Question.class, QuestionQueryRequest::new, questionService::getQueryWrapper);
+        checkSortFields(ScoringResult.class, ScoringResultQueryRequest::new, scoringResultService::getQueryWrapper);
+        checkSortFields(UserAnswer.class, UserAnswerQueryRequest::new, userAnswerService::getQueryWrapper);
+    }
+
+    /**
+     * 排序索引的前缀列没有等值过滤时不排序
+     */
+    @Test
+    void sortFieldRequiresEqualityPrefix() {
+        QuestionQueryRequest questionQueryRequest = new QuestionQueryRequest();
+        questionQueryRequest.setSortField("createTime");
+        Assertions.assertFalse(hasOrderBy(questionService.getQueryWrapper(questionQueryRequest)));
+        questionQueryRequest.setAppId(1L);
+        Assertions.assertTrue(hasOrderBy(questionService.getQueryWrapper(questionQueryRequest)));
+        ScoringResultQueryRequest scoringResultQueryRequest = new ScoringResultQueryRequest();
+        scoringResultQueryRequest.setSortField("resultScoreRange");
+        Assertions.assertFalse(hasOrderBy(scoringResultService.getQueryWrapper(scoringResultQueryRequest)));
+        // 前缀列本身不是排序字段
+        UserQueryRequest userQueryRequest = new UserQueryRequest();
+        userQueryRequest.setSortField("userRole");
+        Assertions.assertFalse(hasOrderBy(userService.getQueryWrapper(userQueryRequest)));
+    }
+
+    /**
+     * 未登记的字段不参与排序
+     */
+    @Test
+    void unknownSortFieldIgnored() {
+        UserAnswerQueryRequest userAnswerQueryRequest = new UserAnswerQueryRequest();
+        userAnswerQueryRequest.setSortField("resultDesc");
+        Assertions.assertFalse(hasOrderBy(userAnswerService.getQueryWrapper(userAnswerQueryRequest)));
+        AppQueryRequest appQueryRequest = new AppQueryRequest();
+        appQueryRequest.setSortField("appDesc");
+        Assertions.assertFalse(hasOrderBy(appService.getQueryWrapper(appQueryRequest)));
+        appQueryRequest.setSortField("createTime");
+        Assertions.assertTrue(hasOrderBy(appService.getQueryWrapper(appQueryRequest)));
+    }
+
+    private <T, R extends PageRequest> void checkSortFields(Class<T> entityClass, Supplier<R> requestSupplier,
+                                                            Function<R, QueryWrapper<T>> queryWrapperFunction) {
+        String tableName = TableInfoHelper.getTableInfo(entityClass).getTableName();
+        for (Map.Entry<String, List<SortFieldRegistry.SortIndex>> entry :
+                SortFieldRegistry.getSortFields(entityClass).entrySet()) {
+            for (SortFieldRegistry.SortIndex sortIndex : entry.getValue()) {
+                R queryRequest = requestSupplier.get();
+                queryRequest.setSortField(entry.getKey());
+                for (String column : sortIndex.getEqualityColumns()) {
+                    // 前缀列取任意值，ReflectUtil 按字段类型转换
+                    ReflectUtil.setFieldValue(queryRequest, column, "1");
+                }
+                QueryWrapper<T> queryWrapper = queryWrapperFunction.apply(queryRequest);
+                Assertions.assertTrue(hasOrderBy(queryWrapper), tableName + " " + entry.getKey());
+                explainWithoutFilesort(tableName, queryWrapper);
+            }
+        }
+    }
+
+    private void explainWithoutFilesort(String tableName, QueryWrapper<?> queryWrapper) {
+        // 与 MyBatis Plus 生成的分页查询一致：逻辑删除条件 + 查询条件 + 排序 + limit
+        String normal = queryWrapper.getExpression().getNormal().getSqlSegment();
+        String orderBy = queryWrapper.getExpression().getOrderBy().getSqlSegment();
+        String sql = "explain select * from " + tableName + " where isDelete = 0"
+                + (normal.isEmpty() ? "" : " and " + normal) + " " + orderBy + " limit 10";
+        List<Object> paramList = new ArrayList<>();
+        Matcher matcher = PARAM_PATTERN.matcher(sql);
+        while (matcher.find()) {
+            paramList.add(queryWrapper.getParamNameValuePairs().get(matcher.group(1)));
+        }
+        sql = PARAM_PATTERN.matcher(sql).replaceAll("?");
+        for (Map<String, Object> row : jdbcTemplate.queryForList(sql, paramList.toArray())) {
+            Object extra = row.get("Extra");
+            Assertions.assertFalse(extra != null && extra.toString().contains("Using filesort"),
+                    sql + " " + paramList + " => " + extra);
+        }
+    }
+
+    private boolean hasOrderBy(QueryWrapper<?> queryWrapper) {
+        return queryWrapper.getSqlSegment().toUpperCase().contains("ORDER BY");
+    }
+}
@@ -0,0 +1,88 @@
+package com.tong.aidada;
+
+import cn.hutool.bloomfilter.BitMapBloomFilter;
+import cn.hutool.jwt.JWT;
+import cn.hutool.jwt.signers.JWTSignerUtil;
+import com.tong.aidada.config.AuthConfig;
+import com.tong.aidada.manager.TokenManager;
+import com.tong.aidada.model.entity.User;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.redisson.api.RScoredSortedSet;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Date;
+
+/**
+ * 令牌校验测试（只校验签名和算法，不访问 Redis）
+ */
+public class TokenManagerTest {
+
+    private static final String SECRET = "token-manager-test-secret";
+
+    private final TokenManager tokenManager = new TokenManager();
+
+    @BeforeEach
+    void setUp() {
+        AuthConfig authConfig = new AuthConfig();
+        authConfig.setMode(AuthConfig.MODE_TOKEN);
+        authConfig.setTokenSecret(SECRET);
+        ReflectionTestUtils.setField(tokenManager, "authConfig", authConfig);
+        ReflectionTestUtils.setField(tokenManager, "signer",
+                JWTSignerUtil.hs256(SECRET.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void validToken() {
+        User user = new User();
+        user.setId(1L);
+        user.setUserRole("user");
+        JWT jwt = tokenManager.verifyToken(tokenManager.createToken(user));
+        Assertions.assertNotNull(jwt);
+        Assertions.assertEquals(1L, tokenManager.toSessionUser(jwt).getId());
+    }
+
+    @Test
+    void noneAlgorithmRejected() {
+        String token = buildForgedToken().sign(JWTSignerUtil.none());
+        Assertions.assertNull(tokenManager.verifyToken(token));
+    }
+
+    @Test
+    void otherAlgorithmRejected() {
+        // 即使使用相同的密钥，非 HS256 签名的令牌也不接受
+        String token = buildForgedToken().sign(JWTSignerUtil.hs512(SECRET.getBytes(StandardCharsets.UTF_8)));
+        Assertions.assertNull(tokenManager.verifyToken(token));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void revokedDuringRebuildKept() {
+        RScoredSortedSet<String> revokedSet = Mockito.mock(RScoredSortedSet.class);
+        // 读取 Redis 期间收到吊销通知
+        Mockito.when(revokedSet.readAll()).thenAnswer(invocation -> {
+            ReflectionTestUtils.invokeMethod(tokenManager, "addToBloomFilter", "during-rebuild");
+            return Collections.singletonList("before-rebuild");
+        });
+        ReflectionTestUtils.setField(tokenManager, "revokedSet", revokedSet);
+        tokenManager.rebuildBloomFilter();
+        BitMapBloomFilter bloomFilter = (BitMapBloomFilter) ReflectionTestUtils.getField(tokenManager, "revokedBloomFilter");
+        Assertions.assertNotNull(bloomFilter);
+        Assertions.assertTrue(bloomFilter.contains("before-rebuild"));
+        Assertions.assertTrue(bloomFilter.contains("during-rebuild"));
+    }
+
+    private JWT buildForgedToken() {
+        Date now = new Date();
+        return JWT.create()
+                .setJWTId("forged")
+                .setIssuedAt(now)
+                .setExpiresAt(new Date(now.getTime() + 3600 * 1000L))
+                .setPayload("userId", "1")
+                .setPayload("userRole", "admin");
+    }
+}
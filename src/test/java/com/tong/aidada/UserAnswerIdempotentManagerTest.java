@@ -0,0 +1,61 @@
+package com.tong.aidada;
+
+import cn.hutool.core.util.IdUtil;
+import com.tong.aidada.manager.UserAnswerIdempotentManager;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.redisson.api.RedissonClient;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.annotation.Resource;
+
+/**
+ * 答题提交幂等记录测试（需要连接 Redis）
+ */
+@SpringBootTest
+public class UserAnswerIdempotentManagerTest {
+
+    @Resource
+    private UserAnswerIdempotentManager userAnswerIdempotentManager;
+
+    @Resource
+    private RedissonClient redissonClient;
+
+    @Test
+    void processingHasShortExpire() {
+        long id = IdUtil.getSnowflakeNextId();
+        try {
+            userAnswerIdempotentManager.issue(id, 1L);
+            Assertions.assertEquals(UserAnswerIdempotentManager.State.ACQUIRED, userAnswerIdempotentManager.acquire(id, 1L));
+            // 改为处理中的同时缩短有效期
+            long remainTimeToLive = redissonClient.getBucket("user_answer:idempotent:" + id).remainTimeToLive();
+            Assertions.assertTrue(remainTimeToLive > 0 && remainTimeToLive <= 2 * 60 * 1000L);
+        } finally {
+            redissonClient.getBucket("user_answer:idempotent:" + id).delete();
+        }
+    }
+
+    @Test
+    void acquireCompleteAndRelease() {
+        long id = IdUtil.getSnowflakeNextId();
+        try {
+            // 未签发的 id 不接受
+            Assertions.assertEquals(UserAnswerIdempotentManager.State.INVALID, userAnswerIdempotentManager.acquire(id, 1L));
+            userAnswerIdempotentManager.issue(id, 1L);
+            // 签发给其他用户的 id 不接受
+            Assertions.assertEquals(UserAnswerIdempotentManager.State.INVALID, userAnswerIdempotentManager.acquire(id, 2L));
+            Assertions.assertEquals(UserAnswerIdempotentManager.State.ACQUIRED, userAnswerIdempotentManager.acquire(id, 1L));
+            Assertions.assertEquals(UserAnswerIdempotentManager.State.PROCESSING, userAnswerIdempotentManager.acquire(id, 1L));
+            // 提交失败释放后可以重新提交
+            userAnswerIdempotentManager.release(id, 1L);
+            Assertions.assertEquals(UserAnswerIdempotentManager.State.ACQUIRED, userAnswerIdempotentManager.acquire(id, 1L));
+            userAnswerIdempotentManager.complete(id, 1L);
+            Assertions.assertEquals(UserAnswerIdempotentManager.State.COMPLETED, userAnswerIdempotentManager.acquire(id, 1L));
+            // 已完成后的释放不生效
+            userAnswerIdempotentManager.release(id, 1L);
+            Assertions.assertEquals(UserAnswerIdempotentManager.State.COMPLETED, userAnswerIdempotentManager.acquire(id, 1L));
+        } finally {
+            redissonClient.getBucket("user_answer:idempotent:" + id).delete();
+        }
+    }
+}
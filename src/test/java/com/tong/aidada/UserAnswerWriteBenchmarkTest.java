@@ -0,0 +1,98 @@
+package com.tong.aidada;
+
+import cn.hutool.core.util.IdUtil;
+import cn.hutool.json.JSONUtil;
+import com.tong.aidada.model.dto.useranswer.PackedChoices;
+import com.tong.aidada.model.entity.UserAnswer;
+import com.tong.aidada.service.UserAnswerService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.annotation.Resource;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 答题记录写入吞吐量测试：先插入再更新结果（两次写入） vs 评分后一次写入（需要连接数据库）
+ */
+@SpringBootTest
+public class UserAnswerWriteBenchmarkTest {
+
+    private static final int THREADS = 16;
+
+    private static final int ANSWERS_PER_THREAD = 100;
+
+    // 测试数据使用的应用 id，不对应真实应用
+    private static final long APP_ID = -1L;
+
+    private static final List<String> CHOICES = Arrays.asList("A", "B", "C", "D", "A", "B", "C", "D", "A", "B");
+
+    @Resource
+    private UserAnswerService userAnswerService;
+
+    @Test
+    void insertThenUpdateVsSingleInsert() throws InterruptedException {
+        List<Long> idList = new CopyOnWriteArrayList<>();
+        long twoWrites = run(idList, true);
+        long oneWrite = run(idList, false);
+        int total = THREADS * ANSWERS_PER_THREAD;
+        System.out.printf("insert + update: %d ms, %.1f ops/s%n", twoWrites, total * 1000.0 / Math.max(twoWrites, 1));
+        System.out.printf("single insert:   %d ms, %.1f ops/s%n", oneWrite, total * 1000.0 / Math.max(oneWrite, 1));
+        Assertions.assertEquals(total * 2, idList.size());
+        // 两种方式写入的记录都包含完整的评分结果
+        UserAnswer userAnswer = userAnswerService.getById(idList.get(idList.size() - 1));
+        Assertions.assertEquals("benchmark", userAnswer.getResultName());
+        userAnswerService.removeByIds(idList);
+    }
+
+    private long run(List<Long> idList, boolean updateAfterInsert) throws InterruptedException {
+        ExecutorService executorService = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch latch = new CountDownLatch(THREADS);
+        long start = System.currentTimeMillis();
+        for (int t = 0; t < THREADS; t++) {
+            executorService.execute(() -> {
+                try {
+                    for (int i = 0; i < ANSWERS_PER_THREAD; i++) {
+                        UserAnswer userAnswer = buildUserAnswer();
+                        if (updateAfterInsert) {
+                            UserAnswer result = new UserAnswer();
+                            result.setResultName(userAnswer.getResultName());
+                            result.setResultScore(userAnswer.getResultScore());
+                            userAnswer.setResultName(null);
+                            userAnswer.setResultScore(null);
+                            userAnswerService.save(userAnswer);
+                            result.setId(userAnswer.getId());
+                            userAnswerService.updateById(result);
+                        } else {
+                            userAnswerService.save(userAnswer);
+                        }
+                        idList.add(userAnswer.getId());
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await(5, TimeUnit.MINUTES);
+        executorService.shutdown();
+        return System.currentTimeMillis() - start;
+    }
+
+    private UserAnswer buildUserAnswer() {
+        UserAnswer userAnswer = new UserAnswer();
+        userAnswer.setId(IdUtil.getSnowflakeNextId());
+        userAnswer.setAppId(APP_ID);
+        userAnswer.setUserId(1L);
+        userAnswer.setChoices(JSONUtil.toJsonStr(CHOICES));
+        userAnswer.setPackedChoices(PackedChoices.encode(CHOICES));
+        userAnswer.setResultName("benchmark");
+        userAnswer.setResultScore(80);
+        return userAnswer;
+    }
+}
@@ -0,0 +1,117 @@
+package com.tong.aidada;
+
+import cn.hutool.core.util.RandomUtil;
+import com.tong.aidada.exception.BusinessException;
+import com.tong.aidada.service.UserService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.annotation.Resource;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 注册吞吐量测试（需要连接数据库和 Redis）
+ */
+@SpringBootTest
+public class UserRegisterBenchmarkTest {
+
+    private static final int THREADS = 16;
+
+    private static final int ACCOUNTS_PER_THREAD = 50;
+
+    private static final String PASSWORD = "12345678";
+
+    @Resource
+    private UserService userService;
+
+    @Resource
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void concurrentRegister() throws InterruptedException {
+        String prefix = "bench_" + RandomUtil.randomString(6) + "_";
+        List<Long> userIdList = new CopyOnWriteArrayList<>();
+        ExecutorService executorService = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch latch = new CountDownLatch(THREADS);
+        long start = System.currentTimeMillis();
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            executorService.execute(() -> {
+                try {
+                    for (int i = 0; i < ACCOUNTS_PER_THREAD; i++) {
+                        String userAccount = prefix + thread + "_" + i;
+                        userIdList.add(userService.userRegister(userAccount, PASSWORD, PASSWORD));
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await(5, TimeUnit.MINUTES);
+        long cost = System.currentTimeMillis() - start;
+        executorService.shutdown();
+        System.out.printf("register %d accounts with %d threads in %d ms, %.1f ops/s%n",
+                userIdList.size(), THREADS, cost, userIdList.size() * 1000.0 / Math.max(cost, 1));
+        Assertions.assertEquals(THREADS * ACCOUNTS_PER_THREAD, userIdList.size());
+        userIdList.forEach(userId -> jdbcTemplate.update("delete from user where id = ?", userId));
+    }
+
+    @Test
+    void concurrentRegisterSameAccount() throws InterruptedException {
+        String userAccount = "bench_" + RandomUtil.randomString(8);
+        AtomicInteger success = new AtomicInteger();
+        AtomicInteger duplicate = new AtomicInteger();
+        ExecutorService executorService = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch latch = new CountDownLatch(THREADS);
+        for (int t = 0; t < THREADS; t++) {
+            executorService.execute(() -> {
+                try {
+                    userService.userRegister(userAccount, PASSWORD, PASSWORD);
+                    success.incrementAndGet();
+                } catch (BusinessException e) {
+                    duplicate.incrementAndGet();
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await(1, TimeUnit.MINUTES);
+        executorService.shutdown();
+        // 多个线程同时注册同一账号，只有一个成功
+        Assertions.assertEquals(1, success.get());
+        Assertions.assertEquals(THREADS - 1, duplicate.get());
+        deletePhysically(userAccount);
+    }
+
+    @Test
+    void registerDeletedAccount() {
+        String userAccount = "bench_" + RandomUtil.randomString(8);
+        try {
+            long userId = userService.userRegister(userAccount, PASSWORD, PASSWORD);
+            userService.removeById(userId);
+            // 逻辑删除的账号仍占用唯一索引，提示已注销
+            BusinessException exception = Assertions.assertThrows(BusinessException.class,
+                    () -> userService.userRegister(userAccount, PASSWORD, PASSWORD));
+            Assertions.assertEquals("该账号已注销，不能重新注册", exception.getMessage());
+        } finally {
+            deletePhysically(userAccount);
+        }
+    }
+
+    /**
+     * 物理删除测试账号（逻辑删除的账号仍占用唯一索引）
+     *
+     * @param userAccount
+     */
+    private void deletePhysically(String userAccount) {
+        jdbcTemplate.update("delete from user where userAccount = ?", userAccount);
+    }
+}
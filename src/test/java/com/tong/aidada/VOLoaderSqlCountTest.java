@@ -0,0 +1,113 @@
+package com.tong.aidada;
+
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.tong.aidada.model.entity.App;
+import com.tong.aidada.service.AppService;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.annotation.Resource;
+import java.sql.Connection;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 接口 SQL 条数测试（需要连接数据库和 Redis）
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+public class VOLoaderSqlCountTest {
+
+    @Resource
+    private MockMvc mockMvc;
+
+    @Resource
+    private AppService appService;
+
+    @Resource
+    private SqlCountInterceptor sqlCountInterceptor;
+
+    @Test
+    void listAppVOByPage() throws Exception {
+        String body = "{\"current\": 1, \"pageSize\": 10}";
+        // 首次请求：查询总数 + 查询列表 + 一次批量查询用户
+        int cold = countSql(() -> mockMvc.perform(post("/app/list/page/vo")
+                .contentType(MediaType.APPLICATION_JSON).content(body)).andExpect(status().isOk()));
+        Assertions.assertTrue(cold <= 3, "cold sql count: " + cold);
+        // 用户视图已缓存：不再查询用户
+        int warm = countSql(() -> mockMvc.perform(post("/app/list/page/vo")
+                .contentType(MediaType.APPLICATION_JSON).content(body)).andExpect(status().isOk()));
+        Assertions.assertTrue(warm <= 2, "warm sql count: " + warm);
+    }
+
+    @Test
+    void getAppVOById() throws Exception {
+        App app = appService.page(new Page<>(1, 1, false)).getRecords().stream().findFirst().orElse(null);
+        if (app == null) {
+            return;
+        }
+        // 预热用户视图缓存
+        mockMvc.perform(get("/app/get/vo").param("id", String.valueOf(app.getId())));
+        // 只查询应用本身
+        int count = countSql(() -> mockMvc.perform(get("/app/get/vo").param("id", String.valueOf(app.getId())))
+                .andExpect(status().isOk()));
+        Assertions.assertEquals(1, count);
+    }
+
+    private int countSql(ThrowingRunnable runnable) throws Exception {
+        sqlCountInterceptor.reset();
+        runnable.run();
+        return sqlCountInterceptor.get();
+    }
+
+    @FunctionalInterface
+    private interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+
+    /**
+     * 统计执行的 SQL 条数
+     */
+    @Intercepts(@Signature(type = StatementHandler.class, method = "prepare", args = {Connection.class, Integer.class}))
+    static class SqlCountInterceptor implements Interceptor {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Object intercept(Invocation invocation) throws Throwable {
+            count.incrementAndGet();
+            return invocation.proceed();
+        }
+
+        void reset() {
+            count.set(0);
+        }
+
+        int get() {
+            return count.get();
+        }
+    }
+
+    @TestConfiguration
+    static class SqlCountConfig {
+
+        @Bean
+        public SqlCountInterceptor sqlCountInterceptor() {
+            return new SqlCountInterceptor();
+        }
+    }
+}